@@ -25,8 +25,8 @@ import repair.ast.role.ChildType;
 import repair.ast.role.Description;
 import repair.ast.visitor.DeepCopyScanner;
 import repair.ast.visitor.FlattenScanner;
-import repair.apply.builder.GumtreeMetaConstant;
 import repair.apply.diff.operations.*;
+import repair.pattern.NodeMapping;
 import repair.pattern.Pattern;
 
 import java.util.*;
@@ -53,15 +53,19 @@ public class ApplyModification {
     /**
      * before <---> after mapping (based on mapping store)
      */
-    private final BidiMap<MoNode, MoNode> beforeToAfterMap = new DualHashBidiMap<>();
+    private final NodeMapping nodeMapping;
     /**
      * before <---> left mapping (based on token similarity)
      */
     private final MatchInstance matchInstance;
     /**
-     * left <---> right mapping (based on copying)
+     * left <---> right mapping (based on copying), only used when the whole left tree is copied
      */
     private BidiMap<MoNode, MoNode> leftToRightMap;
+    /**
+     * right tree sharing unmodified subtrees with left, null when the whole left tree is copied
+     */
+    private final CopyOnWriteTree copyOnWriteTree;
 
     /**
      * after <---> right mapping (based on applying Operation, from copy)
@@ -73,18 +77,27 @@ public class ApplyModification {
 
 
     public ApplyModification(Pattern pattern, MoNode left, MatchInstance matchInstance) {
+        this(pattern, left, matchInstance, true);
+    }
+
+    /**
+     * @param copyOnWrite if true, the right tree copies only the nodes along edited paths,
+     *                    otherwise the whole left tree is deep copied
+     */
+    public ApplyModification(Pattern pattern, MoNode left, MatchInstance matchInstance, boolean copyOnWrite) {
         this.pattern = pattern;
+        this.nodeMapping = pattern.getNodeMapping();
 
         this.left = left;
-        DeepCopyScanner deepCopyScanner = new DeepCopyScanner(left);
-        this.right = deepCopyScanner.getCopy();
-        this.leftToRightMap = deepCopyScanner.getCopyMap();
-
-        pattern.getDiffComparator().getMappings().asSet().forEach(mapping -> {
-            MoNode beforeNode = (MoNode) mapping.first.getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
-            MoNode afterNode = (MoNode) mapping.second.getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
-            beforeToAfterMap.put(beforeNode, afterNode);
-        });
+        if (copyOnWrite) {
+            this.copyOnWriteTree = new CopyOnWriteTree(left);
+            this.right = copyOnWriteTree.getRoot();
+        } else {
+            this.copyOnWriteTree = null;
+            DeepCopyScanner deepCopyScanner = new DeepCopyScanner(left);
+            this.right = deepCopyScanner.getCopy();
+            this.leftToRightMap = deepCopyScanner.getCopyMap();
+        }
 
         this.matchInstance = matchInstance;
     }
@@ -101,7 +114,7 @@ public class ApplyModification {
                 if(deleteNodeInLeft == null) {
                     throw new ModificationException("can not find the delete node in left tree, matching error");
                 }
-                MoNode deleteNodeInRight = this.leftToRightMap.get(deleteNodeInLeft);
+                MoNode deleteNodeInRight = toRight(deleteNodeInLeft);
                 assert deleteNodeInRight != null;
                 deleteNodeInRight.removeFromParent();
 
@@ -111,7 +124,7 @@ public class ApplyModification {
                 if(deleteNodeInLeft == null) {
                     throw new ModificationException("can not find the delete node in left tree, matching error");
                 }
-                MoNode deleteNodeInRight = this.leftToRightMap.get(deleteNodeInLeft);
+                MoNode deleteNodeInRight = toRight(deleteNodeInLeft);
                 assert deleteNodeInRight != null;
                 deleteNodeInRight.removeFromParent();
 
@@ -132,21 +145,21 @@ public class ApplyModification {
                     // 优先级最高
                     logger.info("insertParent type 3");
                     insertParentInRight = maintenanceMap.get(insertParent);
-                } else if(this.beforeToAfterMap.containsKey(insertParent)) {
+                } else if(this.nodeMapping.containsBefore(insertParent)) {
                     logger.info("insertParent type 1");
                     MoNode insertParentType1Left = matchInstance.getNodeMap().get(insertParent);
                     if(insertParentType1Left == null) {
                         throw new ModificationException("error when Insert because insertParentType1Left is null, matching error");
                     }
-                    insertParentInRight = this.leftToRightMap.get(insertParentType1Left);
-                } else if(this.beforeToAfterMap.containsValue(insertParent)){
-                    MoNode insertParentType2Before = this.beforeToAfterMap.getKey(insertParent);
+                    insertParentInRight = toRight(insertParentType1Left);
+                } else if(this.nodeMapping.containsAfter(insertParent)){
+                    MoNode insertParentType2Before = this.nodeMapping.getBefore(insertParent);
                     logger.info("insertParent type 2");
                     MoNode insertParentType2Left = this.matchInstance.getNodeMap().get(insertParentType2Before);
                     if(insertParentType2Left == null) {
                         throw new ModificationException("error when Insert because insertParentType2Left is null, matching error");
                     }
-                    insertParentInRight = this.leftToRightMap.get(insertParentType2Left);
+                    insertParentInRight = toRight(insertParentType2Left);
                 } else {
                     throw new ModificationException("error when Insert because insertParent is not in before tree and maintenanceMap");
                 }
@@ -194,21 +207,21 @@ public class ApplyModification {
                     logger.info("insertParent type 3");
                     insertParentInRight = maintenanceMap.get(insertParent);
                 }
-                else if(this.beforeToAfterMap.containsKey(insertParent)) {
+                else if(this.nodeMapping.containsBefore(insertParent)) {
                     logger.info("insertParent type 1");
                     MoNode insertParentType1Left = matchInstance.getNodeMap().get(insertParent);
                     if(insertParentType1Left == null) {
                         throw new ModificationException("error when Insert because insertParentType1Left is null, matching error");
                     }
-                    insertParentInRight = this.leftToRightMap.get(insertParentType1Left);
-                } else if(this.beforeToAfterMap.containsValue(insertParent)) {
-                    MoNode insertParentType2Before = this.beforeToAfterMap.getKey(insertParent);
+                    insertParentInRight = toRight(insertParentType1Left);
+                } else if(this.nodeMapping.containsAfter(insertParent)) {
+                    MoNode insertParentType2Before = this.nodeMapping.getBefore(insertParent);
                     logger.info("insertParent type 2");
                     MoNode insertParentType2Left = this.matchInstance.getNodeMap().get(insertParentType2Before);
                     if(insertParentType2Left == null) {
                         throw new ModificationException("error when Insert because insertParentType2Left is null, matching error");
                     }
-                    insertParentInRight = this.leftToRightMap.get(insertParentType2Left);
+                    insertParentInRight = toRight(insertParentType2Left);
                 } else {
                     throw new ModificationException("error when Insert because insertParent is not in before tree and maintenanceMap");
                 }
@@ -250,22 +263,22 @@ public class ApplyModification {
                     // 优先级最高
                     logger.info("moveParent type 3");
                     moveParentInRight = maintenanceMap.get(moveParent);
-                } else if(this.beforeToAfterMap.containsKey(moveParent)) {
+                } else if(this.nodeMapping.containsBefore(moveParent)) {
                     // 这种是内部调整位置
                     logger.info("moveParent type 1");
                     MoNode moveParentType1Left = matchInstance.getNodeMap().get(moveParent);
                     if(moveParentType1Left == null) {
                         throw new ModificationException("error when Move because moveParentType1Left is null, matching error");
                     }
-                    moveParentInRight = this.leftToRightMap.get(moveParentType1Left);
-                } else if (this.beforeToAfterMap.containsValue(moveParent)){
-                    MoNode moveParentType2Before = this.beforeToAfterMap.getKey(moveParent);
+                    moveParentInRight = toRight(moveParentType1Left);
+                } else if (this.nodeMapping.containsAfter(moveParent)){
+                    MoNode moveParentType2Before = this.nodeMapping.getBefore(moveParent);
                     logger.info("moveParent type 2");
                     MoNode moveParentType2Left = this.matchInstance.getNodeMap().get(moveParentType2Before);
                     if(moveParentType2Left == null) {
                         throw new ModificationException("error when Move because moveParentType2Left is null, matching error");
                     }
-                    moveParentInRight = this.leftToRightMap.get(moveParentType2Left);
+                    moveParentInRight = toRight(moveParentType2Left);
                 } else {
                     throw new ModificationException("error when Move because moveParent is not in before tree and maintenanceMap");
                 }
@@ -278,7 +291,7 @@ public class ApplyModification {
                 if(moveNodeInLeft == null) {
                     throw new ModificationException("error when move because moveNodeInLeft is null, matching error");
                 }
-                MoNode moveNodeInRight = this.leftToRightMap.get(moveNodeInLeft);
+                MoNode moveNodeInRight = toRight(moveNodeInLeft);
                 if(inRightTree(moveNodeInRight)) {
                     // 如果还在right树上，那么把他从right树上移除，不然直接移动就可以
                     moveNodeInRight.removeFromParent();
@@ -313,7 +326,7 @@ public class ApplyModification {
                 if(updateNodeInLeft == null) {
                     throw new ModificationException("error when update because updateNodeInLeft is null, matching error");
                 }
-                MoNode updateNodeInRight = this.leftToRightMap.get(updateNodeInLeft);
+                MoNode updateNodeInRight = toRight(updateNodeInLeft);
                 assert updateNodeInRight != null;
                 assert inRightTree(updateNodeInRight);
 
@@ -360,6 +373,17 @@ public class ApplyModification {
         nodesToBeRenamed.forEach(this::setValue);
     }
 
+    /**
+     * the node in right tree corresponding to a left node, in copy-on-write mode the node is copied on demand
+     * so that it can be modified without touching left
+     */
+    private MoNode toRight(MoNode nodeInLeft) {
+        if (copyOnWriteTree != null) {
+            return copyOnWriteTree.materialize(nodeInLeft);
+        }
+        return this.leftToRightMap.get(nodeInLeft);
+    }
+
     /**
      * make sure the index is in the bound of children list, by adding placeholder nodes
      * @param index the index to be inserted
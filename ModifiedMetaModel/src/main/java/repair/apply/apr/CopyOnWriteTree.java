@@ -0,0 +1,130 @@
+package repair.apply.apr;
+
+import org.apache.commons.collections4.BidiMap;
+import repair.ast.MoNode;
+import repair.ast.MoNodeBidiMap;
+import repair.ast.MoNodeList;
+import repair.ast.role.ChildRoleTable;
+import repair.ast.role.ChildType;
+import repair.ast.role.Description;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Path-copying view of the left tree used as the right tree of {@link ApplyModification}.
+ *
+ * The right tree shares every unmodified subtree with the left tree. Before a node is edited it is materialized:
+ * the node and its ancestors are copied, each copy referencing the original children except the copied one.
+ * Shared nodes keep their parent in the left tree, so only materialized nodes may be mutated,
+ * and the right tree is meant to be read top-down (e.g. printed by CodePrinter).
+ */
+public class CopyOnWriteTree {
+    private final MoNode leftRoot;
+    private final MoNode rightRoot;
+    /**
+     * left <---> right mapping of the materialized nodes
+     */
+    private final BidiMap<MoNode, MoNode> leftToRightMap = new MoNodeBidiMap();
+
+    public CopyOnWriteTree(MoNode leftRoot) {
+        this.leftRoot = leftRoot;
+        this.rightRoot = copyWithSharedChildren(leftRoot);
+        leftToRightMap.put(leftRoot, rightRoot);
+    }
+
+    public MoNode getRoot() {
+        return rightRoot;
+    }
+
+    public BidiMap<MoNode, MoNode> getMaterializedMap() {
+        return leftToRightMap;
+    }
+
+    /**
+     * get the mutable right node of a left node, copying the path from the closest materialized ancestor
+     * @param leftNode node in the left tree
+     * @return the right node, null if the node is not in the left tree
+     */
+    public MoNode materialize(MoNode leftNode) {
+        if (leftNode == null) {
+            return null;
+        }
+        MoNode copy = leftToRightMap.get(leftNode);
+        if (copy != null) {
+            return copy;
+        }
+
+        // collect the path up to the closest materialized ancestor
+        Deque<MoNode> path = new ArrayDeque<>();
+        MoNode current = leftNode;
+        while (current != null && !leftToRightMap.containsKey(current)) {
+            if (current == leftRoot) {
+                break;
+            }
+            path.push(current);
+            current = current.getParent();
+        }
+        if (current == null) {
+            return null;
+        }
+
+        MoNode parentInRight = leftToRightMap.get(current);
+        while (!path.isEmpty()) {
+            MoNode child = path.pop();
+            MoNode childInRight = copyWithSharedChildren(child);
+            relink(parentInRight, child, childInRight);
+            leftToRightMap.put(child, childInRight);
+            parentInRight = childInRight;
+        }
+        return parentInRight;
+    }
+
+    /**
+     * replace the shared child under the materialized parent by its copy.
+     * If the parent no longer holds the child (replaced or removed by an earlier edit), the copy stays detached
+     * but still points to the parent, as a full deep copy would.
+     */
+    @SuppressWarnings("unchecked")
+    private void relink(MoNode parentInRight, MoNode child, MoNode childInRight) {
+        Description<? extends MoNode, ?> location = child.getLocationInParent();
+        childInRight.setParent(parentInRight, location);
+        if (location.classification() == ChildType.CHILDLIST) {
+            MoNodeList<MoNode> children = (MoNodeList<MoNode>) parentInRight.getStructuralProperty(location.role());
+            for (int i = 0; i < children.size(); i++) {
+                if (children.get(i) == child) {
+                    children.replaceShared(i, childInRight);
+                    break;
+                }
+            }
+        } else if (location.classification() == ChildType.CHILD) {
+            if (parentInRight.getStructuralProperty(location.role()) == child) {
+                parentInRight.setStructuralProperty(location.role(), childInRight);
+            }
+        }
+    }
+
+    /**
+     * shallow clone whose children are the original children, the children are not re-parented
+     */
+    @SuppressWarnings("unchecked")
+    private static MoNode copyWithSharedChildren(MoNode node) {
+        MoNode copy = node.shallowClone();
+        for (String role : ChildRoleTable.getChildRoles(node)) {
+            Object child = node.getStructuralProperty(role);
+            if (child == null) {
+                continue;
+            }
+            if (node.getDescription(role).classification() == ChildType.CHILDLIST) {
+                MoNodeList<MoNode> children = (MoNodeList<MoNode>) copy.getStructuralProperty(role);
+                children.setParent(copy);
+                for (MoNode element : (MoNodeList<MoNode>) child) {
+                    children.addShared(element);
+                }
+            } else {
+                copy.setStructuralProperty(role, child);
+            }
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,58 @@
+package repair.apply.builder;
+
+import java.util.function.Supplier;
+
+/**
+ * 匹配的截止时间, polled by MoTree while a gumtree matcher walks the trees
+ * <p>
+ * Gumtree matchers are CPU bound and never check for interrupts, but they reach the children of a tree node
+ * through getChildren all the time. MoTree polls the deadline of the current thread there, so a match that runs
+ * over its budget throws MatchTimeoutException on its own thread and nothing keeps running after the timeout.
+ * The clock is read once per {@value #POLL_INTERVAL} polls.
+ */
+public final class MatchDeadline {
+    private static final int POLL_INTERVAL = 256;
+    private static final ThreadLocal<MatchDeadline> current = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private int polls = 0;
+
+    private MatchDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static class MatchTimeoutException extends RuntimeException {
+        public MatchTimeoutException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /**
+     * run the task on the current thread with a budget
+     * @throws MatchTimeoutException when the task polls after the budget is spent
+     */
+    public static <T> T run(long budgetMillis, Supplier<T> task) {
+        MatchDeadline previous = current.get();
+        current.set(new MatchDeadline(System.nanoTime() + budgetMillis * 1_000_000L));
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+
+    /**
+     * no-op outside run
+     */
+    public static void poll() {
+        MatchDeadline deadline = current.get();
+        if (deadline != null && ++deadline.polls % POLL_INTERVAL == 0
+                && System.nanoTime() - deadline.deadlineNanos > 0) {
+            throw new MatchTimeoutException("match time budget exceeded");
+        }
+    }
+}
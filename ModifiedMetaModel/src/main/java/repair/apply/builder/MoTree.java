@@ -0,0 +1,88 @@
+package repair.apply.builder;
+
+import com.github.gumtreediff.tree.DefaultTree;
+import com.github.gumtreediff.tree.Tree;
+import com.github.gumtreediff.tree.Type;
+import repair.ast.MoNode;
+import repair.ast.MoNodeType;
+
+import java.util.List;
+
+import static com.github.gumtreediff.tree.TypeSet.type;
+
+/**
+ * Gumtree tree node that holds its MoNode directly.
+ * The node is read with {@link #moNodeOf(Tree)} instead of a metadata lookup, no metadata map is created per node,
+ * and the gumtree type of every MoNodeType is looked up once.
+ */
+public class MoTree extends DefaultTree {
+    private static final Type[] types = new Type[MoNodeType.values().length];
+
+    static {
+        for (MoNodeType moNodeType : MoNodeType.values()) {
+            // node classes are named Mo + node type, the same type as the class name, checked by MoTreeTest
+            types[moNodeType.ordinal()] = type(moNodeType.getNodeType());
+        }
+    }
+
+    private final MoNode moNode;
+
+    public MoTree(MoNode moNode, String label) {
+        this(moNode, typeOf(moNode), label);
+        setPos(moNode.getElementPos());
+        setLength(moNode.getElementLength());
+    }
+
+    private MoTree(MoNode moNode, Type type, String label) {
+        super(type, label);
+        this.moNode = moNode;
+    }
+
+    public MoNode getMoNode() {
+        return moNode;
+    }
+
+    public static Type typeOf(MoNode node) {
+        MoNodeType moNodeType = node.getMoNodeType();
+        if (moNodeType == null || moNodeType == MoNodeType.UNKNOWN) {
+            return type(node.getClass().getSimpleName().substring(2)); // 去掉Mo
+        }
+        return types[moNodeType.ordinal()];
+    }
+
+    /**
+     * @return the MoNode of a tree built by MoGumtreeBuilder, null for the virtual root
+     */
+    public static MoNode moNodeOf(Tree tree) {
+        if (tree instanceof MoTree moTree) {
+            return moTree.moNode;
+        }
+        return tree == null ? null : (MoNode) tree.getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
+    }
+
+    @Override
+    public Object getMetadata(String key) {
+        if (GumtreeMetaConstant.MO_NODE_KEY.equals(key)) {
+            return moNode;
+        }
+        return super.getMetadata(key);
+    }
+
+    @Override
+    public List<Tree> getChildren() {
+        // 匹配超时检查, see MatchDeadline
+        MatchDeadline.poll();
+        return super.getChildren();
+    }
+
+    @Override
+    public Tree deepCopy() {
+        MoTree copy = new MoTree(moNode, getType(), getLabel());
+        copy.setPos(getPos());
+        copy.setLength(getLength());
+        for (Tree child : getChildren()) {
+            copy.addChild(child.deepCopy());
+        }
+        return copy;
+    }
+}
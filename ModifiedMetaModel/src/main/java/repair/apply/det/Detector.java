@@ -19,7 +19,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import repair.FileUtils;
 import repair.apply.match.MatchInstance;
+import repair.apply.match.MatchPlan;
 import repair.apply.match.Matcher;
+import repair.apply.match.TokenSketch;
 import repair.ast.declaration.MoMethodDeclaration;
 import repair.ast.parser.NodeParser;
 import repair.common.MethodSignature;
@@ -38,6 +40,7 @@ import static repair.common.JDTUtils.genAST;
 public class Detector {
     private static final Logger logger = LoggerFactory.getLogger(Detector.class);
     private final Pattern pattern;
+    private final MatchPlan matchPlan;
     private final Path repoPath;
     private final String commitID;
     private final String fileOracle;
@@ -46,6 +49,8 @@ public class Detector {
 
     public Detector(Pattern pattern, Path repoPath, String commitID, String fileOracle, String signatureOracle) {
         this.pattern = pattern;
+        // 同一个pattern检测整个仓库的方法, 只编译一次
+        this.matchPlan = pattern.compile();
         this.repoPath = repoPath;
         this.commitID = commitID;
         this.fileOracle = fileOracle;
@@ -99,6 +104,9 @@ public class Detector {
         } catch (IOException e) {
             logger.error("Failed to apply pattern", e);
         }
+        if (TokenSketch.getMode() == TokenSketch.Mode.VERIFY) {
+            logger.info("{} {}", commitID, TokenSketch.statistics());
+        }
     }
 
     /**
@@ -135,7 +143,7 @@ public class Detector {
     }
 
     public boolean detectMethod(MoMethodDeclaration moMethodDeclaration) {
-        List<MatchInstance> matchInstances = Matcher.match(pattern, moMethodDeclaration).stream()
+        List<MatchInstance> matchInstances = Matcher.match(matchPlan, moMethodDeclaration).stream()
                 .limit(5).toList();
 
         return matchInstances.stream()
@@ -0,0 +1,348 @@
+package repair.apply.diff;
+
+import com.github.gumtreediff.actions.model.Action;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repair.ast.MoNode;
+import repair.apply.diff.operations.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of diff results, shared by every command that builds a Pattern.
+ * <p>
+ * An entry is keyed by the hash of the before / after method sources, their node types in pre-order,
+ * the diff mode, the forced matcher, the node threshold and the time budget. It stores the node mappings and
+ * operations with nodes written as pre-order indexes, so a later run with the same pair rebuilds them on its own
+ * trees without gumtree matching. Results of the timeout fallback depend on timing and are never stored.
+ * The cache is off unless -Dgenpat.diff.cacheDir names its directory. It holds at most -Dgenpat.diff.cacheMaxBytes
+ * (default 256 MB), over that the least recently used entries are deleted.
+ * Cache failures are logged and never stop the diff.
+ */
+public class DiffCache {
+    private final static Logger logger = LoggerFactory.getLogger(DiffCache.class);
+
+    private static final int MAGIC = 0x47504443;
+    // bump when the matcher, the script generator or the entry layout changes
+    private static final int VERSION = 2;
+    private static final int NULL_NODE = -1;
+    private static final String ENTRY_SUFFIX = ".diff";
+    public static final long DEFAULT_MAX_BYTES = 256L << 20;
+    // 超出上限时删到这个比例, so a full cache is not trimmed on every store
+    private static final double TRIM_RATIO = 0.8;
+
+    private static Path cacheDir = cacheDirOf(System.getProperty("genpat.diff.cacheDir"));
+    private static long maxBytes = Long.getLong("genpat.diff.cacheMaxBytes", DEFAULT_MAX_BYTES);
+    // bytes of the entries in cacheDir, -1 until the directory is walked
+    private static long cachedBytes = -1;
+
+    /**
+     * @return the cache directory named by the property, null (disabled) when it is unset or "none"
+     */
+    static Path cacheDirOf(String property) {
+        if (property == null || property.isBlank() || "none".equalsIgnoreCase(property)) {
+            return null;
+        }
+        return Path.of(property);
+    }
+
+    /**
+     * @param cacheDir directory of the cache entries, null disables the cache
+     */
+    public static synchronized void setCacheDir(Path cacheDir) {
+        DiffCache.cacheDir = cacheDir;
+        cachedBytes = -1;
+    }
+
+    public static synchronized void setMaxBytes(long maxBytes) {
+        DiffCache.maxBytes = maxBytes;
+    }
+
+    public static synchronized Path getCacheDir() {
+        return cacheDir;
+    }
+
+    public static boolean isEnabled() {
+        return getCacheDir() != null;
+    }
+
+    public record Entry(DiffComparator.MatchStrategy matchStrategy,
+                        List<Pair<MoNode, MoNode>> nodeMappings,
+                        List<Operation<? extends Action>> operations) {
+    }
+
+    public static String key(DiffComparator.Mode mode, DiffComparator.MatchStrategy forcedStrategy,
+                             int largeTreeThreshold, long matchTimeBudgetMillis,
+                             List<MoNode> beforeNodes, List<MoNode> afterNodes) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update((VERSION + "|" + mode + "|" + forcedStrategy + "|" + largeTreeThreshold + "|"
+                + matchTimeBudgetMillis + "|").getBytes(StandardCharsets.UTF_8));
+        for (List<MoNode> nodes : List.of(beforeNodes, afterNodes)) {
+            digest.update(nodes.get(0).toSrcString().getBytes(StandardCharsets.UTF_8));
+            byte[] types = new byte[nodes.size()];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = (byte) nodes.get(i).getMoNodeType().ordinal();
+            }
+            digest.update(types);
+            digest.update((byte) '|');
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static Path entryPath(Path dir, String key) {
+        return dir.resolve(key.substring(0, 2)).resolve(key + ENTRY_SUFFIX);
+    }
+
+    public static Optional<Entry> load(String key, List<MoNode> beforeNodes, List<MoNode> afterNodes) {
+        Path dir = getCacheDir();
+        if (dir == null) {
+            return Optional.empty();
+        }
+        Path path = entryPath(dir, key);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION
+                    || in.readInt() != beforeNodes.size() || in.readInt() != afterNodes.size()) {
+                logger.warn("stale diff cache entry {}", path);
+                return Optional.empty();
+            }
+            NodeTable nodes = new NodeTable(beforeNodes, afterNodes);
+            int strategy = in.readInt();
+            DiffComparator.MatchStrategy matchStrategy = strategy < 0 ? null : DiffComparator.MatchStrategy.values()[strategy];
+
+            int mappingCount = in.readInt();
+            List<Pair<MoNode, MoNode>> nodeMappings = new ArrayList<>(mappingCount);
+            for (int i = 0; i < mappingCount; i++) {
+                nodeMappings.add(Pair.of(nodes.get(in.readInt()), nodes.get(in.readInt())));
+            }
+
+            int operationCount = in.readInt();
+            List<Operation<? extends Action>> operations = new ArrayList<>(operationCount);
+            for (int i = 0; i < operationCount; i++) {
+                OperationType type = OperationType.values()[in.readByte()];
+                operations.add(switch (type) {
+                    case INSERT -> new InsertOperation(nodes.get(in.readInt()), nodes.get(in.readInt()), in.readInt());
+                    case TREE_INSERT -> new TreeInsertOperation(nodes.get(in.readInt()), nodes.get(in.readInt()), in.readInt());
+                    case MOVE -> new MoveOperation(nodes.get(in.readInt()), nodes.get(in.readInt()), nodes.get(in.readInt()), in.readInt());
+                    case UPDATE -> new UpdateOperation(nodes.get(in.readInt()), readString(in));
+                    case DELETE -> new DeleteOperation(nodes.get(in.readInt()));
+                    case TREE_DELETE -> new TreeDeleteOperation(nodes.get(in.readInt()));
+                });
+            }
+            touch(path);
+            return Optional.of(new Entry(matchStrategy, nodeMappings, operations));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("failed to read diff cache entry {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public static void store(String key, List<MoNode> beforeNodes, List<MoNode> afterNodes, Entry entry) {
+        Path dir = getCacheDir();
+        if (dir == null) {
+            return;
+        }
+        Path path = entryPath(dir, key);
+        Path tempPath = null;
+        try {
+            Files.createDirectories(path.getParent());
+            tempPath = Files.createTempFile(path.getParent(), key, ".tmp");
+            NodeTable nodes = new NodeTable(beforeNodes, afterNodes);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(beforeNodes.size());
+                out.writeInt(afterNodes.size());
+                out.writeInt(entry.matchStrategy() == null ? -1 : entry.matchStrategy().ordinal());
+
+                out.writeInt(entry.nodeMappings().size());
+                for (Pair<MoNode, MoNode> mapping : entry.nodeMappings()) {
+                    out.writeInt(nodes.indexOf(mapping.getLeft()));
+                    out.writeInt(nodes.indexOf(mapping.getRight()));
+                }
+
+                out.writeInt(entry.operations().size());
+                for (Operation<? extends Action> operation : entry.operations()) {
+                    out.writeByte(operation.getOperationType().ordinal());
+                    switch (operation.getOperationType()) {
+                        case INSERT, TREE_INSERT -> {
+                            AddOperator addOperator = (AddOperator) operation;
+                            out.writeInt(nodes.indexOf(addOperator.getParent()));
+                            out.writeInt(nodes.indexOf(addOperator.getAddNode()));
+                            out.writeInt(addOperator.computeIndex());
+                        }
+                        case MOVE -> {
+                            MoveOperation moveOperation = (MoveOperation) operation;
+                            out.writeInt(nodes.indexOf(moveOperation.getMoveParent()));
+                            out.writeInt(nodes.indexOf(moveOperation.getMoveNode()));
+                            out.writeInt(nodes.indexOf(moveOperation.getMoveDstNode()));
+                            out.writeInt(moveOperation.computeIndex());
+                        }
+                        case UPDATE -> {
+                            UpdateOperation updateOperation = (UpdateOperation) operation;
+                            out.writeInt(nodes.indexOf(updateOperation.getUpdateNode()));
+                            writeString(out, updateOperation.getUpdateValue());
+                        }
+                        case DELETE -> out.writeInt(nodes.indexOf(((DeleteOperation) operation).getDeleteNode()));
+                        case TREE_DELETE -> out.writeInt(nodes.indexOf(((TreeDeleteOperation) operation).getDeleteNodeInBefore()));
+                    }
+                }
+            }
+            long size = Files.size(tempPath);
+            try {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tempPath = null;
+            recordStored(dir, path, size);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("failed to write diff cache entry {}: {}", path, e.getMessage());
+        } finally {
+            if (tempPath != null) {
+                try {
+                    Files.deleteIfExists(tempPath);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    // 最近使用时间记在文件的修改时间上, read by trim
+    private static void touch(Path path) {
+        try {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            logger.debug("failed to touch diff cache entry {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static synchronized void recordStored(Path dir, Path stored, long size) throws IOException {
+        if (!dir.equals(cacheDir)) {
+            return;
+        }
+        cachedBytes = cachedBytes < 0 ? trim(dir, Long.MAX_VALUE, stored) : cachedBytes + size;
+        if (cachedBytes > maxBytes) {
+            cachedBytes = trim(dir, (long) (maxBytes * TRIM_RATIO), stored);
+        }
+    }
+
+    private record CachedFile(Path path, long size, FileTime lastModified) {
+    }
+
+    /**
+     * delete the least recently used entries until at most targetBytes are left, except the entry just stored.
+     * The directory is walked again so entries written by other processes are counted too.
+     * @return bytes left
+     */
+    private static long trim(Path dir, long targetBytes, Path stored) throws IOException {
+        List<CachedFile> files = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> stream = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) stream::iterator) {
+                if (!path.toString().endsWith(ENTRY_SUFFIX)) {
+                    continue;
+                }
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    files.add(new CachedFile(path, attributes.size(), attributes.lastModifiedTime()));
+                    total += attributes.size();
+                } catch (IOException e) {
+                    // deleted by another process
+                }
+            }
+        }
+        if (total <= targetBytes) {
+            return total;
+        }
+        files.sort(Comparator.comparing(CachedFile::lastModified));
+        for (CachedFile file : files) {
+            if (total <= targetBytes) {
+                break;
+            }
+            if (!file.path().equals(stored) && Files.deleteIfExists(file.path())) {
+                total -= file.size();
+            }
+        }
+        logger.info("diff cache {} trimmed to {} bytes", dir, total);
+        return total;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * before nodes are written as their pre-order index, after nodes as -(index + 2), null as -1
+     */
+    private static final class NodeTable {
+        private final List<MoNode> beforeNodes;
+        private final List<MoNode> afterNodes;
+        private final Map<MoNode, Integer> indexes = new IdentityHashMap<>();
+
+        NodeTable(List<MoNode> beforeNodes, List<MoNode> afterNodes) {
+            this.beforeNodes = beforeNodes;
+            this.afterNodes = afterNodes;
+        }
+
+        int indexOf(MoNode node) {
+            if (node == null) {
+                return NULL_NODE;
+            }
+            if (indexes.isEmpty()) {
+                for (int i = 0; i < beforeNodes.size(); i++) {
+                    indexes.put(beforeNodes.get(i), i);
+                }
+                for (int i = 0; i < afterNodes.size(); i++) {
+                    indexes.put(afterNodes.get(i), -(i + 2));
+                }
+            }
+            Integer index = indexes.get(node);
+            if (index == null) {
+                throw new IllegalArgumentException("node is not in the diffed trees: " + node.getId());
+            }
+            return index;
+        }
+
+        MoNode get(int index) {
+            if (index == NULL_NODE) {
+                return null;
+            }
+            return index >= 0 ? beforeNodes.get(index) : afterNodes.get(-index - 2);
+        }
+    }
+}
@@ -6,21 +6,50 @@ import com.github.gumtreediff.matchers.CompositeMatchers;
 import com.github.gumtreediff.matchers.MappingStore;
 import com.github.gumtreediff.matchers.Matcher;
 import com.github.gumtreediff.tree.Tree;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import repair.ast.MoNode;
+import repair.apply.builder.MatchDeadline;
 import repair.apply.builder.MoGumtreeBuilder;
+import repair.apply.builder.MoTree;
 import repair.apply.diff.operations.Operation;
+import repair.ast.visitor.FlattenScanner;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 public class DiffComparator {
+    private final static Logger logger = LoggerFactory.getLogger(DiffComparator.class);
+
+    /**
+     * trees with more nodes than this skip the gumtree matcher and use the XY matcher,
+     * set by -Dgenpat.diff.nodeThreshold
+     */
+    public static final int DEFAULT_LARGE_TREE_THRESHOLD = Integer.getInteger("genpat.diff.nodeThreshold", 10000);
+    /**
+     * time the gumtree matcher may take before the diff falls back to the XY matcher, 0 waits without limit,
+     * set by -Dgenpat.diff.timeBudgetMs
+     */
+    public static final long DEFAULT_MATCH_TIME_BUDGET_MILLIS = Long.getLong("genpat.diff.timeBudgetMs", 60000L);
+
     private final List<Operation<? extends Action>> allOperations = new ArrayList<>();
 
     private final Mode mode;
 
-    private final Matcher defaultMatcher;
+    // null means chosen by tree size and time budget
+    private final MatchStrategy forcedStrategy;
+    private final int largeTreeThreshold;
+    private final long matchTimeBudgetMillis;
+    // the gumtree matcher ran out of its budget and the XY matcher produced the mappings
+    private boolean fellBack = false;
+    private MatchStrategy matchStrategy;
     private final EditScriptGenerator editScriptGenerator;
     private MappingStore mappings;
+    // before / after node pairs of the mappings, the virtual roots are mapped as (null, null)
+    private List<Pair<MoNode, MoNode>> nodeMappings = Collections.emptyList();
 
     private Tree beforeTree;
     private Tree afterTree;
@@ -29,11 +58,39 @@ public class DiffComparator {
         MOVE_MODE, NO_MOVE_MODE
     }
 
+    public enum MatchStrategy {
+        GUMTREE_STABLE, XY;
+
+        public Matcher createMatcher() {
+            return switch (this) {
+                case GUMTREE_STABLE -> new CompositeMatchers.SimpleGumtreeStable();
+                case XY -> new CompositeMatchers.XyMatcher();
+            };
+        }
+    }
+
     public DiffComparator(Mode mode) {
+        this(mode, null);
+    }
+
+    /**
+     * @param forcedStrategy matcher used for every tree size, null to choose by size and time budget
+     */
+    public DiffComparator(Mode mode, MatchStrategy forcedStrategy) {
+        this(mode, forcedStrategy, DEFAULT_LARGE_TREE_THRESHOLD, DEFAULT_MATCH_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * @param largeTreeThreshold trees with more nodes use the XY matcher
+     * @param matchTimeBudgetMillis budget of the gumtree matcher before falling back to the XY matcher, 0 for no limit
+     */
+    public DiffComparator(Mode mode, MatchStrategy forcedStrategy, int largeTreeThreshold, long matchTimeBudgetMillis) {
         this.mode = mode;
-        defaultMatcher = new CompositeMatchers.SimpleGumtreeStable();
+        this.forcedStrategy = forcedStrategy;
+        this.largeTreeThreshold = largeTreeThreshold;
+        this.matchTimeBudgetMillis = matchTimeBudgetMillis;
         if(mode == Mode.MOVE_MODE)
-            editScriptGenerator = new MoChawatheScriptGenerator();
+            editScriptGenerator = new MoOverlayChawatheScriptGenerator();
         else if(mode == Mode.NO_MOVE_MODE)
             editScriptGenerator = new InsertDeleteChawatheScriptGenerator();
         else
@@ -46,15 +103,34 @@ public class DiffComparator {
     }
 
     public void computeBeforeAfterMatch(MoNode beforeNode, MoNode afterNode) {
+        List<MoNode> beforeNodes = null;
+        List<MoNode> afterNodes = null;
+        String cacheKey = null;
+        if (DiffCache.isEnabled()) {
+            beforeNodes = new FlattenScanner().flatten(beforeNode);
+            afterNodes = new FlattenScanner().flatten(afterNode);
+            cacheKey = DiffCache.key(mode, forcedStrategy, largeTreeThreshold, matchTimeBudgetMillis, beforeNodes, afterNodes);
+            Optional<DiffCache.Entry> entry = DiffCache.load(cacheKey, beforeNodes, afterNodes);
+            if (entry.isPresent()) {
+                matchStrategy = entry.get().matchStrategy();
+                nodeMappings = entry.get().nodeMappings();
+                allOperations.addAll(entry.get().operations());
+                return;
+            }
+        }
+
         buildTrees(beforeNode, afterNode);
-        MappingStore oriMapping = defaultMatcher.match(beforeTree, afterTree); // computes the mappings between the trees
+        MappingStore oriMapping = match(beforeNode, afterNode); // computes the mappings between the trees
         EditScript actions = editScriptGenerator.computeActions(oriMapping); // computes the edit script
         if(this.mode == Mode.MOVE_MODE) {
-            mappings = ((MoChawatheScriptGenerator) editScriptGenerator).getMappings();
+            mappings = ((MoOverlayChawatheScriptGenerator) editScriptGenerator).getMappings();
         } else {
             mappings = oriMapping;
         }
 
+        nodeMappings = new ArrayList<>();
+        mappings.asSet().forEach(mapping -> nodeMappings.add(Pair.of(MoTree.moNodeOf(mapping.first), MoTree.moNodeOf(mapping.second))));
+
         actions.asList().stream()
                 .map(action -> Operation.createOperation(action, mappings))
 //                .sorted((a1, a2) -> {
@@ -68,12 +144,71 @@ public class DiffComparator {
 //                    }
 //                })
                 .forEach(allOperations::add);
+
+        // 超时回退的结果依赖运行时间, not cached
+        if (cacheKey != null && !fellBack) {
+            DiffCache.store(cacheKey, beforeNodes, afterNodes, new DiffCache.Entry(matchStrategy, nodeMappings, allOperations));
+        }
     }
 
+    private MappingStore match(MoNode beforeNode, MoNode afterNode) {
+        if (forcedStrategy != null) {
+            matchStrategy = forcedStrategy;
+            return forcedStrategy.createMatcher().match(beforeTree, afterTree);
+        }
+
+        int treeSize = Math.max(beforeTree.getMetrics().size, afterTree.getMetrics().size);
+        if (treeSize > largeTreeThreshold) {
+            logger.info("tree size {} is over {}, use {} matcher", treeSize, largeTreeThreshold, MatchStrategy.XY);
+            matchStrategy = MatchStrategy.XY;
+            return MatchStrategy.XY.createMatcher().match(beforeTree, afterTree);
+        }
+
+        matchStrategy = MatchStrategy.GUMTREE_STABLE;
+        if (matchTimeBudgetMillis <= 0) {
+            return MatchStrategy.GUMTREE_STABLE.createMatcher().match(beforeTree, afterTree);
+        }
+
+        // 在当前线程匹配, the matcher polls the deadline through MoTree and stops itself when it is over budget
+        try {
+            return MatchDeadline.run(matchTimeBudgetMillis,
+                    () -> MatchStrategy.GUMTREE_STABLE.createMatcher().match(beforeTree, afterTree));
+        } catch (MatchDeadline.MatchTimeoutException e) {
+            logger.warn("{} matcher exceeds {} ms on tree size {}, fall back to {} matcher",
+                    MatchStrategy.GUMTREE_STABLE, matchTimeBudgetMillis, treeSize, MatchStrategy.XY);
+            // the aborted matcher only leaves its own MappingStore behind, rebuild anyway so no partial state is reused
+            buildTrees(beforeNode, afterNode);
+            matchStrategy = MatchStrategy.XY;
+            fellBack = true;
+            return MatchStrategy.XY.createMatcher().match(beforeTree, afterTree);
+        }
+    }
+
+    /**
+     * @return whether the gumtree matcher ran out of its time budget, the result then depends on timing
+     */
+    public boolean isFellBack() {
+        return fellBack;
+    }
+
+    /**
+     * @return matcher that produced the mappings, null before computeBeforeAfterMatch
+     */
+    public MatchStrategy getMatchStrategy() {
+        return matchStrategy;
+    }
+
+    /**
+     * @return gumtree mappings, null when the result is read from the DiffCache, use getNodeMappings instead
+     */
     public MappingStore getMappings() {
         return mappings;
     }
 
+    public List<Pair<MoNode, MoNode>> getNodeMappings() {
+        return nodeMappings;
+    }
+
     public List<Operation<? extends Action>> getAllOperations() {
         return allOperations;
     }
@@ -252,7 +252,7 @@ public class MoChawatheScriptGenerator implements EditScriptGenerator {
     }
 
     // Simplify the edit script by removing unnecessary actions
-    private static EditScript simplify(EditScript actions) {
+    static EditScript simplify(EditScript actions) {
         Map<Tree, Action> addedTrees = new HashMap<>();
         Map<Tree, Action> deletedTrees = new HashMap<>();
 
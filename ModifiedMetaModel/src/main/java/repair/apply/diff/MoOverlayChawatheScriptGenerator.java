@@ -0,0 +1,350 @@
+package repair.apply.diff;
+
+import com.github.gumtreediff.actions.EditScript;
+import com.github.gumtreediff.actions.EditScriptGenerator;
+import com.github.gumtreediff.actions.model.*;
+import com.github.gumtreediff.matchers.Mapping;
+import com.github.gumtreediff.matchers.MappingStore;
+import com.github.gumtreediff.tree.Tree;
+import com.github.gumtreediff.tree.TreeUtils;
+
+import java.util.*;
+
+/**
+ * Same edit script as {@link MoChawatheScriptGenerator}, without copying the source tree.
+ * <p>
+ * Source nodes, the fake root and inserted nodes are numbered, and the edits of the copy are replayed on
+ * parent / children index arrays (the overlay). Mappings are kept in int arrays, the destination tree is indexed once,
+ * so sibling positions and alignment checks do not search Tree children lists.
+ * The trees given in the MappingStore are not modified.
+ */
+public class MoOverlayChawatheScriptGenerator implements EditScriptGenerator {
+    private static final int NONE = -1;
+
+    private MappingStore origMappings;
+
+    // destination side, indexed in pre-order, the fake root is dstFakeRoot
+    private Tree[] dstNodes;
+    private int dstFakeRoot;
+    private int[] dstParent;
+    private int[][] dstChildren;
+    private int[] dstPosition;
+    private boolean[] dstInOrder;
+
+    // overlay of the source side: source nodes in pre-order, then the fake root, then inserted nodes
+    private int overlaySize;
+    private Tree[] overlayOrigin;
+    private int[] overlayParent;
+    private IntList[] overlayChildren;
+
+    private int[] overlayToDst;
+    private int[] dstToOverlay;
+
+    private EditScript actions;
+
+    private MappingStore mappings;
+    public MappingStore getMappings() {
+        return mappings;
+    }
+
+    @Override
+    public EditScript computeActions(MappingStore ms) {
+        initWith(ms);
+        generate();
+
+        // mappings of the copied nodes are the original mappings, inserted nodes are fake
+        mappings = new MappingStore(ms.src, ms.dst);
+        for (Mapping m : origMappings) {
+            mappings.addMapping(m.first, m.second);
+        }
+        return MoChawatheScriptGenerator.simplify(actions);
+    }
+
+    public void initWith(MappingStore ms) {
+        this.origMappings = ms;
+
+        List<Tree> srcNodes = TreeUtils.preOrder(ms.src);
+        List<Tree> dstList = TreeUtils.preOrder(ms.dst);
+        int srcCount = srcNodes.size();
+        int dstCount = dstList.size();
+
+        Map<Tree, Integer> srcIndex = new IdentityHashMap<>(srcCount * 2);
+        for (int i = 0; i < srcCount; i++) {
+            srcIndex.put(srcNodes.get(i), i);
+        }
+        Map<Tree, Integer> dstIndex = new IdentityHashMap<>(dstCount * 2);
+        for (int i = 0; i < dstCount; i++) {
+            dstIndex.put(dstList.get(i), i);
+        }
+
+        dstNodes = dstList.toArray(new Tree[dstCount + 1]);
+        dstFakeRoot = dstCount;
+        dstParent = new int[dstCount + 1];
+        dstChildren = new int[dstCount + 1][];
+        dstPosition = new int[dstCount + 1];
+        dstInOrder = new boolean[dstCount + 1];
+        dstParent[0] = dstFakeRoot;
+        dstParent[dstFakeRoot] = NONE;
+        dstChildren[dstFakeRoot] = new int[] {0};
+        for (int i = 0; i < dstCount; i++) {
+            List<Tree> children = dstNodes[i].getChildren();
+            int[] childIndexes = new int[children.size()];
+            for (int k = 0; k < childIndexes.length; k++) {
+                int child = dstIndex.get(children.get(k));
+                childIndexes[k] = child;
+                dstParent[child] = i;
+                dstPosition[child] = k;
+            }
+            dstChildren[i] = childIndexes;
+        }
+
+        // every destination node is inserted at most once
+        int capacity = srcCount + 1 + dstCount;
+        overlayOrigin = new Tree[capacity];
+        overlayParent = new int[capacity];
+        overlayChildren = new IntList[capacity];
+        overlayToDst = new int[capacity];
+        dstToOverlay = new int[dstCount + 1];
+        Arrays.fill(overlayToDst, NONE);
+        Arrays.fill(dstToOverlay, NONE);
+
+        int srcFakeRoot = srcCount;
+        for (int i = 0; i < srcCount; i++) {
+            Tree node = srcNodes.get(i);
+            overlayOrigin[i] = node;
+            List<Tree> children = node.getChildren();
+            IntList childIndexes = new IntList(children.size());
+            for (Tree child : children) {
+                int index = srcIndex.get(child);
+                childIndexes.add(index);
+                overlayParent[index] = i;
+            }
+            overlayChildren[i] = childIndexes;
+        }
+        overlayParent[0] = srcFakeRoot;
+        overlayOrigin[srcFakeRoot] = null; // as copyToOrig of the fake root
+        overlayParent[srcFakeRoot] = NONE;
+        overlayChildren[srcFakeRoot] = new IntList(1);
+        overlayChildren[srcFakeRoot].add(0);
+        overlaySize = srcCount + 1;
+
+        for (Mapping m : ms) {
+            addOverlayMapping(srcIndex.get(m.first), dstIndex.get(m.second));
+        }
+        addOverlayMapping(srcFakeRoot, dstFakeRoot);
+    }
+
+    private void addOverlayMapping(int overlay, int dst) {
+        overlayToDst[overlay] = dst;
+        dstToOverlay[dst] = overlay;
+    }
+
+    public EditScript generate() {
+        actions = new EditScript();
+
+        // breadth first over the destination tree
+        int[] queue = new int[dstFakeRoot];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = 0;
+        while (head < tail) {
+            int x = queue[head++];
+            for (int child : dstChildren[x]) {
+                queue[tail++] = child;
+            }
+
+            int w;
+            int y = dstParent[x];
+            int z = dstToOverlay[y];
+
+            if (dstToOverlay[x] == NONE) {
+                int k = findPos(x);
+                // Insertion case : insert new node, the real node of the second tree is furnished
+                w = overlaySize++;
+                actions.add(new Insert(dstNodes[x], overlayOrigin[z], k));
+                overlayOrigin[w] = dstNodes[x];
+                overlayChildren[w] = new IntList(0);
+                addOverlayMapping(w, x);
+                insertChild(z, w, k);
+            } else {
+                w = dstToOverlay[x];
+                if (x != 0) { // Case of the root
+                    int v = overlayParent[w];
+                    Tree origW = overlayOrigin[w];
+                    if (!origW.getLabel().equals(dstNodes[x].getLabel())) {
+                        actions.add(new Update(origW, dstNodes[x].getLabel()));
+                    }
+                    if (z != v) {
+                        int k = findPos(x);
+                        actions.add(new Move(origW, overlayOrigin[z], k));
+
+                        overlayChildren[v].removeAt(overlayChildren[v].indexOf(w));
+                        insertChild(z, w, k);
+                    }
+                }
+            }
+
+            dstInOrder[x] = true;
+            alignChildren(w, x);
+        }
+
+        // post-order over the overlay of the source root
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[] {0, 0});
+        while (!stack.isEmpty()) {
+            int[] frame = stack.peek();
+            IntList children = overlayChildren[frame[0]];
+            if (frame[1] < children.size) {
+                stack.push(new int[] {children.get(frame[1]++), 0});
+                continue;
+            }
+            stack.pop();
+            if (overlayToDst[frame[0]] == NONE) {
+                actions.add(new Delete(overlayOrigin[frame[0]]));
+            }
+        }
+
+        return actions;
+    }
+
+    private void insertChild(int parent, int child, int position) {
+        overlayChildren[parent].add(position, child);
+        overlayParent[child] = parent;
+    }
+
+    private void alignChildren(int w, int x) {
+        for (int i = 0; i < dstChildren[x].length; i++) {
+            dstInOrder[dstChildren[x][i]] = false;
+        }
+
+        IntList wChildren = overlayChildren[w];
+        IntList s1 = new IntList(wChildren.size);
+        for (int i = 0; i < wChildren.size; i++) {
+            int c = wChildren.get(i);
+            if (overlayToDst[c] != NONE && dstParent[overlayToDst[c]] == x) {
+                s1.add(c);
+            }
+        }
+
+        IntList s2 = new IntList(dstChildren[x].length);
+        for (int c : dstChildren[x]) {
+            if (dstToOverlay[c] != NONE && overlayParent[dstToOverlay[c]] == w) {
+                s2.add(c);
+            }
+        }
+
+        BitSet inLcs = lcs(s1, s2);
+        for (int j = 0; j < s2.size; j++) {
+            if (inLcs.get(j)) {
+                dstInOrder[s2.get(j)] = true;
+            }
+        }
+
+        // iterate through s2 first, to ensure left-to-right insertions
+        for (int j = 0; j < s2.size; j++) {
+            if (inLcs.get(j)) {
+                continue;
+            }
+            int b = s2.get(j);
+            int a = dstToOverlay[b];
+            IntList siblings = overlayChildren[overlayParent[a]];
+            siblings.removeAt(siblings.indexOf(a)); // remove this node directly.
+            int k = findPos(b); // find insert position AFTER removing node from old place.
+            actions.add(new Move(overlayOrigin[a], overlayOrigin[w], k));
+            insertChild(w, a, k);
+            dstInOrder[b] = true;
+        }
+    }
+
+    private int findPos(int x) {
+        int[] siblings = dstChildren[dstParent[x]];
+
+        for (int c : siblings) {
+            if (dstInOrder[c]) {
+                if (c == x) return 0;
+                else break;
+            }
+        }
+
+        int xpos = dstPosition[x];
+        int v = NONE;
+        for (int i = 0; i < xpos; i++) {
+            if (dstInOrder[siblings[i]]) v = siblings[i];
+        }
+
+        if (v == NONE) return 0;
+
+        int u = dstToOverlay[v];
+        return overlayChildren[overlayParent[u]].indexOf(u) + 1;
+    }
+
+    /**
+     * @return positions in y that are part of the longest common subsequence, same tie breaking as the copy version
+     */
+    private BitSet lcs(IntList x, IntList y) {
+        int m = x.size;
+        int n = y.size;
+        BitSet lcs = new BitSet(n);
+
+        int width = n + 1;
+        int[] opt = new int[(m + 1) * width];
+        for (int i = m - 1; i >= 0; i--) {
+            for (int j = n - 1; j >= 0; j--) {
+                if (dstToOverlay[y.get(j)] == x.get(i)) opt[i * width + j] = opt[(i + 1) * width + j + 1] + 1;
+                else opt[i * width + j] = Math.max(opt[(i + 1) * width + j], opt[i * width + j + 1]);
+            }
+        }
+
+        int i = 0, j = 0;
+        while (i < m && j < n) {
+            if (dstToOverlay[y.get(j)] == x.get(i)) {
+                lcs.set(j);
+                i++;
+                j++;
+            } else if (opt[(i + 1) * width + j] >= opt[i * width + j + 1]) i++;
+            else j++;
+        }
+
+        return lcs;
+    }
+
+    private static final class IntList {
+        private int[] items;
+        private int size = 0;
+
+        IntList(int capacity) {
+            items = new int[Math.max(capacity, 2)];
+        }
+
+        int get(int index) {
+            return items[index];
+        }
+
+        void add(int value) {
+            add(size, value);
+        }
+
+        void add(int index, int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            System.arraycopy(items, index, items, index + 1, size - index);
+            items[index] = value;
+            size++;
+        }
+
+        void removeAt(int index) {
+            System.arraycopy(items, index + 1, items, index, size - index - 1);
+            size--;
+        }
+
+        int indexOf(int value) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] == value) {
+                    return i;
+                }
+            }
+            return NONE;
+        }
+    }
+}
@@ -2,7 +2,7 @@ package repair.apply.diff.operations;
 
 import com.github.gumtreediff.actions.model.Delete;
 import repair.ast.MoNode;
-import repair.apply.builder.GumtreeMetaConstant;
+import repair.apply.builder.MoTree;
 
 import java.io.Serial;
 
@@ -14,12 +14,23 @@ public class DeleteOperation extends Operation<Delete> {
 
     public DeleteOperation(Delete delete) {
         super(delete);
-        this.deleteNode = (MoNode) action.getNode().getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
+        this.deleteNode = MoTree.moNodeOf(action.getNode());
+    }
+
+    /**
+     * rebuild the operation without its gumtree action, e.g. from the diff cache
+     */
+    public DeleteOperation(MoNode deleteNode) {
+        super(null);
+        this.deleteNode = deleteNode;
     }
 
     public MoNode getDeleteNode() {
         return deleteNode;
     }
 
-
+    @Override
+    public OperationType getOperationType() {
+        return OperationType.DELETE;
+    }
 }
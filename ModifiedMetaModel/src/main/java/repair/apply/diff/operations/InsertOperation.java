@@ -3,7 +3,7 @@ package repair.apply.diff.operations;
 import com.github.gumtreediff.actions.model.Insert;
 import repair.ast.MoNode;
 import repair.ast.role.Description;
-import repair.apply.builder.GumtreeMetaConstant;
+import repair.apply.builder.MoTree;
 
 import java.io.Serial;
 
@@ -18,13 +18,24 @@ public class InsertOperation extends Operation<Insert> implements AddOperator {
 
     private final InsertListStrategy strategy;
     public InsertOperation(Insert action) {
+        this(action, MoTree.moNodeOf(action.getParent()), MoTree.moNodeOf(action.getNode()), action.getPosition());
+    }
+
+    /**
+     * rebuild the operation without its gumtree action, e.g. from the diff cache
+     */
+    public InsertOperation(MoNode insertParent, MoNode insertNode, int position) {
+        this(null, insertParent, insertNode, position);
+    }
+
+    private InsertOperation(Insert action, MoNode insertParent, MoNode insertNode, int position) {
         super(action);
-        insertParent = (MoNode) action.getParent().getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
+        this.insertParent = insertParent;
 
-        insertNode = (MoNode) action.getNode().getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
+        this.insertNode = insertNode;
         insertLocation = insertNode.getLocationInParent();
 
-        strategy = new OriginGumtreeInsertStrategy(action.getPosition());
+        strategy = new OriginGumtreeInsertStrategy(position);
 //        strategy = new NaiveIndexStrategy(this);
     }
 
@@ -46,4 +57,9 @@ public class InsertOperation extends Operation<Insert> implements AddOperator {
     public int computeIndex() {
         return strategy.computeInsertIndex();
     }
+
+    @Override
+    public OperationType getOperationType() {
+        return OperationType.INSERT;
+    }
 }
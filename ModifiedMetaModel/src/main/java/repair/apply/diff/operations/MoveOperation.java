@@ -6,7 +6,7 @@ import com.github.gumtreediff.tree.Tree;
 import org.apache.commons.lang3.tuple.Pair;
 import repair.ast.MoNode;
 import repair.ast.role.Description;
-import repair.apply.builder.GumtreeMetaConstant;
+import repair.apply.builder.MoTree;
 
 import java.io.Serial;
 
@@ -24,18 +24,29 @@ public class MoveOperation extends Operation<Move> implements AddOperator {
     private final InsertListStrategy strategy;
 
     public MoveOperation(Move action, MappingStore mappings) {
+        this(action, MoTree.moNodeOf(action.getParent()), MoTree.moNodeOf(action.getNode()),
+                moveDstOf(action, mappings), action.getPosition());
+    }
+
+    /**
+     * rebuild the operation without its gumtree action, e.g. from the diff cache
+     * @param moveDstNode the moved node in after tree, null if it is not mapped
+     */
+    public MoveOperation(MoNode moveParent, MoNode moveNode, MoNode moveDstNode, int position) {
+        this(null, moveParent, moveNode, moveDstNode, position);
+    }
+
+    private MoveOperation(Move action, MoNode moveParent, MoNode moveNode, MoNode moveDstNode, int position) {
         super(action);
-        moveParent = ((MoNode) action.getParent().getMetadata(GumtreeMetaConstant.MO_NODE_KEY));
-        moveNode = ((MoNode) action.getNode().getMetadata(GumtreeMetaConstant.MO_NODE_KEY));
+        this.moveParent = moveParent;
+        this.moveNode = moveNode;
 
-        Tree moveDst = mappings.getDstForSrc(action.getNode());
-        if (moveDst != null) {
-            MoNode moveDstNode = (MoNode) moveDst.getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
+        if (moveDstNode != null) {
             moveToLocation = moveDstNode.getLocationInParent();
             movePair = Pair.of(moveNode, moveDstNode);
         }
 
-        strategy = new OriginGumtreeInsertStrategy(action.getPosition());
+        strategy = new OriginGumtreeInsertStrategy(position);
 //        strategy = new NaiveIndexStrategy(this);
 
     }
@@ -48,6 +59,18 @@ public class MoveOperation extends Operation<Move> implements AddOperator {
         return moveParent;
     }
 
+    /**
+     * @return the moved node in after tree, null if it is not mapped
+     */
+    public MoNode getMoveDstNode() {
+        return movePair == null ? null : movePair.getRight();
+    }
+
+    private static MoNode moveDstOf(Move action, MappingStore mappings) {
+        Tree moveDst = mappings.getDstForSrc(action.getNode());
+        return moveDst == null ? null : MoTree.moNodeOf(moveDst);
+    }
+
     @Override
     public MoNode getAddNode() {
         return movePair.getRight();
@@ -67,4 +90,9 @@ public class MoveOperation extends Operation<Move> implements AddOperator {
     public int computeIndex() {
         return strategy.computeInsertIndex();
     }
+
+    @Override
+    public OperationType getOperationType() {
+        return OperationType.MOVE;
+    }
 }
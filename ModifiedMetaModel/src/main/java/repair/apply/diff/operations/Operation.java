@@ -18,6 +18,8 @@ public abstract class Operation<T extends Action> implements Serializable {
         return action;
     }
 
+    public abstract OperationType getOperationType();
+
     public static Operation<? extends Action> createOperation(Action action, MappingStore mappings) {
         if (action instanceof Insert insert) {
             return new InsertOperation(insert);
@@ -0,0 +1,13 @@
+package repair.apply.diff.operations;
+
+/**
+ * Operation kind, for switching over operations without instanceof chains
+ */
+public enum OperationType {
+    INSERT,
+    TREE_INSERT,
+    DELETE,
+    TREE_DELETE,
+    MOVE,
+    UPDATE
+}
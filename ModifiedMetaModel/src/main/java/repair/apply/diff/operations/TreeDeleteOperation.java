@@ -2,7 +2,7 @@ package repair.apply.diff.operations;
 
 import com.github.gumtreediff.actions.model.TreeDelete;
 import repair.ast.MoNode;
-import repair.apply.builder.GumtreeMetaConstant;
+import repair.apply.builder.MoTree;
 
 import java.io.Serial;
 
@@ -13,11 +13,23 @@ public class TreeDeleteOperation extends Operation<TreeDelete>{
 
     public TreeDeleteOperation(TreeDelete action) {
         super(action);
-        this.deleteNodeInBefore = (MoNode) action.getNode().getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
+        this.deleteNodeInBefore = MoTree.moNodeOf(action.getNode());
+    }
+
+    /**
+     * rebuild the operation without its gumtree action, e.g. from the diff cache
+     */
+    public TreeDeleteOperation(MoNode deleteNodeInBefore) {
+        super(null);
+        this.deleteNodeInBefore = deleteNodeInBefore;
     }
 
     public MoNode getDeleteNodeInBefore() {
         return deleteNodeInBefore;
     }
 
+    @Override
+    public OperationType getOperationType() {
+        return OperationType.TREE_DELETE;
+    }
 }
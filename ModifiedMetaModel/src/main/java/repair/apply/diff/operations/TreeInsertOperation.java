@@ -3,7 +3,7 @@ package repair.apply.diff.operations;
 import com.github.gumtreediff.actions.model.TreeInsert;
 import repair.ast.MoNode;
 import repair.ast.role.Description;
-import repair.apply.builder.GumtreeMetaConstant;
+import repair.apply.builder.MoTree;
 
 import java.io.Serial;
 
@@ -16,12 +16,23 @@ public class TreeInsertOperation extends Operation<TreeInsert> implements AddOpe
     private final InsertListStrategy strategy;
 
     public TreeInsertOperation(TreeInsert action) {
+        this(action, MoTree.moNodeOf(action.getParent()), MoTree.moNodeOf(action.getNode()), action.getPosition());
+    }
+
+    /**
+     * rebuild the operation without its gumtree action, e.g. from the diff cache
+     */
+    public TreeInsertOperation(MoNode insertParent, MoNode inserteeNodeInAfter, int position) {
+        this(null, insertParent, inserteeNodeInAfter, position);
+    }
+
+    private TreeInsertOperation(TreeInsert action, MoNode insertParent, MoNode inserteeNodeInAfter, int position) {
         super(action);
-        inserteeNodeInAfter = (MoNode) action.getNode().getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
+        this.inserteeNodeInAfter = inserteeNodeInAfter;
         insertLocation = inserteeNodeInAfter.getLocationInParent();
-        insertParent = (MoNode) action.getParent().getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
+        this.insertParent = insertParent;
 
-        strategy = new OriginGumtreeInsertStrategy(action.getPosition());
+        strategy = new OriginGumtreeInsertStrategy(position);
 //        strategy = new NaiveIndexStrategy(this);
     }
 
@@ -45,4 +56,8 @@ public class TreeInsertOperation extends Operation<TreeInsert> implements AddOpe
         return strategy.computeInsertIndex();
     }
 
+    @Override
+    public OperationType getOperationType() {
+        return OperationType.TREE_INSERT;
+    }
 }
@@ -2,7 +2,7 @@ package repair.apply.diff.operations;
 
 import com.github.gumtreediff.actions.model.Update;
 import repair.ast.MoNode;
-import repair.apply.builder.GumtreeMetaConstant;
+import repair.apply.builder.MoTree;
 
 import java.io.Serial;
 
@@ -13,9 +13,20 @@ public class UpdateOperation extends Operation<Update> {
     private final MoNode updateNode;
     private final String updateValue;
     public UpdateOperation(Update action) {
+        this(action, MoTree.moNodeOf(action.getNode()), action.getValue());
+    }
+
+    /**
+     * rebuild the operation without its gumtree action, e.g. from the diff cache
+     */
+    public UpdateOperation(MoNode updateNode, String updateValue) {
+        this(null, updateNode, updateValue);
+    }
+
+    private UpdateOperation(Update action, MoNode updateNode, String updateValue) {
         super(action);
-        this.updateNode = (MoNode) action.getNode().getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
-        this.updateValue = action.getValue();
+        this.updateNode = updateNode;
+        this.updateValue = updateValue;
     }
 
     public MoNode getUpdateNode() {
@@ -25,4 +36,9 @@ public class UpdateOperation extends Operation<Update> {
     public String getUpdateValue() {
         return updateValue;
     }
+
+    @Override
+    public OperationType getOperationType() {
+        return OperationType.UPDATE;
+    }
 }
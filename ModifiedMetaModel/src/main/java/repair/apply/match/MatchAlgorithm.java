@@ -3,6 +3,7 @@ package repair.apply.match;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -76,4 +77,67 @@ public class MatchAlgorithm {
         assert map.size() == score[srcLen][tarLen];
         return map;
     }
+
+    /**
+     * Length of the longest common subsequence, without the alignment.
+     * Bit-parallel over the shorter sequence (Allison-Dix / Hyyrö): one row of the score matrix is kept as
+     * ceil(m / 64) words, each symbol of the longer sequence updates the row with a few word operations.
+     * @param src interned tokens
+     * @param tar interned tokens
+     * @return the same value as LCSMatch(src, tar, ...).size() with an equality comparator
+     */
+    public static int lcsLength(int[] src, int[] tar) {
+        int[] pattern = src.length <= tar.length ? src : tar;
+        int[] text = src.length <= tar.length ? tar : src;
+        int m = pattern.length;
+        if (m == 0) {
+            return 0;
+        }
+        int words = (m + 63) >>> 6;
+
+        // match masks of each distinct symbol of pattern, symbols are sorted for lookup
+        int[] symbols = Arrays.copyOf(pattern, m);
+        Arrays.sort(symbols);
+        int distinct = 0;
+        for (int i = 0; i < m; i++) {
+            if (i == 0 || symbols[i] != symbols[i - 1]) {
+                symbols[distinct++] = symbols[i];
+            }
+        }
+        symbols = Arrays.copyOf(symbols, distinct);
+        long[] masks = new long[distinct * words];
+        for (int i = 0; i < m; i++) {
+            int symbol = Arrays.binarySearch(symbols, pattern[i]);
+            masks[symbol * words + (i >>> 6)] |= 1L << (i & 63);
+        }
+
+        // zero bits of row are the LCS length, row = (row + (row & match)) | (row & ~match)
+        long[] row = new long[words];
+        Arrays.fill(row, -1L);
+        for (int c : text) {
+            int symbol = Arrays.binarySearch(symbols, c);
+            if (symbol < 0) {
+                continue;
+            }
+            int offset = symbol * words;
+            long carry = 0;
+            for (int w = 0; w < words; w++) {
+                long v = row[w];
+                long u = v & masks[offset + w];
+                long sum = v + u + carry;
+                // carry out of v + u + carry, u <= v bitwise so u is at most v
+                carry = Long.compareUnsigned(sum, v) < 0 || (carry != 0 && sum == v) ? 1 : 0;
+                row[w] = sum | (v & ~u);
+            }
+        }
+
+        int ones = 0;
+        for (int w = 0; w < words - 1; w++) {
+            ones += Long.bitCount(row[w]);
+        }
+        int tailBits = m - ((words - 1) << 6);
+        long tailMask = tailBits == 64 ? -1L : (1L << tailBits) - 1;
+        ones += Long.bitCount(row[words - 1] & tailMask);
+        return m - ones;
+    }
 }
@@ -0,0 +1,115 @@
+package repair.apply.match;
+
+import repair.ast.MoNode;
+import repair.ast.visitor.FlattenScanner;
+import repair.pattern.AttributeFactory;
+import repair.pattern.Pattern;
+import repair.pattern.attr.Attribute;
+import repair.pattern.attr.TokenIdSpace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编译后的匹配计划, see Pattern.compile
+ * <p>
+ * Everything Matcher reads from a pattern is derived once: the considered nodes in pre-order (parents before
+ * children, which is also the evaluation order before candidates are counted), a NodeSimilarityPlan for each,
+ * the parent of each node among them for the parent-edge check, and the attribute slots the target needs.
+ * The plan is immutable, so one plan can be shared by every thread matching the pattern. It is a snapshot:
+ * abstracting the pattern afterwards needs a new plan. The plan owns the ids of the pattern tokens, each target tree
+ * is matched in a session of them, see TokenIdSpace.
+ */
+public final class MatchPlan {
+    private final MoNode[] patternNodes;
+    private final NodeSimilarityPlan[] nodePlans;
+    // 父节点在patternNodes中的位置, -1 when the parent is not considered, so the edge is never checked
+    private final int[] parentIndexes;
+    private final boolean[] neededSlots;
+    private final Map<MoNode, Integer> nodeIndexes;
+    private final TokenIdSpace tokenIds;
+
+    private MatchPlan(List<NodeSimilarityPlan> plans, TokenIdSpace tokenIds) {
+        int size = plans.size();
+        patternNodes = new MoNode[size];
+        nodePlans = plans.toArray(new NodeSimilarityPlan[0]);
+        Map<MoNode, Integer> indexes = new IdentityHashMap<>();
+        for (int i = 0; i < size; i++) {
+            patternNodes[i] = nodePlans[i].getPatternNode();
+            indexes.put(patternNodes[i], i);
+        }
+        parentIndexes = new int[size];
+        neededSlots = new boolean[AttributeFactory.slotCount()];
+        for (int i = 0; i < size; i++) {
+            Integer parentIndex = indexes.get(patternNodes[i].getParent());
+            parentIndexes[i] = parentIndex == null ? -1 : parentIndex;
+            for (int slot : nodePlans[i].getSlots()) {
+                neededSlots[slot] = true;
+            }
+        }
+        nodeIndexes = Collections.unmodifiableMap(indexes);
+        tokenIds.freeze();
+        this.tokenIds = tokenIds;
+    }
+
+    public static MatchPlan compile(Pattern pattern) {
+        Map<MoNode, Boolean> nodeToConsidered = pattern.getNodeToConsidered();
+        Map<MoNode, Map<Class<? extends Attribute<?>>, Attribute<?>>> nodeToAttributes = pattern.getNodeToAttributes();
+        List<NodeSimilarityPlan> plans = new ArrayList<>();
+        TokenIdSpace tokenIds = new TokenIdSpace();
+        for (MoNode node : new FlattenScanner().flatten(pattern.getPatternBefore0())) {
+            Map<Class<? extends Attribute<?>>, Attribute<?>> attributes = nodeToAttributes.get(node);
+            if (attributes != null && Boolean.TRUE.equals(nodeToConsidered.get(node))) {
+                plans.add(NodeSimilarityPlan.of(node, attributes, tokenIds));
+            }
+        }
+        return new MatchPlan(plans, tokenIds);
+    }
+
+    /**
+     * @return number of considered pattern nodes
+     */
+    public int size() {
+        return patternNodes.length;
+    }
+
+    public MoNode getPatternNode(int index) {
+        return patternNodes[index];
+    }
+
+    public NodeSimilarityPlan getNodePlan(int index) {
+        return nodePlans[index];
+    }
+
+    /**
+     * @return index of the considered parent of the node, or -1
+     */
+    public int getParentIndex(int index) {
+        return parentIndexes[index];
+    }
+
+    /**
+     * @return index of a pattern node in the plan, or -1 when it is not considered
+     */
+    public int indexOf(MoNode patternNode) {
+        Integer index = nodeIndexes.get(patternNode);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @return token ids for one target tree, the tokens only seen in that tree are dropped with it
+     */
+    public TokenIdSpace newTokenSession() {
+        return tokenIds.newSession();
+    }
+
+    /**
+     * @return slots read from the target tree, indexed by slot
+     */
+    public boolean[] getNeededSlots() {
+        return neededSlots.clone();
+    }
+}
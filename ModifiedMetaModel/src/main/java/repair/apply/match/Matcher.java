@@ -10,43 +10,56 @@ import repair.pattern.Pattern;
 import repair.pattern.attr.*;
 
 import java.util.*;
-import java.util.stream.Collectors;
-
-import static repair.pattern.AttributeFactory.attrToWeight;
 
 public class Matcher {
     private final static Logger logger = LoggerFactory.getLogger(Matcher.class);
 
 
     public static List<MatchInstance> match(Pattern pattern, MoNode left) {
-        RoughMapping roughMapping = roughMatch(pattern, left, 0.2);
+        return match(pattern.compile(), left);
+    }
+
+    /**
+     * @param plan 编译后的pattern, compile once and reuse it for every method
+     */
+    public static List<MatchInstance> match(MatchPlan plan, MoNode left) {
+        RoughMapping roughMapping = roughMatch(plan, left, 0.2);
+        // 匹配顺序和每个节点在plan中的父节点只取一次, instead of once per search step
+        MoNode[] patternNodes = roughMapping.getRoughMapping().keySet().toArray(new MoNode[0]);
+        MoNode[] patternParents = new MoNode[patternNodes.length];
+        for (int i = 0; i < patternNodes.length; i++) {
+            int parentIndex = plan.getParentIndex(plan.indexOf(patternNodes[i]));
+            patternParents[i] = parentIndex == -1 ? null : plan.getPatternNode(parentIndex);
+        }
         List<MatchInstance> instances = new ArrayList<>();
-        matchNext(new DualHashBidiMap<>(), roughMapping, 0, new HashSet<>(), 0.0, instances);
+        matchNext(new DualHashBidiMap<>(), roughMapping, patternNodes, patternParents, 0, new HashSet<>(), 0.0, instances);
         return instances;
     }
 
-    private static void matchNext(BidiMap<MoNode, MoNode> matchedNodeMap, RoughMapping roughMapping, int i,
+    private static void matchNext(BidiMap<MoNode, MoNode> matchedNodeMap, RoughMapping roughMapping,
+                                  MoNode[] patternNodes, MoNode[] patternParents, int i,
                                   Set<MoNode> alreadyMatched, double matchSimilarity,  List<MatchInstance> instances) {
         if(instances.size() > 100) {
             return;
         }
         // 有可能pattern的node数量少，或者buggy的node数量少
-        int matchNum = Math.min(roughMapping.getRoughMapping().size(), roughMapping.getBuggyNodeSize());
+        int matchNum = Math.min(patternNodes.length, roughMapping.getBuggyNodeSize());
         if(i == matchNum) {
             instances.add(new MatchInstance(new DualHashBidiMap<>(matchedNodeMap), matchSimilarity, true));
         } else {
-            MoNode patternNode = (MoNode) roughMapping.getRoughMapping().keySet().toArray()[i];
+            MoNode patternNode = patternNodes[i];
             List<Pair<MoNode, Double>> leftNodes = roughMapping.getRoughMapping().get(patternNode);
             for (Pair<MoNode, Double> leftNode : leftNodes) {
                 if(alreadyMatched.contains(leftNode.getLeft())) {
                     continue;
                 }
-                if(!checkParentEdge(patternNode, leftNode.getLeft(), matchedNodeMap)) {
+                if(!checkParentEdge(patternParents[i], leftNode.getLeft(), matchedNodeMap)) {
                     continue;
                 }
                 matchedNodeMap.put(patternNode, leftNode.getLeft());
                 alreadyMatched.add(leftNode.getLeft());
-                matchNext(matchedNodeMap, roughMapping, i+1, alreadyMatched, matchSimilarity + leftNode.getRight(), instances);
+                matchNext(matchedNodeMap, roughMapping, patternNodes, patternParents, i+1, alreadyMatched,
+                        matchSimilarity + leftNode.getRight(), instances);
                 matchedNodeMap.remove(patternNode);
                 alreadyMatched.remove(leftNode.getLeft());
             }
@@ -56,13 +69,12 @@ public class Matcher {
     /**
      * 检查父节点的边是否合法， 这里只有比较宽松的约束，这种匹配方式可能出现子节点匹配的节点和父节点不连续的问题
      * todo: 模式子树匹配
-     * @param beforeNode 需要匹配的pattern节点
+     * @param beforeParent 需要匹配的pattern节点在plan中的父节点, null if the parent is not considered
      * @param leftNode 需要匹配的left节点
      * @param track 已经匹配的节点map
      * @return 是否合法
      */
-    private static boolean checkParentEdge(MoNode beforeNode, MoNode leftNode, BidiMap<MoNode, MoNode> track) {
-        MoNode beforeParent = beforeNode.getParent();
+    private static boolean checkParentEdge(MoNode beforeParent, MoNode leftNode, BidiMap<MoNode, MoNode> track) {
         MoNode leftParent = leftNode.getParent();
         if(beforeParent != null && leftParent != null) {
             MoNode beforeParentBindLeft = track.get(beforeParent);
@@ -85,30 +97,29 @@ public class Matcher {
      * @return
      */
     public static RoughMapping roughMatch(Pattern pattern, MoNode left, double threshold) {
-        RoughMapping roughMapping = new RoughMapping();
-        Map<MoNode, Map<Class<? extends Attribute<?>>, Attribute<?>>> leftToAttributes = Attribute.computeAttributes(left);
-        roughMapping.setBuggyNodeSize(leftToAttributes.size());
-        // 筛选出来需要考虑的节点
-        List<MoNode> consideredNodes = pattern.getNodeToConsidered().entrySet().stream().filter(Map.Entry::getValue).map(Map.Entry::getKey).toList();
+        return roughMatch(pattern.compile(), left, threshold);
+    }
 
-        Map<MoNode, Map<Class<? extends Attribute<?>>, Attribute<?>>> patternBeforeToAttributes = pattern.getNodeToAttributes().entrySet().stream()
-                .filter(entry -> consideredNodes.contains(entry.getKey())).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    public static RoughMapping roughMatch(MatchPlan plan, MoNode left, double threshold) {
+        RoughMapping roughMapping = new RoughMapping();
+        // 目标树的属性按需计算，只有通过硬约束的节点才会计算 TokenAttribute
+        AttributeTable leftAttributes = Attribute.computeAttributeTable(left, plan.getNeededSlots(), plan.newTokenSession());
+        roughMapping.setBuggyNodeSize(leftAttributes.size());
+        // 同一个pattern匹配多个方法时, 结构相同的子树只计算一次相似度
+        SimilarityMemo memo = SimilarityMemo.shared();
 
         // 先对需要考虑属性的节点进行匹配
-        for (Map.Entry<MoNode, Map<Class<? extends Attribute<?>>, Attribute<?>>> beforeEntry : patternBeforeToAttributes.entrySet()) {
-            MoNode patternBeforeNode = beforeEntry.getKey();
-            Map<Class<? extends Attribute<?>>, Attribute<?>> patternBeforeAttributes = beforeEntry.getValue();
-
-            for (Map.Entry<MoNode, Map<Class<? extends Attribute<?>>, Attribute<?>>> leftEntry : leftToAttributes.entrySet()) {
-                MoNode leftNode = leftEntry.getKey();
-                Map<Class<? extends Attribute<?>>, Attribute<?>> leftAttributes = leftEntry.getValue();
+        for (int patternIndex = 0; patternIndex < plan.size(); patternIndex++) {
+            MoNode patternBeforeNode = plan.getPatternNode(patternIndex);
+            NodeSimilarityPlan nodePlan = plan.getNodePlan(patternIndex);
 
-                double similarity = computeSimilarity(patternBeforeAttributes, leftAttributes);
+            for (int leftIndex = 0; leftIndex < leftAttributes.size(); leftIndex++) {
+                double similarity = nodePlan.similarity(leftAttributes, leftIndex, threshold, memo);
                 if(similarity == -1) {
                     // 该匹配不合法
                     continue;
                 } else {
-                    roughMapping.addMapping(patternBeforeNode, leftNode, similarity);
+                    roughMapping.addMapping(patternBeforeNode, leftAttributes.getNode(leftIndex), similarity);
                 }
             }
         }
@@ -118,44 +129,5 @@ public class Matcher {
         return roughMapping;
     }
 
-    /**
-     * 计算两个节点属性之间的相似度
-     * 如果两个节点的硬属性不能匹配，则返回-1
-     * range: [-1] [0, 1]
-     * @param patternBeforeAttributes 模式节点的属性Map
-     * @param leftAttributes 待匹配节点的属性Map
-     * @return 相似度分数
-     */
-    private static double computeSimilarity(Map<Class<? extends Attribute<?>>, Attribute<?>> patternBeforeAttributes, Map<Class<? extends Attribute<?>>, Attribute<?>> leftAttributes) {
-        double similarity = 0;
-        // 用于判断这个节点是不是所有属性都不用考虑(空节点)
-        boolean noAttrsConsiderFlag = true;
-        for (Map.Entry<Class<? extends Attribute<?>>, Attribute<?>> patternEntry : patternBeforeAttributes.entrySet()) {
-            Class<? extends Attribute<?>> attrClass = patternEntry.getKey();
-            Attribute<?> patternAttr = patternEntry.getValue();
-            if (!patternAttr.isConsidered()) {
-                // 该属性不被考虑
-                continue;
-            }
-            noAttrsConsiderFlag = false;
-
-            Attribute<?> leftAttr = leftAttributes.get(attrClass);
-            double sim = patternAttr.similarity(leftAttr);
-            if(patternAttr instanceof HardConstraint) {
-                // 该属性是硬约束, 两个节点必须完全一致
-                if(sim == -1.0) {
-                    return -1.0;
-                }
-            } else {
-                similarity += leftAttr.similarity(patternAttr) * attrToWeight.get(attrClass);
-            }
-        }
-        if(noAttrsConsiderFlag) {
-            // 该节点所有属性都不用考虑
-            return 1.0;
-        }
-        return similarity;
-    }
-
 
 }
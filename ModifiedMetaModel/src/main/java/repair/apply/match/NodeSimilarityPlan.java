@@ -0,0 +1,178 @@
+package repair.apply.match;
+
+import repair.ast.MoNode;
+import repair.pattern.AttributeFactory;
+import repair.pattern.attr.Attribute;
+import repair.pattern.attr.AttributeTable;
+import repair.pattern.attr.TokenAttribute;
+import repair.pattern.attr.TokenIdSpace;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 一个pattern节点的相似度计算顺序
+ * <p>
+ * Considered attributes are compared hard constraints first, each group from cheap to costly.
+ * A failed hard constraint stops at -1, every soft similarity is computed once, and the soft attributes left are
+ * skipped when even their full weight cannot lift the score over the threshold.
+ * Before an attribute is compared, Attribute.mayReach may reject the pair, which is then scored as if that
+ * attribute were 0. The soft part can be looked up in a SimilarityMemo, keyed by the id of the plan and the hash of
+ * the soft attributes of the target.
+ */
+public final class NodeSimilarityPlan {
+    // a skipped pair is scored below the threshold by at least this, so it is still filtered out
+    private static final double BOUND_EPSILON = 1e-9;
+    private static final AtomicLong nextMemoId = new AtomicLong();
+
+    private final MoNode patternNode;
+    private final int[] slots;
+    private final Attribute<?>[] attributes;
+    private final boolean[] hardConstraints;
+    private final double[] weights;
+    // weight of the soft attributes from a position to the end
+    private final double[] remainingSoftWeights;
+    // hard constraints come first, soft attributes start here
+    private final int softStart;
+    // 每个plan一个id, the memo key holds it instead of the pattern node, so a dropped plan does not keep its tree
+    private final long memoId = nextMemoId.getAndIncrement();
+
+    private NodeSimilarityPlan(MoNode patternNode, List<Integer> orderedSlots, Attribute<?>[] slotAttributes,
+                               TokenIdSpace tokenIds) {
+        this.patternNode = patternNode;
+        int size = orderedSlots.size();
+        slots = new int[size];
+        attributes = new Attribute<?>[size];
+        hardConstraints = new boolean[size];
+        weights = new double[size];
+        remainingSoftWeights = new double[size + 1];
+        for (int i = 0; i < size; i++) {
+            int slot = orderedSlots.get(i);
+            slots[i] = slot;
+            attributes[i] = slotAttributes[slot];
+            hardConstraints[i] = AttributeFactory.isHardConstraint(slot);
+            weights[i] = AttributeFactory.slotWeight(slot);
+            if (attributes[i] instanceof TokenAttribute tokenAttribute) {
+                // 在plan的编号空间中的副本, numbered now so a plan shared by threads is never written while matching
+                attributes[i] = tokenAttribute.withTokenIds(tokenIds);
+            }
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            remainingSoftWeights[i] = remainingSoftWeights[i + 1] + (hardConstraints[i] ? 0 : weights[i]);
+        }
+        int start = 0;
+        while (start < size && hardConstraints[start]) {
+            start++;
+        }
+        softStart = start;
+    }
+
+    /**
+     * @param attributes attributes of the pattern node keyed by class, as kept by Pattern
+     */
+    public static NodeSimilarityPlan of(MoNode patternNode, Map<Class<? extends Attribute<?>>, Attribute<?>> attributes) {
+        return of(patternNode, attributes, new TokenIdSpace());
+    }
+
+    /**
+     * @param tokenIds token id space of the MatchPlan, the pattern tokens are numbered in it
+     */
+    public static NodeSimilarityPlan of(MoNode patternNode, Map<Class<? extends Attribute<?>>, Attribute<?>> attributes,
+                                        TokenIdSpace tokenIds) {
+        Attribute<?>[] slotAttributes = AttributeFactory.toAttributeSlots(attributes);
+        List<Integer> orderedSlots = new ArrayList<>();
+        for (int slot = 0; slot < slotAttributes.length; slot++) {
+            if (slotAttributes[slot] != null && slotAttributes[slot].isConsidered()) {
+                orderedSlots.add(slot);
+            }
+        }
+        orderedSlots.sort(Comparator.comparing((Integer slot) -> !AttributeFactory.isHardConstraint(slot))
+                .thenComparingInt(AttributeFactory::slotCost));
+        return new NodeSimilarityPlan(patternNode, orderedSlots, slotAttributes, tokenIds);
+    }
+
+    public MoNode getPatternNode() {
+        return patternNode;
+    }
+
+    /**
+     * @return slots read from the target tree, in evaluation order
+     */
+    public int[] getSlots() {
+        return slots.clone();
+    }
+
+    /**
+     * 计算pattern节点与目标节点属性之间的相似度
+     * 如果两个节点的硬属性不能匹配，则返回-1
+     * range: [-1] [0, 1]
+     * @param leftAttributes 待匹配树的属性表
+     * @param leftIndex 待匹配节点在属性表中的位置
+     * @param threshold scores not above it are dropped by the caller, the exact score of such a pair is not computed
+     * @return 相似度分数, at most threshold when the pair cannot pass it
+     */
+    public double similarity(AttributeTable leftAttributes, int leftIndex, double threshold) {
+        return similarity(leftAttributes, leftIndex, threshold, null);
+    }
+
+    /**
+     * @param memo 缓存soft属性的相似度, null to always compute it
+     */
+    public double similarity(AttributeTable leftAttributes, int leftIndex, double threshold, SimilarityMemo memo) {
+        if (slots.length == 0) {
+            // 该节点所有属性都不用考虑
+            return 1.0;
+        }
+        for (int i = 0; i < softStart; i++) {
+            // 该属性是硬约束, 两个节点必须完全一致
+            if (attributes[i].similarity(leftAttributes.get(slots[i], leftIndex)) == -1.0) {
+                return -1.0;
+            }
+        }
+        if (memo == null || !memo.isEnabled() || softStart == slots.length) {
+            return softSimilarity(leftAttributes, leftIndex, threshold);
+        }
+        SimilarityMemo.Key key = memoKey(leftAttributes, leftIndex, threshold);
+        double similarity = memo.get(key);
+        if (Double.isNaN(similarity)) {
+            similarity = softSimilarity(leftAttributes, leftIndex, threshold);
+            memo.put(key, similarity);
+        }
+        return similarity;
+    }
+
+    private double softSimilarity(AttributeTable leftAttributes, int leftIndex, double threshold) {
+        double similarity = 0;
+        for (int i = softStart; i < slots.length; i++) {
+            double upperBound = similarity + remainingSoftWeights[i];
+            if (upperBound < threshold - BOUND_EPSILON) {
+                return upperBound;
+            }
+            Attribute<?> leftAttribute = leftAttributes.get(slots[i], leftIndex);
+            double rest = similarity + remainingSoftWeights[i + 1];
+            // 该属性至少要达到的相似度, checked by a cheap estimate before the exact similarity
+            double minSimilarity = (threshold - BOUND_EPSILON - rest) / weights[i];
+            if (weights[i] > 0 && minSimilarity > 0 && !leftAttribute.mayReach(attributes[i], minSimilarity)) {
+                return rest;
+            }
+            similarity += leftAttribute.similarity(attributes[i]) * weights[i];
+        }
+        return similarity;
+    }
+
+    private SimilarityMemo.Key memoKey(AttributeTable leftAttributes, int leftIndex, double threshold) {
+        long hash1 = SimilarityMemo.HASH_SEED_1;
+        long hash2 = SimilarityMemo.HASH_SEED_2;
+        for (int i = softStart; i < slots.length; i++) {
+            Attribute<?> leftAttribute = leftAttributes.get(slots[i], leftIndex);
+            hash1 = leftAttribute.structuralHash(SimilarityMemo.mix(hash1, slots[i]));
+            hash2 = leftAttribute.structuralHash(SimilarityMemo.mix(hash2, ~slots[i]));
+        }
+        // a bounded score depends on the threshold, and on the sketch mode since the sketch can reject a pair
+        return new SimilarityMemo.Key(memoId, Double.doubleToLongBits(threshold),
+                TokenSketch.getMode(), hash1, hash2);
+    }
+}
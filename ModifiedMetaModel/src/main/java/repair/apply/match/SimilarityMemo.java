@@ -0,0 +1,207 @@
+package repair.apply.match;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * pattern节点与目标子树之间相似度的缓存
+ * <p>
+ * Keyed by the id of the NodeSimilarityPlan, the threshold, the TokenSketch mode and a 128-bit structural hash of
+ * the target attributes, so the same subtree seen in many methods of a repository is scored once. The key holds no
+ * node: entries of a dropped or recompiled plan are never hit again and only leave by LRU, without keeping the
+ * pattern tree alive.
+ * Each stripe is a segmented LRU: a new entry waits in the probation segment and is only promoted to the
+ * protected segment when it is hit again, so a scan over one-off subtrees cannot flush the hot entries.
+ */
+public final class SimilarityMemo {
+    public static final String MEMO_SIZE_PROPERTY = "genpat.match.memoSize";
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int STRIPES = 16;
+    // a stripe needs some room, or its protected segment is too small to keep anything
+    private static final int MIN_STRIPE_CAPACITY = 64;
+
+    public static final long HASH_SEED_1 = 0x9E3779B97F4A7C15L;
+    public static final long HASH_SEED_2 = 0xC2B2AE3D27D4EB4FL;
+
+    private static volatile SimilarityMemo shared = new SimilarityMemo(Integer.getInteger(MEMO_SIZE_PROPERTY, DEFAULT_CAPACITY));
+
+    private final int capacity;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public record Key(long planId, long threshold, TokenSketch.Mode sketchMode, long hash1, long hash2) {
+    }
+
+    /**
+     * @param capacity 最多缓存的条目数, 0 disables the memo
+     */
+    public SimilarityMemo(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("memo capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+        int stripes = Math.max(1, Math.min(STRIPES, capacity / MIN_STRIPE_CAPACITY));
+        this.segments = new Segment[stripes];
+        for (int i = 0; i < stripes; i++) {
+            // the first stripes take the remainder, so the stripes add up to the capacity
+            segments[i] = new Segment(capacity / stripes + (i < capacity % stripes ? 1 : 0));
+        }
+    }
+
+    /**
+     * @return the memo used by Matcher, sized by -Dgenpat.match.memoSize
+     */
+    public static SimilarityMemo shared() {
+        return shared;
+    }
+
+    public static void setShared(SimilarityMemo memo) {
+        shared = memo;
+    }
+
+    public boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    public static long mix(long hash, long value) {
+        hash ^= value;
+        hash *= 0xFF51AFD7ED558CCDL;
+        return hash ^ (hash >>> 32);
+    }
+
+    /**
+     * @return the cached similarity, or NaN when the key is absent
+     */
+    public double get(Key key) {
+        if (!isEnabled()) {
+            return Double.NaN;
+        }
+        Double similarity = segmentOf(key).get(key);
+        if (similarity == null) {
+            misses.increment();
+            return Double.NaN;
+        }
+        hits.increment();
+        return similarity;
+    }
+
+    public void put(Key key, double similarity) {
+        if (isEnabled()) {
+            segmentOf(key).put(key, similarity);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    @Override
+    public String toString() {
+        long hit = getHits();
+        long total = hit + getMisses();
+        return String.format("SimilarityMemo{size=%d/%d, hits=%d, misses=%d, evictions=%d, hitRate=%.3f}",
+                size(), capacity, hit, getMisses(), getEvictions(), total == 0 ? 0.0 : (double) hit / total);
+    }
+
+    private Segment segmentOf(Key key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return segments[Math.floorMod(hash, segments.length)];
+    }
+
+    private final class Segment {
+        private final int capacity;
+        private final int protectedCapacity;
+        // access order, the eldest entry is the least recently used
+        private final LinkedHashMap<Key, Double> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<Key, Double> protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.protectedCapacity = capacity * 4 / 5;
+        }
+
+        private synchronized Double get(Key key) {
+            Double similarity = protectedEntries.get(key);
+            if (similarity != null) {
+                return similarity;
+            }
+            similarity = probation.remove(key);
+            if (similarity != null) {
+                // 第二次命中, 晋升到protected段
+                protectedEntries.put(key, similarity);
+                if (protectedEntries.size() > protectedCapacity) {
+                    demoteEldest();
+                }
+            }
+            return similarity;
+        }
+
+        private synchronized void put(Key key, double similarity) {
+            if (protectedEntries.containsKey(key)) {
+                protectedEntries.put(key, similarity);
+                return;
+            }
+            probation.put(key, similarity);
+            if (probation.size() + protectedEntries.size() > capacity) {
+                evictEldest(probation.isEmpty() ? protectedEntries : probation);
+            }
+        }
+
+        private void demoteEldest() {
+            Iterator<Map.Entry<Key, Double>> iterator = protectedEntries.entrySet().iterator();
+            Map.Entry<Key, Double> eldest = iterator.next();
+            iterator.remove();
+            probation.put(eldest.getKey(), eldest.getValue());
+        }
+
+        private void evictEldest(LinkedHashMap<Key, Double> entries) {
+            Iterator<Map.Entry<Key, Double>> iterator = entries.entrySet().iterator();
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+
+        private synchronized int size() {
+            return probation.size() + protectedEntries.size();
+        }
+
+        private synchronized void clear() {
+            probation.clear();
+            protectedEntries.clear();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package repair.apply.match;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * token序列的MinHash草图, 用于在LCS之前排除明显不相似的节点对
+ * <p>
+ * A one-permutation MinHash over the token multiset: the i-th occurrence of a token is its own element, so the
+ * sketch estimates the multiset Jaccard J, and 2J/(1+J) is the multiset Dice, an upper bound of the LCS similarity
+ * 2*lcs/(|a|+|b|). A pair is rejected when that estimate plus a margin, or the exact length bound, cannot reach
+ * the needed similarity. The estimate can be wrong, so short sequences, where LCS is cheap anyway, are never
+ * rejected by the sketch. Since a false reject changes the matching result, the sketch is off by default:
+ * -Dgenpat.match.sketch=verify counts the false rejects on a corpus without changing results, and
+ * -Dgenpat.match.sketch=on rejects.
+ */
+public final class TokenSketch {
+    public static final String SKETCH_MODE_PROPERTY = "genpat.match.sketch";
+
+    public enum Mode {
+        OFF, ON, VERIFY
+    }
+
+    static final int BINS = 64;
+    private static final int BIN_SHIFT = 64 - Integer.numberOfTrailingZeros(BINS);
+    private static final long VALUE_MASK = (1L << BIN_SHIFT) - 1;
+    // 比这短的序列不用草图判断
+    static final int MIN_TOKENS = 16;
+    // about three standard errors of the estimate with 64 bins
+    static final double MARGIN = 0.15;
+
+    private static volatile Mode mode = parseMode(System.getProperty(SKETCH_MODE_PROPERTY));
+
+    private static final LongAdder checked = new LongAdder();
+    private static final LongAdder rejected = new LongAdder();
+    private static final LongAdder verified = new LongAdder();
+    private static final LongAdder falseRejects = new LongAdder();
+
+    private final long[] mins;
+    private final int length;
+
+    private TokenSketch(long[] mins, int length) {
+        this.mins = mins;
+        this.length = length;
+    }
+
+    static Mode parseMode(String value) {
+        if (value == null || value.isBlank()) {
+            return Mode.OFF;
+        }
+        try {
+            return Mode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown " + SKETCH_MODE_PROPERTY + ": " + value, e);
+        }
+    }
+
+    public static Mode getMode() {
+        return mode;
+    }
+
+    public static void setMode(Mode newMode) {
+        mode = newMode;
+    }
+
+    public static TokenSketch of(int[] tokenIds) {
+        long[] mins = new long[BINS];
+        Arrays.fill(mins, Long.MAX_VALUE);
+        int[] sorted = tokenIds.clone();
+        Arrays.sort(sorted);
+        int occurrence = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            occurrence = i > 0 && sorted[i] == sorted[i - 1] ? occurrence + 1 : 0;
+            long hash = hash(sorted[i], occurrence);
+            int bin = (int) (hash >>> BIN_SHIFT);
+            long value = hash & VALUE_MASK;
+            if (value < mins[bin]) {
+                mins[bin] = value;
+            }
+        }
+        return new TokenSketch(mins, tokenIds.length);
+    }
+
+    private static long hash(int tokenId, int occurrence) {
+        long hash = ((long) tokenId << 32) | (occurrence & 0xFFFFFFFFL);
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return estimated Jaccard similarity of the two token multisets
+     */
+    public double estimateJaccard(TokenSketch other) {
+        int union = 0;
+        int same = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            boolean empty = mins[bin] == Long.MAX_VALUE;
+            boolean otherEmpty = other.mins[bin] == Long.MAX_VALUE;
+            if (empty && otherEmpty) {
+                continue;
+            }
+            union++;
+            if (mins[bin] == other.mins[bin]) {
+                same++;
+            }
+        }
+        return union == 0 ? 1.0 : (double) same / union;
+    }
+
+    /**
+     * @return whether 2*lcs/(|a|+|b|) may exceed minSimilarity
+     */
+    public boolean mayReach(TokenSketch other, double minSimilarity) {
+        return !exceedsLengthBound(other, minSimilarity) && !rejectedBySketch(other, minSimilarity);
+    }
+
+    // lcs不超过较短序列的长度, an exact bound
+    private boolean exceedsLengthBound(TokenSketch other, double minSimilarity) {
+        int total = length + other.length;
+        return total > 0 && 2.0 * Math.min(length, other.length) / total <= minSimilarity;
+    }
+
+    private boolean rejectedBySketch(TokenSketch other, double minSimilarity) {
+        if (length < MIN_TOKENS || other.length < MIN_TOKENS) {
+            return false;
+        }
+        double jaccard = estimateJaccard(other);
+        return 2 * jaccard / (1 + jaccard) + MARGIN <= minSimilarity;
+    }
+
+    /**
+     * Applies the current mode and counts the decision.
+     * @param exactSimilarity computes the exact similarity, only called in VERIFY mode for a pair the sketch rejects
+     */
+    public boolean mayReach(TokenSketch other, double minSimilarity, DoubleSupplier exactSimilarity) {
+        Mode current = mode;
+        if (current == Mode.OFF) {
+            return true;
+        }
+        checked.increment();
+        if (exceedsLengthBound(other, minSimilarity)) {
+            rejected.increment();
+            return false;
+        }
+        if (!rejectedBySketch(other, minSimilarity)) {
+            return true;
+        }
+        rejected.increment();
+        if (current == Mode.VERIFY) {
+            // 只统计, 仍然计算精确的LCS
+            verified.increment();
+            if (exactSimilarity.getAsDouble() > minSimilarity) {
+                falseRejects.increment();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    public static long getChecked() {
+        return checked.sum();
+    }
+
+    public static long getRejected() {
+        return rejected.sum();
+    }
+
+    public static long getFalseRejects() {
+        return falseRejects.sum();
+    }
+
+    /**
+     * @return false rejects among the pairs rejected by the sketch in VERIFY mode
+     */
+    public static double getFalseRejectRate() {
+        long total = verified.sum();
+        return total == 0 ? 0.0 : (double) falseRejects.sum() / total;
+    }
+
+    public static void resetStatistics() {
+        checked.reset();
+        rejected.reset();
+        verified.reset();
+        falseRejects.reset();
+    }
+
+    public static String statistics() {
+        return String.format("TokenSketch{mode=%s, checked=%d, rejected=%d, verified=%d, falseRejects=%d, falseRejectRate=%.4f}",
+                mode, getChecked(), getRejected(), verified.sum(), getFalseRejects(), getFalseRejectRate());
+    }
+}
@@ -176,15 +176,11 @@ public abstract class MoNode implements Visitable, Serializable, NodeComparator
      * @return : source code string
      */
     public String toSrcString() {
-        CodePrinter codePrinter = new CodePrinter();
-        codePrinter.scan(this);
-        return codePrinter.getCode();
+        return CodePrinter.printToString(this);
     }
 
     public List<String> tokens() {
-        TokenizeScanner scanner = new TokenizeScanner();
-        scanner.scan(this);
-        return scanner.getTokens();
+        return TokenizeScanner.tokenize(this);
     }
 
     public void removeFromParent() {
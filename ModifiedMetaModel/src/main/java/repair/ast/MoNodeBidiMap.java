@@ -0,0 +1,349 @@
+package repair.ast;
+
+import org.apache.commons.collections4.BidiMap;
+import org.apache.commons.collections4.MapIterator;
+import org.apache.commons.collections4.bidimap.DualHashBidiMap;
+import org.apache.commons.collections4.iterators.EntrySetToMapIteratorAdapter;
+
+import java.util.*;
+
+/**
+ * Bidirectional node map backed by arrays indexed by node id.
+ * A parsed tree and its copy both take consecutive ids from the node counter, so the arrays stay dense
+ * and a pair costs two array slots on each side instead of two hash entries.
+ * When ids become sparse, or two different nodes share an id (e.g. nodes of a deserialized pattern),
+ * the map switches to a {@link DualHashBidiMap} holding the same pairs.
+ */
+public class MoNodeBidiMap extends AbstractMap<MoNode, MoNode> implements BidiMap<MoNode, MoNode> {
+
+    private static final class Shared {
+        private IdSlots keySlots = new IdSlots();
+        private IdSlots valueSlots = new IdSlots();
+        private DualHashBidiMap<MoNode, MoNode> fallback = null;
+    }
+
+    private final Shared shared;
+    private final boolean inverted;
+    private MoNodeBidiMap inverse = null;
+
+    public MoNodeBidiMap() {
+        this(new Shared(), false);
+    }
+
+    private MoNodeBidiMap(Shared shared, boolean inverted) {
+        this.shared = shared;
+        this.inverted = inverted;
+    }
+
+    private IdSlots keySide() {
+        return inverted ? shared.valueSlots : shared.keySlots;
+    }
+
+    private IdSlots valueSide() {
+        return inverted ? shared.keySlots : shared.valueSlots;
+    }
+
+    private BidiMap<MoNode, MoNode> fallback() {
+        return inverted ? shared.fallback.inverseBidiMap() : shared.fallback;
+    }
+
+    private boolean isFallback() {
+        return shared.fallback != null;
+    }
+
+    private void switchToFallback() {
+        DualHashBidiMap<MoNode, MoNode> fallback = new DualHashBidiMap<>();
+        IdSlots keySlots = shared.keySlots;
+        for (int i = 0; i < keySlots.nodes.length; i++) {
+            if (keySlots.nodes[i] != null) {
+                fallback.put(keySlots.nodes[i], keySlots.partners[i]);
+            }
+        }
+        shared.fallback = fallback;
+        shared.keySlots = null;
+        shared.valueSlots = null;
+    }
+
+    @Override
+    public int size() {
+        return isFallback() ? shared.fallback.size() : shared.keySlots.size;
+    }
+
+    @Override
+    public MoNode get(Object key) {
+        return isFallback() ? fallback().get(key) : keySide().partnerOf(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return isFallback() ? fallback().containsKey(key) : keySide().partnerOf(key) != null;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return isFallback() ? fallback().containsValue(value) : valueSide().partnerOf(value) != null;
+    }
+
+    @Override
+    public MoNode getKey(Object value) {
+        return isFallback() ? fallback().getKey(value) : valueSide().partnerOf(value);
+    }
+
+    @Override
+    public MoNode put(MoNode key, MoNode value) {
+        if (!isFallback() && (key == null || value == null
+                || keySide().occupiedByOther(key) || valueSide().occupiedByOther(value))) {
+            switchToFallback();
+        }
+        if (isFallback()) {
+            return fallback().put(key, value);
+        }
+
+        IdSlots keySide = keySide();
+        IdSlots valueSide = valueSide();
+        MoNode oldValue = keySide.partnerOf(key);
+        MoNode oldKey = valueSide.partnerOf(value);
+        if (!keySide.reserve(key.getId()) || !valueSide.reserve(value.getId())) {
+            switchToFallback();
+            return fallback().put(key, value);
+        }
+
+        if (oldValue != null) {
+            valueSide.remove(oldValue);
+        }
+        if (oldKey != null) {
+            keySide.remove(oldKey);
+        }
+        keySide.set(key, value);
+        valueSide.set(value, key);
+        return oldValue;
+    }
+
+    @Override
+    public MoNode remove(Object key) {
+        if (isFallback()) {
+            return fallback().remove(key);
+        }
+        MoNode value = keySide().partnerOf(key);
+        if (value != null) {
+            keySide().remove((MoNode) key);
+            valueSide().remove(value);
+        }
+        return value;
+    }
+
+    @Override
+    public MoNode removeValue(Object value) {
+        if (isFallback()) {
+            return fallback().removeValue(value);
+        }
+        MoNode key = valueSide().partnerOf(value);
+        if (key != null) {
+            keySide().remove(key);
+            valueSide().remove((MoNode) value);
+        }
+        return key;
+    }
+
+    @Override
+    public void clear() {
+        shared.keySlots = new IdSlots();
+        shared.valueSlots = new IdSlots();
+        shared.fallback = null;
+    }
+
+    @Override
+    public BidiMap<MoNode, MoNode> inverseBidiMap() {
+        if (inverse == null) {
+            inverse = new MoNodeBidiMap(shared, !inverted);
+            inverse.inverse = this;
+        }
+        return inverse;
+    }
+
+    @Override
+    public MapIterator<MoNode, MoNode> mapIterator() {
+        return new EntrySetToMapIteratorAdapter<>(entrySet());
+    }
+
+    @Override
+    public Set<Entry<MoNode, MoNode>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<MoNode, MoNode>> iterator() {
+                if (isFallback()) {
+                    return fallback().entrySet().iterator();
+                }
+                return new SlotIterator<>(keySide()) {
+                    @Override
+                    Entry<MoNode, MoNode> element(MoNode node, MoNode partner) {
+                        return new SimpleImmutableEntry<>(node, partner);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return MoNodeBidiMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<MoNode> values() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<MoNode> iterator() {
+                if (isFallback()) {
+                    return fallback().values().iterator();
+                }
+                return new SlotIterator<>(valueSide()) {
+                    @Override
+                    MoNode element(MoNode node, MoNode partner) {
+                        return node;
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsValue(o);
+            }
+
+            @Override
+            public int size() {
+                return MoNodeBidiMap.this.size();
+            }
+        };
+    }
+
+    private abstract class SlotIterator<E> implements Iterator<E> {
+        private final IdSlots slots;
+        private int next = -1;
+        private int current = -1;
+
+        SlotIterator(IdSlots slots) {
+            this.slots = slots;
+            advance();
+        }
+
+        private void advance() {
+            next++;
+            while (next < slots.nodes.length && slots.nodes[next] == null) {
+                next++;
+            }
+        }
+
+        abstract E element(MoNode node, MoNode partner);
+
+        @Override
+        public boolean hasNext() {
+            return next < slots.nodes.length;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            E element = element(slots.nodes[current], slots.partners[current]);
+            advance();
+            return element;
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0 || slots.nodes[current] == null) {
+                throw new IllegalStateException();
+            }
+            // removing the current pair only clears its slot, the scan position stays valid
+            if (slots == keySide()) {
+                MoNodeBidiMap.this.remove(slots.nodes[current]);
+            } else {
+                MoNodeBidiMap.this.removeValue(slots.nodes[current]);
+            }
+            current = -1;
+        }
+    }
+
+    /**
+     * node and partner arrays, slot i holds the node whose id is base + i
+     */
+    private static final class IdSlots {
+        private static final MoNode[] EMPTY = new MoNode[0];
+        // ids spread wider than this (relative to the number of pairs) are left to the hash map
+        private static final int SPARSE_FACTOR = 4;
+        private static final int SPARSE_SLACK = 1024;
+
+        private MoNode[] nodes = EMPTY;
+        private MoNode[] partners = EMPTY;
+        private int base = 0;
+        private int size = 0;
+
+        private int indexOf(MoNode node) {
+            int index = node.getId() - base;
+            return index >= 0 && index < nodes.length ? index : -1;
+        }
+
+        MoNode partnerOf(Object object) {
+            if (!(object instanceof MoNode node)) {
+                return null;
+            }
+            int index = indexOf(node);
+            return index >= 0 && nodes[index] == node ? partners[index] : null;
+        }
+
+        boolean occupiedByOther(MoNode node) {
+            int index = indexOf(node);
+            return index >= 0 && nodes[index] != null && nodes[index] != node;
+        }
+
+        /**
+         * make room for the id, false if the slots would become too sparse
+         */
+        boolean reserve(int id) {
+            if (nodes.length == 0) {
+                base = id;
+                nodes = new MoNode[16];
+                partners = new MoNode[16];
+                return true;
+            }
+            if (id >= base && id < base + nodes.length) {
+                return true;
+            }
+            int newBase = Math.min(base, id);
+            long span = (long) Math.max(base + nodes.length, id + 1) - newBase;
+            if (span > (long) SPARSE_FACTOR * (size + 1) + SPARSE_SLACK) {
+                return false;
+            }
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(span, 2L * nodes.length));
+            MoNode[] newNodes = new MoNode[capacity];
+            MoNode[] newPartners = new MoNode[capacity];
+            System.arraycopy(nodes, 0, newNodes, base - newBase, nodes.length);
+            System.arraycopy(partners, 0, newPartners, base - newBase, partners.length);
+            nodes = newNodes;
+            partners = newPartners;
+            base = newBase;
+            return true;
+        }
+
+        void set(MoNode node, MoNode partner) {
+            int index = node.getId() - base;
+            if (nodes[index] == null) {
+                size++;
+            }
+            nodes[index] = node;
+            partners[index] = partner;
+        }
+
+        void remove(MoNode node) {
+            int index = indexOf(node);
+            if (index >= 0 && nodes[index] == node) {
+                nodes[index] = null;
+                partners[index] = null;
+                size--;
+            }
+        }
+    }
+}
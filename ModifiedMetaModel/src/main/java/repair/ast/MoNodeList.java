@@ -72,6 +72,21 @@ public class MoNodeList<V> extends AbstractList<V> implements Serializable {
         return true;
     }
 
+    /**
+     * add a child that stays owned by another tree, its parent is not changed (copy-on-write sharing)
+     */
+    public void addShared(V sharedChild) {
+        this.store.add(sharedChild);
+    }
+
+    /**
+     * replace a shared child by its copy, the shared child keeps its parent in the other tree
+     */
+    public void replaceShared(int index, V newChild) {
+        ((MoNode) newChild).setParent(parent, this.description);
+        this.store.set(index, newChild);
+    }
+
     @Override
     public boolean remove(Object o) {
         if (o instanceof MoNode) {
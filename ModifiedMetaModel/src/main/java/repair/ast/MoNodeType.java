@@ -118,6 +118,14 @@ public enum MoNodeType {
         this.JDTIndex = JDTIndex;
     }
 
+    public String getNodeType() {
+        return nodeType;
+    }
+
+    public int getJDTIndex() {
+        return JDTIndex;
+    }
+
     @Override
     public String toString() {
         return "JDTIndex: " + JDTIndex + "\n" +
@@ -0,0 +1,76 @@
+package repair.ast;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Precomputed classification tables over {@link MoNodeType}.
+ * Every concrete node class sets exactly one node type, so a lookup on the type ordinal
+ * is equivalent to the former instanceof chains but costs a single bit test.
+ */
+public final class MoNodeTypeTable {
+
+    private MoNodeTypeTable() {
+    }
+
+    /**
+     * parent types in which a SimpleName child is regarded as an identifier use
+     */
+    private static final EnumSet<MoNodeType> identifierUseParentTypes = EnumSet.of(
+            MoNodeType.TYPEArrayAccess,
+            MoNodeType.TYPEAssignment,
+            MoNodeType.TYPECastExpression,
+            MoNodeType.TYPEClassInstanceCreation,
+            MoNodeType.TYPEPostfixExpression,
+            MoNodeType.TYPEPrefixExpression,
+            MoNodeType.TYPEConditionalExpression,
+            MoNodeType.TYPEConstructorInvocation,
+            MoNodeType.TYPEDoStatement,
+            MoNodeType.TYPEFieldAccess,
+            MoNodeType.TYPEIfStatement,
+            MoNodeType.TYPEMethodInvocationArguments,
+            MoNodeType.TYPEReturnStatement,
+            MoNodeType.TYPESuperConstructorInvocation,
+            MoNodeType.TYPESuperFieldAccess,
+            MoNodeType.TYPESuperMethodInvocation,
+            MoNodeType.TYPESynchronizedStatement,
+            MoNodeType.TYPEThisExpression,
+            MoNodeType.TYPEInstanceofExpression,
+            MoNodeType.TYPEExpressionMethodReference,
+            MoNodeType.TYPESuperMethodReference,
+            MoNodeType.TYPETypeMethodReference
+    );
+
+    /**
+     * control structure types, a moved node is only kept in the not-logic when its new parent is one of them
+     */
+    private static final EnumSet<MoNodeType> structureTypes = EnumSet.of(
+            MoNodeType.TYPEIfStatement,
+            MoNodeType.TYPETryStatement,
+            MoNodeType.TYPEForStatement,
+            MoNodeType.TYPEWhileStatement,
+            MoNodeType.TYPECatchClause,
+            MoNodeType.TYPEEnhancedForStatement,
+            MoNodeType.TYPESynchronizedStatement,
+            MoNodeType.TYPEBlock,
+            MoNodeType.TYPEDoStatement,
+            MoNodeType.TYPESwitchStatement
+    );
+
+    public static boolean isIdentifierUseParent(MoNode parent) {
+        return parent != null && identifierUseParentTypes.contains(parent.getMoNodeType());
+    }
+
+    public static boolean isStructureNode(MoNode node) {
+        return node != null && structureTypes.contains(node.getMoNodeType());
+    }
+
+    public static Set<MoNodeType> getIdentifierUseParentTypes() {
+        return Collections.unmodifiableSet(identifierUseParentTypes);
+    }
+
+    public static Set<MoNodeType> getStructureTypes() {
+        return Collections.unmodifiableSet(structureTypes);
+    }
+}
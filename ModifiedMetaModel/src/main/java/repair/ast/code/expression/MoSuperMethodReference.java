@@ -47,7 +47,7 @@ public class MoSuperMethodReference extends MoMethodReference {
 
     public MoSuperMethodReference(Path fileName, int startLine, int endLine, SuperMethodReference superMethodReference) {
         super(fileName, startLine, endLine, superMethodReference);
-        moNodeType = MoNodeType.TYPEExpressionMethodReference;
+        moNodeType = MoNodeType.TYPESuperMethodReference;
         super.typeArguments = new MoNodeList<>(this, typeArgumentsDescription);
     }
 
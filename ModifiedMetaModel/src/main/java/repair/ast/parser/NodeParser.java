@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import repair.ast.MoCompilationUnit;
 import repair.ast.MoNode;
+import repair.ast.MoNodeTypeTable;
 import org.eclipse.jdt.core.dom.*;
 import repair.ast.analysis.IdentifierManager;
 import repair.ast.analysis.VariableDef;
@@ -2373,58 +2374,12 @@ public class NodeParser extends ASTVisitor {
     }
 
     /**
-     * judge whether the SimpleName is an identifier use
+     * judge whether the SimpleName is an identifier use, by the node type of its parent
      * @param simpleName the SimpleName node
      * @return true if it is an identifier use, false otherwise
      */
     private boolean isIdentifierUse(MoSimpleName simpleName) {
-        if(simpleName.getParent() instanceof MoArrayAccess) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoAssignment) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoCastExpression) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoClassInstanceCreation) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoPostfixExpression) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoPrefixExpression) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoConditionalExpression) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoConstructorInvocation) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoDoStatement) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoFieldAccess) {
-            return true;
-        } else if(simpleName.getParent() instanceof MoIfStatement) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoMethodInvocationArguments) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoReturnStatement) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoSuperConstructorInvocation) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoSuperFieldAccess) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoSuperMethodInvocation) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoSynchronizedStatement) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoThisExpression) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoInstanceofExpression) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoExpressionMethodReference) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoSuperMethodReference) {
-            return true;
-        } else if (simpleName.getParent() instanceof MoTypeMethodReference) {
-            return true;
-        } else {
-            return false;
-        }
+        return MoNodeTypeTable.isIdentifierUseParent(simpleName.getParent());
     }
 }
 
@@ -0,0 +1,165 @@
+package repair.ast.role;
+
+import repair.ast.MoCompilationUnit;
+import repair.ast.MoNode;
+import repair.ast.code.*;
+import repair.ast.code.expression.*;
+import repair.ast.code.expression.literal.*;
+import repair.ast.code.statement.*;
+import repair.ast.code.type.*;
+import repair.ast.code.virtual.*;
+import repair.ast.declaration.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ordered child roles of each node class, used by the table-driven scanners.
+ * The order is explicit, it decides the order of flatten, copy and gumtree traversal and so the diff results.
+ * It is the declaration order of the CHILD and CHILDLIST {@link Description} fields of each class, except where
+ * noted, kept identical to the hand-written DeepScanner. SIMPLE properties are copied by shallowClone.
+ * ChildRoleTableTest checks that every class lists exactly its child descriptions.
+ * <p>
+ * Keyed by class rather than MoNodeType.
+ */
+public final class ChildRoleTable {
+
+    private ChildRoleTable() {
+    }
+
+    // 静态初始化, immutable after class initialization
+    private static final Map<Class<? extends MoNode>, String[]> rolesByClass = Map.ofEntries(
+            Map.entry(MoAnonymousClassDeclaration.class, new String[]{"bodyDeclarations"}),
+            Map.entry(MoArrayAccess.class, new String[]{"array", "index"}),
+            Map.entry(MoArrayCreation.class, new String[]{"type", "dimensions", "initializer"}),
+            Map.entry(MoArrayInitializer.class, new String[]{"expressions"}),
+            Map.entry(MoArrayType.class, new String[]{"elementType", "dimensions"}),
+            Map.entry(MoAssertStatement.class, new String[]{"expression", "message"}),
+            Map.entry(MoAssignment.class, new String[]{"leftHandSide", "operator", "rightHandSide"}),
+            Map.entry(MoAssignmentOperator.class, new String[]{}),
+            Map.entry(MoBlock.class, new String[]{"statements"}),
+            Map.entry(MoBlockComment.class, new String[]{}),
+            Map.entry(MoBooleanLiteral.class, new String[]{}),
+            Map.entry(MoBreakStatement.class, new String[]{"label"}),
+            Map.entry(MoCastExpression.class, new String[]{"type", "expression"}),
+            Map.entry(MoCatchClause.class, new String[]{"exception", "body"}),
+            Map.entry(MoCharacterLiteral.class, new String[]{}),
+            Map.entry(MoClassInstanceCreation.class, new String[]{"typeArguments", "type", "expression", "arguments", "anonymousClassDeclaration"}),
+            Map.entry(MoCompilationUnit.class, new String[]{"package", "imports", "types"}),
+            Map.entry(MoConditionalExpression.class, new String[]{"expression", "thenExpression", "elseExpression"}),
+            Map.entry(MoConstructorInvocation.class, new String[]{"typeArguments", "arguments"}),
+            Map.entry(MoContinueStatement.class, new String[]{"label"}),
+            Map.entry(MoCreationReference.class, new String[]{"typeArguments", "type"}),
+            Map.entry(MoDimension.class, new String[]{"annotations"}),
+            Map.entry(MoDoStatement.class, new String[]{"body", "expression"}),
+            Map.entry(MoEmptyStatement.class, new String[]{}),
+            Map.entry(MoEnhancedForStatement.class, new String[]{"parameter", "expression", "body"}),
+            Map.entry(MoEnumConstantDeclaration.class, new String[]{"javadoc", "modifiers", "name", "arguments", "anonymousClassDeclaration"}),
+            // source order
+            Map.entry(MoEnumDeclaration.class, new String[]{"javadoc", "modifiers", "name", "superInterfaceTypes", "enumConstants", "bodyDeclarations"}),
+            Map.entry(MoExpressionMethodReference.class, new String[]{"expression", "typeArguments", "name"}),
+            Map.entry(MoExpressionStatement.class, new String[]{"expression"}),
+            Map.entry(MoFieldAccess.class, new String[]{"expression", "name"}),
+            Map.entry(MoFieldDeclaration.class, new String[]{"javadoc", "modifiers", "type", "fragments"}),
+            Map.entry(MoForStatement.class, new String[]{"initializers", "expression", "updaters", "body"}),
+            Map.entry(MoIfStatement.class, new String[]{"expression", "thenStatement", "elseStatement"}),
+            Map.entry(MoImportDeclaration.class, new String[]{"name"}),
+            Map.entry(MoInfixExpression.class, new String[]{"leftOperand", "operator", "rightOperand", "extendedOperands"}),
+            Map.entry(MoInfixOperator.class, new String[]{}),
+            Map.entry(MoInitializer.class, new String[]{"javadoc", "modifiers", "body"}),
+            Map.entry(MoInstanceofExpression.class, new String[]{"leftOperand", "rightOperand"}),
+            Map.entry(MoIntersectionType.class, new String[]{"types"}),
+            Map.entry(MoJavadoc.class, new String[]{"tags"}),
+            Map.entry(MoLabeledStatement.class, new String[]{"label", "body"}),
+            Map.entry(MoLambdaExpression.class, new String[]{"parameters", "body"}),
+            Map.entry(MoLineComment.class, new String[]{}),
+            Map.entry(MoMarkerAnnotation.class, new String[]{"typeName"}),
+            Map.entry(MoMemberValuePair.class, new String[]{"name", "value"}),
+            Map.entry(MoMethodDeclaration.class, new String[]{"javadoc", "modifiers", "name", "returnType2", "typeParameters", "parameters", "thrownExceptionTypes", "body"}),
+            Map.entry(MoMethodInvocation.class, new String[]{"expression", "typeArguments", "name", "arguments"}),
+            Map.entry(MoMethodInvocationArguments.class, new String[]{"arguments"}),
+            Map.entry(MoMethodInvocationTarget.class, new String[]{"expression"}),
+            Map.entry(MoModifier.class, new String[]{}),
+            Map.entry(MoNameQualifiedType.class, new String[]{"annotations", "qualifier", "name"}),
+            Map.entry(MoNormalAnnotation.class, new String[]{"typeName", "values"}),
+            Map.entry(MoNullLiteral.class, new String[]{}),
+            Map.entry(MoNumberLiteral.class, new String[]{}),
+            Map.entry(MoPackageDeclaration.class, new String[]{"javadoc", "annotations", "name"}),
+            Map.entry(MoParameterizedType.class, new String[]{"type", "typeArguments"}),
+            Map.entry(MoParenthesizedExpression.class, new String[]{"expression"}),
+            Map.entry(MoPostfixExpression.class, new String[]{"operand", "operator"}),
+            Map.entry(MoPostfixOperator.class, new String[]{}),
+            Map.entry(MoPrefixExpression.class, new String[]{"operator", "operand"}),
+            Map.entry(MoPrefixOperator.class, new String[]{}),
+            // type annotations are not scanned
+            Map.entry(MoPrimitiveType.class, new String[]{}),
+            // 参考gen.jdt的实现, 不对QualifiedName的子节点进行处理
+            Map.entry(MoQualifiedName.class, new String[]{}),
+            Map.entry(MoQualifiedType.class, new String[]{"annotations", "qualifier", "name"}),
+            Map.entry(MoReturnStatement.class, new String[]{"expression"}),
+            Map.entry(MoSimpleName.class, new String[]{}),
+            // type annotations are not scanned
+            Map.entry(MoSimpleType.class, new String[]{"name"}),
+            Map.entry(MoSingleMemberAnnotation.class, new String[]{"typeName", "value"}),
+            Map.entry(MoSingleVariableDeclaration.class, new String[]{"name", "extraDimensions2", "initializer", "modifiers", "type", "varargsAnnotations"}),
+            Map.entry(MoStringLiteral.class, new String[]{}),
+            Map.entry(MoSuperConstructorInvocation.class, new String[]{"expression", "typeArguments", "arguments"}),
+            Map.entry(MoSuperFieldAccess.class, new String[]{"qualifier", "name"}),
+            Map.entry(MoSuperMethodInvocation.class, new String[]{"qualifier", "typeArguments", "name", "arguments"}),
+            Map.entry(MoSuperMethodReference.class, new String[]{"qualifier", "typeArguments", "name"}),
+            Map.entry(MoSwitchCase.class, new String[]{"expression"}),
+            Map.entry(MoSwitchStatement.class, new String[]{"expression", "statements"}),
+            Map.entry(MoSynchronizedStatement.class, new String[]{"expression", "body"}),
+            Map.entry(MoTagElement.class, new String[]{"fragments"}),
+            Map.entry(MoTextElement.class, new String[]{}),
+            Map.entry(MoThisExpression.class, new String[]{"qualifier"}),
+            Map.entry(MoThrowStatement.class, new String[]{"expression"}),
+            Map.entry(MoTryStatement.class, new String[]{"resources", "body", "catchClauses", "finally"}),
+            Map.entry(MoTypeDeclaration.class, new String[]{"javadoc", "modifiers", "name", "bodyDeclarations", "superclassType", "superInterfaceTypes", "typeParameters"}),
+            Map.entry(MoTypeDeclarationStatement.class, new String[]{"declaration"}),
+            Map.entry(MoTypeLiteral.class, new String[]{"type"}),
+            Map.entry(MoTypeMethodReference.class, new String[]{"type", "typeArguments", "name"}),
+            Map.entry(MoTypeParameter.class, new String[]{"modifiers", "name", "typeBounds"}),
+            Map.entry(MoUnionType.class, new String[]{"types"}),
+            Map.entry(MoVariableDeclarationExpression.class, new String[]{"modifiers", "type", "fragments"}),
+            Map.entry(MoVariableDeclarationFragment.class, new String[]{"name", "extraDimensions2", "initializer"}),
+            Map.entry(MoVariableDeclarationStatement.class, new String[]{"modifiers", "type", "fragments"}),
+            Map.entry(MoWhileStatement.class, new String[]{"expression", "body"}),
+            Map.entry(MoWildcardType.class, new String[]{"annotations", "bound"})
+    );
+
+    public static String[] getChildRoles(MoNode node) {
+        String[] roles = rolesByClass.get(node.getClass());
+        if (roles == null) {
+            throw new IllegalStateException("No child roles for " + node.getClass().getSimpleName());
+        }
+        return roles;
+    }
+
+    static Set<Class<? extends MoNode>> getNodeClasses() {
+        return rolesByClass.keySet();
+    }
+
+    static String[] getChildRoles(Class<? extends MoNode> nodeClass) {
+        return rolesByClass.get(nodeClass);
+    }
+
+    /**
+     * append the direct children of node to children, in traversal order, skipping absent optional children
+     */
+    public static void collectChildren(MoNode node, List<MoNode> children) {
+        for (String role : getChildRoles(node)) {
+            Object child = node.getStructuralProperty(role);
+            if (child instanceof MoNode moNode) {
+                children.add(moNode);
+            } else if (child instanceof List<?> list) {
+                for (Object element : list) {
+                    if (element instanceof MoNode moNode) {
+                        children.add(moNode);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -12,14 +12,55 @@ import repair.ast.code.type.*;
 import repair.ast.code.virtual.*;
 import repair.ast.declaration.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 
 public class CodePrinter implements Visitor {
     private static final Logger logger = LoggerFactory.getLogger(CodePrinter.class);
     public final static String NEW_LINE = "\n";
-    private final StringBuilder codeBuilder = new StringBuilder();
+    // pooled builders are reused by printToString, oversized ones are dropped
+    private static final int MAX_POOLED_CAPACITY = 1 << 16;
+    private static final int MAX_POOLED_BUILDERS = 4;
+    private static final ThreadLocal<Deque<StringBuilder>> builderPool = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final Appendable out;
+    // same as out when printing to a StringBuilder, appended directly without IOException handling
+    private final StringBuilder codeBuilder;
     public CodePrinter() {
+        this(new StringBuilder());
+    }
+
+    public CodePrinter(Appendable out) {
         super();
+        this.out = out;
+        this.codeBuilder = out instanceof StringBuilder builder ? builder : null;
+    }
+
+    /**
+     * print the source code of node straight into out, e.g. a Writer of the output file
+     */
+    public static void print(MoNode node, Appendable out) {
+        new CodePrinter(out).scan(node);
+    }
+
+    /**
+     * print the source code of node with a pooled StringBuilder of the current thread
+     */
+    public static String printToString(MoNode node) {
+        Deque<StringBuilder> pool = builderPool.get();
+        StringBuilder builder = pool.isEmpty() ? new StringBuilder() : pool.pop();
+        try {
+            print(node, builder);
+            return builder.toString();
+        } finally {
+            if (builder.capacity() <= MAX_POOLED_CAPACITY && pool.size() < MAX_POOLED_BUILDERS) {
+                builder.setLength(0);
+                pool.push(builder);
+            }
+        }
     }
 
     public void scan(String role, MoNode moNode) {
@@ -33,11 +74,19 @@ public class CodePrinter implements Visitor {
     }
 
     public String getCode() {
-        return codeBuilder.toString();
+        return codeBuilder != null ? codeBuilder.toString() : out.toString();
     }
 
     protected CodePrinter write(String value) {
-        codeBuilder.append(value);
+        if (codeBuilder != null) {
+            codeBuilder.append(value);
+            return this;
+        }
+        try {
+            out.append(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
         return this;
     }
 
@@ -10,6 +10,8 @@ import repair.ast.code.type.*;
 import repair.ast.code.virtual.*;
 import repair.ast.declaration.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -26,6 +28,21 @@ public class DeepScanner implements Visitor{
     protected void exit(MoNode moNode) {
     }
 
+    /*
+     * Explicit-stack traversal core.
+     * While a visit method runs inside the traversal, scan() only collects the children it is asked for;
+     * the children and a pending exit are then pushed onto the work stack instead of being visited recursively,
+     * so the java stack depth stays constant however deep the tree is.
+     * The order of enter/exit callbacks is the same as a recursive pre-order walk.
+     */
+    private MoNode[] workNodes = new MoNode[64];
+    private boolean[] workExits = new boolean[64];
+    private int workSize = 0;
+    private final List<MoNode> childBuffer = new ArrayList<>();
+    // not null while a visit method is running inside the traversal
+    private List<MoNode> collecting = null;
+    private boolean exitPending = false;
+
     public void scan(String role, Collection<? extends MoNode> nodes) {
         if(nodes == null || nodes.isEmpty()) return;
         for (MoNode moNode : nodes) {
@@ -38,8 +55,72 @@ public class DeepScanner implements Visitor{
     }
 
     public void scan(MoNode element) {
-        if (element != null) {
-            element.accept(this);
+        if (element == null) {
+            return;
+        }
+        if (collecting != null) {
+            collecting.add(element);
+            return;
+        }
+        traverse(element);
+    }
+
+    private void traverse(MoNode root) {
+        int base = workSize;
+        try {
+            push(root, false);
+            while (workSize > base) {
+                workSize--;
+                MoNode node = workNodes[workSize];
+                boolean isExit = workExits[workSize];
+                workNodes[workSize] = null;
+                if (isExit) {
+                    exit(node);
+                    continue;
+                }
+
+                collecting = childBuffer;
+                exitPending = false;
+                try {
+                    node.accept(this);
+                } finally {
+                    collecting = null;
+                }
+                if (exitPending) {
+                    push(node, true);
+                }
+                for (int i = childBuffer.size() - 1; i >= 0; i--) {
+                    push(childBuffer.get(i), false);
+                }
+                childBuffer.clear();
+            }
+        } finally {
+            while (workSize > base) {
+                workNodes[--workSize] = null;
+            }
+            childBuffer.clear();
+        }
+    }
+
+    private void push(MoNode node, boolean isExit) {
+        if (workSize == workNodes.length) {
+            workNodes = Arrays.copyOf(workNodes, workSize * 2);
+            workExits = Arrays.copyOf(workExits, workSize * 2);
+        }
+        workNodes[workSize] = node;
+        workExits[workSize] = isExit;
+        workSize++;
+    }
+
+    /**
+     * called at the end of each visit method, the exit callback is deferred until all scanned children are done
+     */
+    private void leave(MoNode moNode) {
+        if (collecting != null) {
+            exitPending = true;
+        } else {
+            // visited by accept() outside the traversal, children are already done
+            exit(moNode);
         }
     }
 
@@ -51,7 +132,7 @@ public class DeepScanner implements Visitor{
     public void visitMoAnonymousClassDeclaration(MoAnonymousClassDeclaration moAnonymousClassDeclaration) {
         enter(moAnonymousClassDeclaration);
         scan("bodyDeclarations", moAnonymousClassDeclaration.getBodyDeclarations());
-        exit(moAnonymousClassDeclaration);
+        leave(moAnonymousClassDeclaration);
     }
 
     @Override
@@ -59,7 +140,7 @@ public class DeepScanner implements Visitor{
         enter(moArrayAccess);
         scan("array", moArrayAccess.getArray());
         scan("index", moArrayAccess.getIndex());
-        exit(moArrayAccess);
+        leave(moArrayAccess);
     }
 
     @Override
@@ -68,14 +149,14 @@ public class DeepScanner implements Visitor{
         scan("type", moArrayCreation.getType());
         scan("dimensions", moArrayCreation.getDimensionExpressions());
         moArrayCreation.getInitializer().ifPresent(initializer -> scan("initializer", initializer));
-        exit(moArrayCreation);
+        leave(moArrayCreation);
     }
 
     @Override
     public void visitMoArrayInitializer(MoArrayInitializer moArrayInitializer) {
         enter(moArrayInitializer);
         scan("expressions", moArrayInitializer.getExpressions());
-        exit(moArrayInitializer);
+        leave(moArrayInitializer);
     }
 
     @Override
@@ -83,7 +164,7 @@ public class DeepScanner implements Visitor{
         enter(moArrayType);
         scan("elementType", moArrayType.getElementType());
         scan("dimensions", moArrayType.getDimensions());
-        exit(moArrayType);
+        leave(moArrayType);
     }
 
     @Override
@@ -91,7 +172,7 @@ public class DeepScanner implements Visitor{
         enter(moAssertStatement);
         scan("expression", moAssertStatement.getExpression());
         moAssertStatement.getMessage().ifPresent(message -> scan("message", message));
-        exit(moAssertStatement);
+        leave(moAssertStatement);
     }
 
     @Override
@@ -100,28 +181,28 @@ public class DeepScanner implements Visitor{
         scan("leftHandSide", moAssignment.getLeft());
         scan("operator", moAssignment.getOperator());
         scan("rightHandSide", moAssignment.getRight());
-        exit(moAssignment);
+        leave(moAssignment);
     }
 
     @Override
     public void visitMoBlock(MoBlock moBlock) {
         enter(moBlock);
         scan("statements", moBlock.getStatements());
-        exit(moBlock);
+        leave(moBlock);
     }
 
     @Override
     public void visitMoBooleanLiteral(MoBooleanLiteral moBooleanLiteral) {
         enter(moBooleanLiteral);
         scan("booleanValue");
-        exit(moBooleanLiteral);
+        leave(moBooleanLiteral);
     }
 
     @Override
     public void visitMoBreakStatement(MoBreakStatement moBreakStatement) {
         enter(moBreakStatement);
         moBreakStatement.getBreakLabel().ifPresent(label -> scan("label", label));
-        exit(moBreakStatement);
+        leave(moBreakStatement);
     }
 
     @Override
@@ -129,7 +210,7 @@ public class DeepScanner implements Visitor{
         enter(moCastExpression);
         scan("type", moCastExpression.getCastType());
         scan("expression", moCastExpression.getExpression());
-        exit(moCastExpression);
+        leave(moCastExpression);
     }
 
     @Override
@@ -137,14 +218,14 @@ public class DeepScanner implements Visitor{
         enter(moCatchClause);
         scan("exception", moCatchClause.getException());
         scan("body", moCatchClause.getBody());
-        exit(moCatchClause);
+        leave(moCatchClause);
     }
 
     @Override
     public void visitMoCharacterLiteral(MoCharacterLiteral moCharacterLiteral) {
         enter(moCharacterLiteral);
         scan("escapedValue");
-        exit(moCharacterLiteral);
+        leave(moCharacterLiteral);
     }
 
     @Override
@@ -157,7 +238,7 @@ public class DeepScanner implements Visitor{
         moClassInstanceCreation.getAnonymousClassDeclaration().ifPresent(anonymousClassDeclaration -> {
             scan("anonymousClassDeclaration", anonymousClassDeclaration);
         });
-        exit(moClassInstanceCreation);
+        leave(moClassInstanceCreation);
     }
 
     @Override
@@ -166,7 +247,7 @@ public class DeepScanner implements Visitor{
         moCompilationUnit.getPackageDeclaration().ifPresent(packageDeclaration -> scan("package", packageDeclaration));
         scan("imports", moCompilationUnit.getImports());
         scan("types", moCompilationUnit.getTypes());
-        exit(moCompilationUnit);
+        leave(moCompilationUnit);
     }
 
     @Override
@@ -175,7 +256,7 @@ public class DeepScanner implements Visitor{
         scan("expression", moConditionalExpression.getCondition());
         scan("thenExpression", moConditionalExpression.getThenExpression());
         scan("elseExpression", moConditionalExpression.getElseExpression());
-        exit(moConditionalExpression);
+        leave(moConditionalExpression);
     }
 
     @Override
@@ -183,14 +264,14 @@ public class DeepScanner implements Visitor{
         enter(moConstructorInvocation);
         scan("typeArguments", moConstructorInvocation.getArguments());
         scan("arguments", moConstructorInvocation.getArguments());
-        exit(moConstructorInvocation);
+        leave(moConstructorInvocation);
     }
 
     @Override
     public void visitMoContinueStatement(MoContinueStatement moContinueStatement) {
         enter(moContinueStatement);
         moContinueStatement.getContinueLabel().ifPresent(label -> scan("label", label));
-        exit(moContinueStatement);
+        leave(moContinueStatement);
     }
 
     @Override
@@ -198,21 +279,21 @@ public class DeepScanner implements Visitor{
         enter(moDoStatement);
         scan("body", moDoStatement.getBody());
         scan("expression", moDoStatement.getExpression());
-        exit(moDoStatement);
+        leave(moDoStatement);
     }
 
     @Override
     public void visitMoEmptyStatement(MoEmptyStatement moEmptyStatement) {
         enter(moEmptyStatement);
         // do nothing
-        exit(moEmptyStatement);
+        leave(moEmptyStatement);
     }
 
     @Override
     public void visitMoExpressionStatement(MoExpressionStatement moExpressionStatement) {
         enter(moExpressionStatement);
         scan("expression", moExpressionStatement.getExpression());
-        exit(moExpressionStatement);
+        leave(moExpressionStatement);
     }
 
     @Override
@@ -220,7 +301,7 @@ public class DeepScanner implements Visitor{
         enter(moFieldAccess);
         scan("expression", moFieldAccess.getExpression());
         scan("name", moFieldAccess.getName());
-        exit(moFieldAccess);
+        leave(moFieldAccess);
     }
 
     @Override
@@ -230,7 +311,7 @@ public class DeepScanner implements Visitor{
         scanExtendedModifier(moFieldDeclaration.getModifiers());
         scan("type", moFieldDeclaration.getType());
         scan("fragments", moFieldDeclaration.getFragments());
-        exit(moFieldDeclaration);
+        leave(moFieldDeclaration);
     }
 
     @Override
@@ -240,7 +321,7 @@ public class DeepScanner implements Visitor{
         moForStatement.getCondition().ifPresent(condition -> scan("expression", condition));
         scan("updaters", moForStatement.getUpdaters());
         scan("body", moForStatement.getBody());
-        exit(moForStatement);
+        leave(moForStatement);
     }
 
     @Override
@@ -249,7 +330,7 @@ public class DeepScanner implements Visitor{
         scan("expression", moIfStatement.getCondition());
         scan("thenStatement", moIfStatement.getThenStatement());
         moIfStatement.getElseStatement().ifPresent(elseStatement -> scan("elseStatement", elseStatement));
-        exit(moIfStatement);
+        leave(moIfStatement);
     }
 
     @Override
@@ -258,7 +339,7 @@ public class DeepScanner implements Visitor{
         scan("name", moImportDeclaration.getName());
         scan("static");
         scan("onDemand");
-        exit(moImportDeclaration);
+        leave(moImportDeclaration);
     }
 
     @Override
@@ -268,7 +349,7 @@ public class DeepScanner implements Visitor{
         scan("operator", moInfixExpression.getOperator());
         scan("rightOperand", moInfixExpression.getRight());
         scan("extendedOperands", moInfixExpression.getExtendedOperands());
-        exit(moInfixExpression);
+        leave(moInfixExpression);
     }
 
     @Override
@@ -277,14 +358,14 @@ public class DeepScanner implements Visitor{
         moInitializer.getJavadoc().ifPresent(javadoc -> scan("javadoc", javadoc));
         scanExtendedModifier(moInitializer.getModifiers());
         scan("body", moInitializer.getBody());
-        exit(moInitializer);
+        leave(moInitializer);
     }
 
     @Override
     public void visitMoJavadoc(MoJavadoc moJavadoc) {
         enter(moJavadoc);
         scan("tags", moJavadoc.getTagElements());
-        exit(moJavadoc);
+        leave(moJavadoc);
     }
 
     @Override
@@ -292,7 +373,7 @@ public class DeepScanner implements Visitor{
         enter(moLabeledStatement);
         scan("label", moLabeledStatement.getLabel());
         scan("body", moLabeledStatement.getStatement());
-        exit(moLabeledStatement);
+        leave(moLabeledStatement);
     }
 
     @Override
@@ -306,7 +387,7 @@ public class DeepScanner implements Visitor{
         scan("parameters", moMethodDeclaration.getParameters());
         scan("thrownExceptionTypes", moMethodDeclaration.getThrownExceptionTypes());
         moMethodDeclaration.getBody().ifPresent(body -> scan("body", body));
-        exit(moMethodDeclaration);
+        leave(moMethodDeclaration);
     }
 
     @Override
@@ -316,21 +397,21 @@ public class DeepScanner implements Visitor{
         scan("typeArguments", moMethodInvocation.getTypeArguments());
         scan("name", moMethodInvocation.getName());
         moMethodInvocation.getArguments().ifPresent(arguments -> scan("arguments", arguments));
-        exit(moMethodInvocation);
+        leave(moMethodInvocation);
     }
 
     @Override
     public void visitMoNullLiteral(MoNullLiteral moNullLiteral) {
         enter(moNullLiteral);
         scan("nullValue");
-        exit(moNullLiteral);
+        leave(moNullLiteral);
     }
 
     @Override
     public void visitMoNumberLiteral(MoNumberLiteral moNumberLiteral) {
         enter(moNumberLiteral);
         scan("token");
-        exit(moNumberLiteral);
+        leave(moNumberLiteral);
     }
 
     @Override
@@ -339,14 +420,14 @@ public class DeepScanner implements Visitor{
         moPackageDeclaration.getJavadoc().ifPresent(javadoc -> scan("javadoc", javadoc));
         scanExtendedModifier(moPackageDeclaration.getAnnotations());
         scan("name", moPackageDeclaration.getName());
-        exit(moPackageDeclaration);
+        leave(moPackageDeclaration);
     }
 
     @Override
     public void visitMoParenthesizedExpression(MoParenthesizedExpression moParenthesizedExpression) {
         enter(moParenthesizedExpression);
         scan("expression", moParenthesizedExpression.getExpression());
-        exit(moParenthesizedExpression);
+        leave(moParenthesizedExpression);
     }
 
     @Override
@@ -354,7 +435,7 @@ public class DeepScanner implements Visitor{
         enter(moPostfixExpression);
         scan("operand", moPostfixExpression.getOperand());
         scan("operator", moPostfixExpression.getOperator());
-        exit(moPostfixExpression);
+        leave(moPostfixExpression);
     }
 
     @Override
@@ -362,14 +443,14 @@ public class DeepScanner implements Visitor{
         enter(moPrefixExpression);
         scan("operator", moPrefixExpression.getOperator());
         scan("operand", moPrefixExpression.getOperand());
-        exit(moPrefixExpression);
+        leave(moPrefixExpression);
     }
 
     @Override
     public void visitMoPrimitiveType(MoPrimitiveType moPrimitiveType) {
         enter(moPrimitiveType);
         scan("primitiveTypeCode");
-        exit(moPrimitiveType);
+        leave(moPrimitiveType);
     }
 
     @Override
@@ -378,28 +459,28 @@ public class DeepScanner implements Visitor{
 //        scan("qualifier", moQualifiedName.getQualifier());
 //        scan("name", moQualifiedName.getName());
         // 忽略下面的子节点
-        exit(moQualifiedName);
+        leave(moQualifiedName);
     }
 
     @Override
     public void visitMoReturnStatement(MoReturnStatement moReturnStatement) {
         enter(moReturnStatement);
         moReturnStatement.getExpression().ifPresent(expression -> scan("expression", expression));
-        exit(moReturnStatement);
+        leave(moReturnStatement);
     }
 
     @Override
     public void visitMoSimpleName(MoSimpleName moSimpleName) {
         enter(moSimpleName);
         scan("identifier");
-        exit(moSimpleName);
+        leave(moSimpleName);
     }
 
     @Override
     public void visitMoSimpleType(MoSimpleType moSimpleType) {
         enter(moSimpleType);
         scan("name", moSimpleType.getName());
-        exit(moSimpleType);
+        leave(moSimpleType);
     }
 
     @Override
@@ -413,14 +494,14 @@ public class DeepScanner implements Visitor{
         scan("varargsAnnotations", moSingleVariableDeclaration.getVarargsAnnotations());
         scan("varargs");
         moSingleVariableDeclaration.getInitializer().ifPresent(initializer -> scan("initializer", initializer));
-        exit(moSingleVariableDeclaration);
+        leave(moSingleVariableDeclaration);
     }
 
     @Override
     public void visitMoStringLiteral(MoStringLiteral moStringLiteral) {
         enter(moStringLiteral);
         scan("escapedValue");
-        exit(moStringLiteral);
+        leave(moStringLiteral);
     }
 
     @Override
@@ -429,7 +510,7 @@ public class DeepScanner implements Visitor{
         moSuperConstructorInvocation.getExpression().ifPresent(expression -> scan("expression", expression));
         scan("typeArguments", moSuperConstructorInvocation.getTypeArguments());
         scan("arguments", moSuperConstructorInvocation.getArguments());
-        exit(moSuperConstructorInvocation);
+        leave(moSuperConstructorInvocation);
     }
 
     @Override
@@ -437,7 +518,7 @@ public class DeepScanner implements Visitor{
         enter(moSuperFieldAccess);
         moSuperFieldAccess.getQualifier().ifPresent(qualifier -> scan("qualifier", qualifier));
         scan("name", moSuperFieldAccess.getName());
-        exit(moSuperFieldAccess);
+        leave(moSuperFieldAccess);
     }
 
     @Override
@@ -447,14 +528,14 @@ public class DeepScanner implements Visitor{
         scan("typeArguments", moSuperMethodInvocation.getTypeArguments());
         scan("name", moSuperMethodInvocation.getName());
         scan("arguments", moSuperMethodInvocation.getArguments());
-        exit(moSuperMethodInvocation);
+        leave(moSuperMethodInvocation);
     }
 
     @Override
     public void visitMoSwitchCase(MoSwitchCase moSwitchCase) {
         enter(moSwitchCase);
         moSwitchCase.getExpression().ifPresent(expression -> scan("expression", expression));
-        exit(moSwitchCase);
+        leave(moSwitchCase);
     }
 
     @Override
@@ -462,7 +543,7 @@ public class DeepScanner implements Visitor{
         enter(moSwitchStatement);
         scan("expression", moSwitchStatement.getExpression());
         scan("statements", moSwitchStatement.getStatements());
-        exit(moSwitchStatement);
+        leave(moSwitchStatement);
     }
 
     @Override
@@ -470,21 +551,21 @@ public class DeepScanner implements Visitor{
         enter(moSynchronizedStatement);
         scan("expression", moSynchronizedStatement.getExpression());
         scan("body", moSynchronizedStatement.getBlock());
-        exit(moSynchronizedStatement);
+        leave(moSynchronizedStatement);
     }
 
     @Override
     public void visitMoThisExpression(MoThisExpression moThisExpression) {
         enter(moThisExpression);
         moThisExpression.getQualifier().ifPresent(qualifier -> scan("qualifier", qualifier));
-        exit(moThisExpression);
+        leave(moThisExpression);
     }
 
     @Override
     public void visitMoThrowStatement(MoThrowStatement moThrowStatement) {
         enter(moThrowStatement);
         scan("expression", moThrowStatement.getExpression());
-        exit(moThrowStatement);
+        leave(moThrowStatement);
     }
 
     @Override
@@ -494,7 +575,7 @@ public class DeepScanner implements Visitor{
         scan("body", moTryStatement.getTryBlock());
         scan("catchClauses", moTryStatement.getCatchClauses());
         moTryStatement.getFinallyBlock().ifPresent(finallyBlock -> scan("finally", finallyBlock));
-        exit(moTryStatement);
+        leave(moTryStatement);
     }
 
     @Override
@@ -508,21 +589,21 @@ public class DeepScanner implements Visitor{
         moTypeDeclaration.getSuperclassType().ifPresent(superclassType -> scan("superclassType", superclassType));
         scan("superInterfaceTypes", moTypeDeclaration.getSuperInterfaceTypes());
         scan("typeParameters", moTypeDeclaration.getTypeParameters());
-        exit(moTypeDeclaration);
+        leave(moTypeDeclaration);
     }
 
     @Override
     public void visitMoTypeDeclarationStatement(MoTypeDeclarationStatement moTypeDeclarationStatement) {
         enter(moTypeDeclarationStatement);
         scan("declaration", moTypeDeclarationStatement.getTypeDeclaration());
-        exit(moTypeDeclarationStatement);
+        leave(moTypeDeclarationStatement);
     }
 
     @Override
     public void visitMoTypeLiteral(MoTypeLiteral moTypeLiteral) {
         enter(moTypeLiteral);
         scan("type", moTypeLiteral.getType());
-        exit(moTypeLiteral);
+        leave(moTypeLiteral);
     }
 
     @Override
@@ -531,7 +612,7 @@ public class DeepScanner implements Visitor{
         scanExtendedModifier(moVariableDeclarationExpression.getModifiers());
         scan("type", moVariableDeclarationExpression.getType());
         scan("fragments", moVariableDeclarationExpression.getFragments());
-        exit(moVariableDeclarationExpression);
+        leave(moVariableDeclarationExpression);
     }
 
     @Override
@@ -540,7 +621,7 @@ public class DeepScanner implements Visitor{
         scan("name", moVariableDeclarationFragment.getName());
         scan("extraDimensions2", moVariableDeclarationFragment.getCStyleArrayDimensions());
         moVariableDeclarationFragment.getInitializer().ifPresent(initializer -> scan("initializer", initializer));
-        exit(moVariableDeclarationFragment);
+        leave(moVariableDeclarationFragment);
     }
 
     @Override
@@ -549,7 +630,7 @@ public class DeepScanner implements Visitor{
         scanExtendedModifier(moVariableDeclarationStatement.getModifiers());
         scan("type", moVariableDeclarationStatement.getType());
         scan("fragments", moVariableDeclarationStatement.getFragments());
-        exit(moVariableDeclarationStatement);
+        leave(moVariableDeclarationStatement);
     }
 
     @Override
@@ -557,7 +638,7 @@ public class DeepScanner implements Visitor{
         enter(moWhileStatement);
         scan("expression", moWhileStatement.getCondition());
         scan("body", moWhileStatement.getBody());
-        exit(moWhileStatement);
+        leave(moWhileStatement);
     }
 
     @Override
@@ -565,21 +646,21 @@ public class DeepScanner implements Visitor{
         enter(moInstanceofExpression);
         scan("leftOperand", moInstanceofExpression.getLeftOperand());
         scan("rightOperand", moInstanceofExpression.getRightOperand());
-        exit(moInstanceofExpression);
+        leave(moInstanceofExpression);
     }
 
     @Override
     public void visitMoLineComment(MoLineComment moLineComment) {
         enter(moLineComment);
         // do nothing
-        exit(moLineComment);
+        leave(moLineComment);
     }
 
     @Override
     public void visitMoBlockComment(MoBlockComment moBlockComment) {
         enter(moBlockComment);
         // do nothing
-        exit(moBlockComment);
+        leave(moBlockComment);
     }
 
     @Override
@@ -587,14 +668,14 @@ public class DeepScanner implements Visitor{
         enter(moTagElement);
         scan("tagName");
         scanDocElement(moTagElement.getDocFragments());
-        exit(moTagElement);
+        leave(moTagElement);
     }
 
     @Override
     public void visitMoTextElement(MoTextElement moTextElement) {
         enter(moTextElement);
         scan("text");
-        exit(moTextElement);
+        leave(moTextElement);
     }
 
     @Override
@@ -603,7 +684,7 @@ public class DeepScanner implements Visitor{
         scan("parameter", moEnhancedForStatement.getParameter());
         scan("expression", moEnhancedForStatement.getExpression());
         scan("body", moEnhancedForStatement.getBody());
-        exit(moEnhancedForStatement);
+        leave(moEnhancedForStatement);
     }
 
     @Override
@@ -615,7 +696,7 @@ public class DeepScanner implements Visitor{
         scan("superInterfaceTypes", moEnumDeclaration.getSuperInterfaceTypes());
         scan("enumConstants", moEnumDeclaration.getEnumConstants());
         scan("bodyDeclarations", moEnumDeclaration.getBodyDeclarations());
-        exit(moEnumDeclaration);
+        leave(moEnumDeclaration);
     }
 
     @Override
@@ -628,7 +709,7 @@ public class DeepScanner implements Visitor{
         moEnumConstantDeclaration.getAnonymousClassDeclaration().ifPresent(anonymousClassDeclaration -> {
             scan("anonymousClassDeclaration", anonymousClassDeclaration);
         });
-        exit(moEnumConstantDeclaration);
+        leave(moEnumConstantDeclaration);
     }
 
     @Override
@@ -637,7 +718,7 @@ public class DeepScanner implements Visitor{
         scanExtendedModifier(moTypeParameter.getModifiers());
         scan("name", moTypeParameter.getName());
         scan("typeBounds", moTypeParameter.getTypeBounds());
-        exit(moTypeParameter);
+        leave(moTypeParameter);
     }
 
     @Override
@@ -645,7 +726,7 @@ public class DeepScanner implements Visitor{
         enter(moParameterizedType);
         scan("type", moParameterizedType.getType());
         scan("typeArguments", moParameterizedType.getTypeArguments());
-        exit(moParameterizedType);
+        leave(moParameterizedType);
     }
 
     @Override
@@ -654,7 +735,7 @@ public class DeepScanner implements Visitor{
         scanExtendedModifier(moQualifiedType.getAnnotations());
         scan("qualifier", moQualifiedType.getQualifier());
         scan("name", moQualifiedType.getSimpleName());
-        exit(moQualifiedType);
+        leave(moQualifiedType);
     }
 
     @Override
@@ -662,7 +743,7 @@ public class DeepScanner implements Visitor{
         enter(moWildcardType);
         scanExtendedModifier(moWildcardType.getAnnotations());
         moWildcardType.getBound().ifPresent(bound -> scan("bound", bound));
-        exit(moWildcardType);
+        leave(moWildcardType);
     }
 
     @Override
@@ -670,14 +751,14 @@ public class DeepScanner implements Visitor{
         enter(moNormalAnnotation);
         scan("typeName", moNormalAnnotation.getTypeName());
         scan("values", moNormalAnnotation.getMemberValuePairs());
-        exit(moNormalAnnotation);
+        leave(moNormalAnnotation);
     }
 
     @Override
     public void visitMoMarkerAnnotation(MoMarkerAnnotation moMarkerAnnotation) {
         enter(moMarkerAnnotation);
         scan("typeName", moMarkerAnnotation.getTypeName());
-        exit(moMarkerAnnotation);
+        leave(moMarkerAnnotation);
     }
 
     @Override
@@ -685,7 +766,7 @@ public class DeepScanner implements Visitor{
         enter(moSingleMemberAnnotation);
         scan("typeName", moSingleMemberAnnotation.getTypeName());
         scan("value", moSingleMemberAnnotation.getValue());
-        exit(moSingleMemberAnnotation);
+        leave(moSingleMemberAnnotation);
     }
 
     @Override
@@ -693,28 +774,28 @@ public class DeepScanner implements Visitor{
         enter(moMemberValuePair);
         scan("name", moMemberValuePair.getName());
         scan("value", moMemberValuePair.getValue());
-        exit(moMemberValuePair);
+        leave(moMemberValuePair);
     }
 
     @Override
     public void visitMoModifier(MoModifier moModifier) {
         enter(moModifier);
         scan("modifierKind");
-        exit(moModifier);
+        leave(moModifier);
     }
 
     @Override
     public void visitMoUnionType(MoUnionType moUnionType) {
         enter(moUnionType);
         scan("types", moUnionType.getTypes());
-        exit(moUnionType);
+        leave(moUnionType);
     }
 
     @Override
     public void visitMoDimension(MoDimension moDimension) {
         enter(moDimension);
         scan("annotations", moDimension.getAnnotations());
-        exit(moDimension);
+        leave(moDimension);
     }
 
     @Override
@@ -722,14 +803,14 @@ public class DeepScanner implements Visitor{
         enter(moLambdaExpression);
         scan("parameters", moLambdaExpression.getParameters());
         scan("body", moLambdaExpression.getBody());
-        exit(moLambdaExpression);
+        leave(moLambdaExpression);
     }
 
     @Override
     public void visitMoIntersectionType(MoIntersectionType moIntersectionType) {
         enter(moIntersectionType);
         scan("types", moIntersectionType.getTypes());
-        exit(moIntersectionType);
+        leave(moIntersectionType);
     }
 
     @Override
@@ -738,7 +819,7 @@ public class DeepScanner implements Visitor{
         scanExtendedModifier(moNameQualifiedType.getAnnotations());
         scan("qualifier", moNameQualifiedType.getQualifier());
         scan("name", moNameQualifiedType.getSimpleName());
-        exit(moNameQualifiedType);
+        leave(moNameQualifiedType);
     }
 
     @Override
@@ -746,7 +827,7 @@ public class DeepScanner implements Visitor{
         enter(moCreationReference);
         scan("typeArguments", moCreationReference.getTypeArguments());
         scan("type", moCreationReference.getType());
-        exit(moCreationReference);
+        leave(moCreationReference);
     }
 
     @Override
@@ -755,7 +836,7 @@ public class DeepScanner implements Visitor{
         scan("expression", moExpressionMethodReference.getExpression());
         scan("typeArguments", moExpressionMethodReference.getTypeArguments());
         scan("name", moExpressionMethodReference.getSimpleName());
-        exit(moExpressionMethodReference);
+        leave(moExpressionMethodReference);
     }
 
     @Override
@@ -764,7 +845,7 @@ public class DeepScanner implements Visitor{
         moSuperMethodReference.getQualifier().ifPresent(qualifier -> scan("qualifier", qualifier));
         scan("typeArguments", moSuperMethodReference.getTypeArguments());
         scan("name", moSuperMethodReference.getSimpleName());
-        exit(moSuperMethodReference);
+        leave(moSuperMethodReference);
     }
 
     @Override
@@ -773,49 +854,49 @@ public class DeepScanner implements Visitor{
         scan("type", moTypeMethodReference.getType());
         scan("typeArguments", moTypeMethodReference.getTypeArguments());
         scan("name", moTypeMethodReference.getSimpleName());
-        exit(moTypeMethodReference);
+        leave(moTypeMethodReference);
     }
 
     @Override
     public void visitMoInfixOperator(MoInfixOperator moInfixOperator) {
         enter(moInfixOperator);
         scan("operator");
-        exit(moInfixOperator);
+        leave(moInfixOperator);
     }
 
     @Override
     public void visitMoAssignmentOperator(MoAssignmentOperator moAssignmentOperator) {
         enter(moAssignmentOperator);
         scan("operator");
-        exit(moAssignmentOperator);
+        leave(moAssignmentOperator);
     }
 
     @Override
     public void visitMoPostfixOperator(MoPostfixOperator moPostfixOperator) {
         enter(moPostfixOperator);
         scan("operator");
-        exit(moPostfixOperator);
+        leave(moPostfixOperator);
     }
 
     @Override
     public void visitMoPrefixOperator(MoPrefixOperator moPrefixOperator) {
         enter(moPrefixOperator);
         scan("operator");
-        exit(moPrefixOperator);
+        leave(moPrefixOperator);
     }
 
     @Override
     public void visitMoMethodInvocationTarget(MoMethodInvocationTarget moMethodInvocationTarget) {
         enter(moMethodInvocationTarget);
         scan("expression", moMethodInvocationTarget.getExpression());
-        exit(moMethodInvocationTarget);
+        leave(moMethodInvocationTarget);
     }
 
     @Override
     public void visitMoMethodInvocationArguments(MoMethodInvocationArguments moMethodInvocationArguments) {
         enter(moMethodInvocationArguments);
         scan("arguments", moMethodInvocationArguments.getArguments());
-        exit(moMethodInvocationArguments);
+        leave(moMethodInvocationArguments);
     }
 
     private void scanExtendedModifier(List<? extends MoExtendedModifier> extendedModifiers) {
@@ -0,0 +1,67 @@
+package repair.ast.visitor;
+
+import repair.ast.MoNode;
+import repair.ast.role.ChildRoleTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Table-driven pre-order scanner, children are taken from {@link ChildRoleTable} instead of a visit method per type.
+ * The walk runs on an explicit work stack, enter/exit are called in the same order as {@link DeepScanner}.
+ */
+public class DescriptionScanner {
+    private MoNode[] workNodes = new MoNode[64];
+    private boolean[] workExits = new boolean[64];
+    private int workSize = 0;
+    private final List<MoNode> childBuffer = new ArrayList<>();
+
+    protected void enter(MoNode moNode) {
+    }
+    protected void exit(MoNode moNode) {
+    }
+
+    public void scan(MoNode root) {
+        if (root == null) {
+            return;
+        }
+        int base = workSize;
+        try {
+            push(root, false);
+            while (workSize > base) {
+                workSize--;
+                MoNode node = workNodes[workSize];
+                boolean isExit = workExits[workSize];
+                workNodes[workSize] = null;
+                if (isExit) {
+                    exit(node);
+                    continue;
+                }
+
+                enter(node);
+                push(node, true);
+                ChildRoleTable.collectChildren(node, childBuffer);
+                for (int i = childBuffer.size() - 1; i >= 0; i--) {
+                    push(childBuffer.get(i), false);
+                }
+                childBuffer.clear();
+            }
+        } finally {
+            while (workSize > base) {
+                workNodes[--workSize] = null;
+            }
+            childBuffer.clear();
+        }
+    }
+
+    private void push(MoNode node, boolean isExit) {
+        if (workSize == workNodes.length) {
+            workNodes = Arrays.copyOf(workNodes, workSize * 2);
+            workExits = Arrays.copyOf(workExits, workSize * 2);
+        }
+        workNodes[workSize] = node;
+        workExits[workSize] = isExit;
+        workSize++;
+    }
+}
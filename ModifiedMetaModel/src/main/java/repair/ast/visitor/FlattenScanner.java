@@ -5,11 +5,11 @@ import repair.ast.MoNode;
 import java.util.ArrayList;
 import java.util.List;
 
-public class FlattenScanner extends DeepScanner {
+public class FlattenScanner extends DescriptionScanner {
     private final List<MoNode> nodes = new ArrayList<>();
 
     public List<MoNode> flatten(MoNode node) {
-        node.accept(this);
+        scan(node);
         return nodes;
     }
 
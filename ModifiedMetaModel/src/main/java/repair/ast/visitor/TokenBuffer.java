@@ -0,0 +1,151 @@
+package repair.ast.visitor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Camel-split tokens stored as spans of one char buffer.
+ * A raw token is split on upper case letters and '_' while it is appended, trailing digits of names are dropped,
+ * pieces are lower-cased in place and blank pieces are skipped, so no intermediate token list is built.
+ * The buffer is reusable after {@link #clear()}.
+ */
+public class TokenBuffer {
+    // buffers grown beyond these sizes by a huge method are released on clear
+    private static final int MAX_RETAINED_CHARS = 1 << 16;
+    private static final int MAX_RETAINED_TOKENS = 1 << 13;
+
+    private char[] chars = new char[256];
+    private int[] starts = new int[64];
+    private int[] ends = new int[64];
+    private int length = 0;
+    private int count = 0;
+
+    public void add(String raw) {
+        if (raw == null || raw.isEmpty()) {
+            return;
+        }
+        int end = raw.length();
+        // identifiers like "var1" lose their numeric suffix, numbers are kept
+        if (!Character.isDigit(raw.charAt(0))) {
+            while (end > 0 && Character.isDigit(raw.charAt(end - 1))) {
+                end--;
+            }
+        }
+        int lower = 0;
+        for (int i = 0; i < end; i++) {
+            char c = raw.charAt(i);
+            if (Character.isUpperCase(c)) {
+                addPiece(raw, lower, i);
+                lower = i;
+            } else if (c == '_') {
+                addPiece(raw, lower, i);
+                lower = i + 1;
+            }
+        }
+        if (lower < end) {
+            addPiece(raw, lower, end);
+        }
+    }
+
+    private void addPiece(String raw, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        ensureChars(to - from);
+        int start = length;
+        boolean blank = true;
+        for (int i = from; i < to; i++) {
+            char c = raw.charAt(i);
+            if (c >= 0x80) {
+                // non ascii case mapping may change the length, leave it to String
+                length = start;
+                addLowerCased(raw.substring(from, to).toLowerCase(Locale.ROOT));
+                return;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            blank &= Character.isWhitespace(c);
+            chars[length++] = c;
+        }
+        if (blank) {
+            length = start;
+            return;
+        }
+        addSpan(start, length);
+    }
+
+    private void addLowerCased(String piece) {
+        if (piece.isBlank()) {
+            return;
+        }
+        ensureChars(piece.length());
+        int start = length;
+        piece.getChars(0, piece.length(), chars, start);
+        length += piece.length();
+        addSpan(start, length);
+    }
+
+    private void addSpan(int start, int end) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+        }
+        starts[count] = start;
+        ends[count] = end;
+        count++;
+    }
+
+    private void ensureChars(int extra) {
+        if (length + extra > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + extra));
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public String get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return new String(chars, starts[index], ends[index] - starts[index]);
+    }
+
+    /**
+     * @return unmodifiable list of the tokens, the only allocations are the token strings and one array
+     */
+    public List<String> toList() {
+        String[] tokens = new String[count];
+        for (int i = 0; i < count; i++) {
+            tokens[i] = new String(chars, starts[i], ends[i] - starts[i]);
+        }
+        return Collections.unmodifiableList(Arrays.asList(tokens));
+    }
+
+    /**
+     * @return ids of the tokens in the dictionary, new tokens are interned
+     */
+    public int[] toIds(TokenDictionary dictionary) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = dictionary.intern(chars, starts[i], ends[i]);
+        }
+        return ids;
+    }
+
+    public void clear() {
+        length = 0;
+        count = 0;
+        if (chars.length > MAX_RETAINED_CHARS) {
+            chars = new char[256];
+        }
+        if (starts.length > MAX_RETAINED_TOKENS) {
+            starts = new int[64];
+            ends = new int[64];
+        }
+    }
+}
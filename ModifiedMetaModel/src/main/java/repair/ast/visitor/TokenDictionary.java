@@ -0,0 +1,107 @@
+package repair.ast.visitor;
+
+import java.util.Arrays;
+
+/**
+ * Interned tokens numbered from 0 in insertion order.
+ * Lookups hash the char span directly, a String is created only the first time a token is seen.
+ */
+public class TokenDictionary {
+    private String[] tokens = new String[64];
+    // open addressing table of token id + 1, 0 means empty
+    private int[] table = new int[128];
+    private int size = 0;
+
+    public synchronized int intern(char[] chars, int from, int to) {
+        int mask = table.length - 1;
+        int slot = hash(chars, from, to) & mask;
+        while (table[slot] != 0) {
+            int id = table[slot] - 1;
+            if (sameToken(tokens[id], chars, from, to)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int id = size++;
+        if (id == tokens.length) {
+            tokens = Arrays.copyOf(tokens, id * 2);
+        }
+        tokens[id] = new String(chars, from, to - from);
+        table[slot] = id + 1;
+        if (size * 2 > table.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    public int intern(String token) {
+        return intern(token.toCharArray(), 0, token.length());
+    }
+
+    /**
+     * @return id of the token, -1 if it has not been interned
+     */
+    public synchronized int idOf(String token) {
+        int mask = table.length - 1;
+        int slot = hash(token) & mask;
+        while (table[slot] != 0) {
+            int id = table[slot] - 1;
+            if (tokens[id].equals(token)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public synchronized String token(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException(id);
+        }
+        return tokens[id];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void rehash() {
+        int[] newTable = new int[table.length * 2];
+        int mask = newTable.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hash(tokens[id]) & mask;
+            while (newTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newTable[slot] = id + 1;
+        }
+        table = newTable;
+    }
+
+    private static boolean sameToken(String token, char[] chars, int from, int to) {
+        if (token.length() != to - from) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) != chars[from + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // same value as String.hashCode, spread over the low bits
+    private static int hash(char[] chars, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + chars[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash(String token) {
+        int h = token.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
@@ -12,16 +12,60 @@ import repair.ast.code.type.*;
 import repair.ast.code.virtual.*;
 import repair.ast.declaration.*;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class TokenizeScanner implements Visitor {
     private static final Logger logger = LoggerFactory.getLogger(TokenizeScanner.class);
 
-    private final List<String> tokens = new ArrayList<>();
+    private static final ThreadLocal<TokenizeScanner> scannerPool = ThreadLocal.withInitial(TokenizeScanner::new);
+
+    // tokens are camel split while they are added
+    private final TokenBuffer tokens = new TokenBuffer();
+    private boolean pooledInUse = false;
 
     public List<String> getTokens() {
-        return camelSplit(tokens).stream().filter(token -> !token.isBlank()).toList();
+        return tokens.toList();
+    }
+
+    public int[] getTokenIds(TokenDictionary dictionary) {
+        return tokens.toIds(dictionary);
+    }
+
+    /**
+     * tokenize node with the reusable scanner of the current thread
+     */
+    public static List<String> tokenize(MoNode node) {
+        TokenizeScanner scanner = acquire();
+        try {
+            scanner.scan(node);
+            return scanner.getTokens();
+        } finally {
+            release(scanner);
+        }
+    }
+
+    public static int[] tokenize(MoNode node, TokenDictionary dictionary) {
+        TokenizeScanner scanner = acquire();
+        try {
+            scanner.scan(node);
+            return scanner.getTokenIds(dictionary);
+        } finally {
+            release(scanner);
+        }
+    }
+
+    private static TokenizeScanner acquire() {
+        TokenizeScanner scanner = scannerPool.get();
+        if (scanner.pooledInUse) {
+            return new TokenizeScanner();
+        }
+        scanner.pooledInUse = true;
+        return scanner;
+    }
+
+    private static void release(TokenizeScanner scanner) {
+        scanner.tokens.clear();
+        scanner.pooledInUse = false;
     }
 
     public void scan(String role, MoNode moNode) {
@@ -994,42 +1038,4 @@ public class TokenizeScanner implements Visitor {
         }
     }
 
-
-    /**
-     * split camel case
-     * @param tokens tokens original
-     * @return split tokens by camel case
-     */
-    private List<String> camelSplit(List<String> tokens) {
-        List<String> result = new ArrayList<>();
-        int index ;
-        for (String s : tokens) {
-            if (s.isEmpty()) continue;
-            if (!Character.isDigit(s.charAt(0))) {
-                for (index = s.length() - 1; index >= 0; index--) {
-                    if (!Character.isDigit(s.charAt(index))) {
-                        break;
-                    }
-                }
-                s = s.substring(0, index + 1);
-            }
-            int lower = 0;
-            for(int i = 0; i < s.length(); i++){
-                if(Character.isUpperCase(s.charAt(i))){
-                    String subName = s.substring(lower, i);
-                    lower = i;
-                    result.add(subName.toLowerCase());
-                } else if(s.charAt(i) == '_'){
-                    String subName = s.substring(lower, i);
-                    lower = i + 1;
-                    result.add(subName.toLowerCase());
-                }
-            }
-            if (lower < s.length()) {
-                result.add(s.substring(lower).toLowerCase());
-            }
-        }
-        return result;
-    }
-
 }
@@ -83,6 +83,27 @@ public class JDTUtils {
     }
 
 
+    /**
+     * 不解析binding的编译单元, so expression types are unknown.
+     * Not synchronized like genASTFromSourceWithType, each call has its own parser, so files can be parsed in parallel.
+     */
+    public static CompilationUnit genASTWithoutBindings(String code, Path codePath) {
+        if (code == null || code.isEmpty()) return null;
+        ASTParser astParser = ASTParser.newParser(AST.JLS8);
+        Map<String, String> options = JavaCore.getOptions();
+        JavaCore.setComplianceOptions(JavaCore.VERSION_1_7, options);
+        astParser.setCompilerOptions(options);
+        astParser.setSource(code.toCharArray());
+        astParser.setKind(ASTParser.K_COMPILATION_UNIT);
+        astParser.setResolveBindings(false);
+        astParser.setUnitName(codePath.toString());
+        try {
+            return (CompilationUnit) astParser.createAST(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     public static ASTNode genASTFromSourceWithType(String icu, int type, String filePath, String srcPath) {
         return genASTFromSourceWithType(icu, JavaCore.VERSION_1_7, AST.JLS8, type, filePath, srcPath);
     }
@@ -41,8 +41,8 @@ public class Utils {
         Optional<MethodDeclaration> methodAfter = getMethodDeclaration(afterCompilationUnit, methodSignatureAfter);
 
         if(methodBefore.isEmpty() || methodAfter.isEmpty()) {
-            logger.error("MethodBefore or MethodAfter is empty");
-            System.exit(1);
+            // thrown instead of exiting, batch extraction keeps going with the other cases
+            throw new IllegalArgumentException("MethodBefore or MethodAfter is empty in " + patternCase);
         }
 
         NodeParser beforeParser = new NodeParser(patternBeforePath, beforeCompilationUnit);
@@ -62,8 +62,7 @@ public class Utils {
         Optional<MethodDeclaration> methodAfter = getOnlyMethodDeclaration(afterCompilationUnit);
 
         if(methodBefore.isEmpty() || methodAfter.isEmpty()) {
-            logger.error("MethodBefore or MethodAfter is empty");
-            System.exit(1);
+            throw new IllegalArgumentException("MethodBefore or MethodAfter is empty in " + beforePath + ", " + afterPath);
         }
 
         NodeParser beforeParser = new NodeParser(beforePath, beforeCompilationUnit);
@@ -0,0 +1,144 @@
+package repair.main;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repair.pattern.Pattern;
+import repair.pattern.abstraction.LLMAbstractInfo;
+import repair.pattern.abstraction.LLMAbstractor;
+import repair.pattern.serialize.Serializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * abstract 的批处理版本，一个 JVM 处理所有 (pattern, LLM json) 对.
+ * <p>
+ * Every line of the manifest is [patternOriPath] [jsonPath] [patternAbsPath] separated by tabs, relative to the
+ * manifest, like the arguments of abstract. The LLM decisions are read with LLMAbstractInfo, so an abstraction is
+ * linear in the size of the pattern. Jobs run on parallelism threads, a failing job is reported and skipped,
+ * the status of every job is written to the report as it finishes.
+ */
+public class AbstractBatch {
+    private final static Logger logger = LoggerFactory.getLogger(AbstractBatch.class);
+
+    public enum JobStatus {
+        OK, NO_PATTERN, BAD_INFO, FAILED
+    }
+
+    public record Job(Path patternOriPath, Path jsonPath, Path patternAbsPath) {
+    }
+
+    public record JobResult(Job job, JobStatus status, long millis, String message) {
+    }
+
+    private final int parallelism;
+
+    public AbstractBatch(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            logger.error("Please given the arguments java -jar Main.jar abstract-batch [manifest] [statusReport] (threads)");
+            return;
+        }
+
+        Path manifest = Path.of(args[1]);
+        Path statusReport = Path.of(args[2]);
+        int parallelism = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        List<Job> jobs;
+        try {
+            jobs = readManifest(manifest);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Failed to read manifest: {}", manifest, e);
+            return;
+        }
+        logger.info("abstract {} patterns with {} threads", jobs.size(), parallelism);
+
+        List<JobResult> results = new AbstractBatch(parallelism).run(jobs, statusReport);
+        Map<JobStatus, Integer> counts = new EnumMap<>(JobStatus.class);
+        results.forEach(result -> counts.merge(result.status(), 1, Integer::sum));
+        logger.info("abstract finished: {}", counts);
+    }
+
+    static List<Job> readManifest(Path manifest) throws IOException {
+        Path base = manifest.toAbsolutePath().getParent();
+        List<Job> jobs = new ArrayList<>();
+        List<String> lines = Files.readAllLines(manifest, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            String trimmed = lines.get(i).strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] fields = trimmed.split("\t");
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("line " + (i + 1) + " should be [patternOriPath]\\t[jsonPath]\\t[patternAbsPath]: " + trimmed);
+            }
+            jobs.add(new Job(base.resolve(fields[0].strip()), base.resolve(fields[1].strip()), base.resolve(fields[2].strip())));
+        }
+        return jobs;
+    }
+
+    /**
+     * @return results in the order of jobs
+     */
+    public List<JobResult> run(List<Job> jobs, Path statusReport) {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try (StatusReport report = StatusReport.open(statusReport, "pattern")) {
+            List<CompletableFuture<JobResult>> futures = new ArrayList<>(jobs.size());
+            for (Job job : jobs) {
+                futures.add(CompletableFuture.supplyAsync(() -> runJob(job), executor)
+                        .whenComplete((result, e) -> report.write(result.job().patternOriPath(), result.status(),
+                                result.millis(), result.message())));
+            }
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to write status report " + statusReport, e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static JobResult runJob(Job job) {
+        long start = System.currentTimeMillis();
+        try {
+            return abstractPattern(job, start);
+        } catch (Throwable e) {
+            // OutOfMemoryError and StackOverflowError of one pattern are reported too
+            logger.error("Failed to abstract pattern: {}", job.patternOriPath(), e);
+            return new JobResult(job, JobStatus.FAILED, System.currentTimeMillis() - start, e.toString());
+        }
+    }
+
+    private static JobResult abstractPattern(Job job, long start) {
+        LLMAbstractInfo abstractInfo;
+        try {
+            abstractInfo = LLMAbstractInfo.parse(job.jsonPath());
+        } catch (IOException e) {
+            logger.error("Failed to read abstract info file: {}", job.jsonPath(), e);
+            return new JobResult(job, JobStatus.BAD_INFO, System.currentTimeMillis() - start, e.toString());
+        }
+
+        Optional<Pattern> patternOri = Serializer.deserializeFromDisk(job.patternOriPath());
+        if (patternOri.isEmpty()) {
+            return new JobResult(job, JobStatus.NO_PATTERN, System.currentTimeMillis() - start,
+                    "failed to read " + job.patternOriPath());
+        }
+        Pattern pattern = patternOri.get();
+        new LLMAbstractor(abstractInfo).doAbstraction(pattern);
+
+        long millis = System.currentTimeMillis() - start;
+        if (!Serializer.serializeToDisk(pattern, job.patternAbsPath())) {
+            return new JobResult(job, JobStatus.FAILED, millis, "failed to write " + job.patternAbsPath());
+        }
+        return new JobResult(job, JobStatus.OK, millis, "");
+    }
+}
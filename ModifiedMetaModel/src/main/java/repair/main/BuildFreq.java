@@ -0,0 +1,223 @@
+package repair.main;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repair.FileUtils;
+import repair.ast.MoNode;
+import repair.ast.parser.NodeParser;
+import repair.pattern.abstraction.TokenCategory;
+import repair.pattern.abstraction.TokenFrequencyCounter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static repair.common.JDTUtils.genASTWithoutBindings;
+
+/**
+ * 从语料重新生成 TermFrequencyAbstractor 使用的词频词典.
+ * <p>
+ * Streams every java file of a directory tree, or of a commit read through jgit without a checkout, and counts in
+ * how many files each name used inside a method appears, classified by TokenCategory like the abstractor.
+ * Every worker thread pulls files from the shared source and counts into its own TokenFrequencyCounter,
+ * the counters are merged at the end.
+ * Files are parsed without bindings, so only names are counted, expression types are not.
+ * Outputs are [outputDir]/AllTokens_{var,api,type}.bin, loaded with -Dgenpat.freq.dir=[outputDir].
+ */
+public class BuildFreq {
+    private final static Logger logger = LoggerFactory.getLogger(BuildFreq.class);
+    private static final long PROGRESS_INTERVAL = 10000;
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            logger.error("Please given the arguments java -jar Main.jar build-freq [sourceRoot|repoPath] [outputDir] (threads) (commitID)");
+            return;
+        }
+
+        Path input = Path.of(args[1]);
+        Path outputDir = Path.of(args[2]);
+        int parallelism = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        String commitID = args.length > 4 ? args[4] : null;
+
+        long start = System.currentTimeMillis();
+        TokenFrequencyCounter counter;
+        try (JavaFileSource source = commitID == null ? new DirectorySource(input) : new CommitSource(input, commitID)) {
+            counter = count(source, parallelism);
+            counter.write(outputDir);
+        } catch (IOException e) {
+            logger.error("Failed to build token frequency from: {}", input, e);
+            return;
+        }
+        for (TokenCategory category : TokenCategory.values()) {
+            logger.info("{}: {} tokens", category.getDictionaryName(), counter.getCounts(category).size());
+        }
+        logger.info("build-freq finished: {} files in {} ms, written to {}",
+                counter.getTotalFiles(), System.currentTimeMillis() - start, outputDir);
+    }
+
+    /**
+     * count the files of the source with parallelism workers
+     */
+    public static TokenFrequencyCounter count(JavaFileSource source, int parallelism) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        AtomicLong processed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        List<Future<TokenFrequencyCounter>> futures = new ArrayList<>(parallelism);
+        try {
+            for (int i = 0; i < parallelism; i++) {
+                futures.add(executor.submit(() -> countWorker(source, processed, failed)));
+            }
+            TokenFrequencyCounter counter = new TokenFrequencyCounter();
+            for (Future<TokenFrequencyCounter> future : futures) {
+                counter.merge(future.get());
+            }
+            if (failed.get() > 0) {
+                logger.warn("{} of {} files failed to parse and are not counted", failed.get(), processed.get());
+            }
+            return counter;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while counting tokens", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IllegalStateException("failed to count tokens", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TokenFrequencyCounter countWorker(JavaFileSource source, AtomicLong processed, AtomicLong failed)
+            throws IOException {
+        TokenFrequencyCounter counter = new TokenFrequencyCounter();
+        JavaFile file;
+        while ((file = source.next()) != null) {
+            try {
+                byte[] data = file.content().read();
+                String code = new String(data, Charset.forName(FileUtils.detectCharset(data)));
+                CompilationUnit compilationUnit = genASTWithoutBindings(code, file.path());
+                if (compilationUnit == null) {
+                    failed.incrementAndGet();
+                } else {
+                    MoNode root = new NodeParser(file.path(), compilationUnit).process(compilationUnit);
+                    counter.addFile(root);
+                }
+            } catch (Exception | StackOverflowError e) {
+                // 单个文件失败不影响整体统计
+                logger.warn("Failed to count tokens of: {}", file.path(), e);
+                failed.incrementAndGet();
+            }
+            long count = processed.incrementAndGet();
+            if (count % PROGRESS_INTERVAL == 0) {
+                logger.info("build-freq: {} files processed", count);
+            }
+        }
+        return counter;
+    }
+
+    @FunctionalInterface
+    public interface ContentReader {
+        byte[] read() throws IOException;
+    }
+
+    public record JavaFile(Path path, ContentReader content) {
+    }
+
+    /**
+     * java文件的来源, shared by the workers
+     */
+    public interface JavaFileSource extends Closeable {
+        /**
+         * @return the next file, or null when there is none; safe to call from several threads
+         */
+        JavaFile next() throws IOException;
+    }
+
+    public static class DirectorySource implements JavaFileSource {
+        private final Stream<Path> stream;
+        private final Iterator<Path> iterator;
+
+        public DirectorySource(Path root) throws IOException {
+            this.stream = Files.walk(root)
+                    .filter(path -> path.toString().endsWith(".java"))
+                    .filter(Files::isRegularFile);
+            this.iterator = stream.iterator();
+        }
+
+        @Override
+        public synchronized JavaFile next() {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            Path path = iterator.next();
+            return new JavaFile(path, () -> Files.readAllBytes(path));
+        }
+
+        @Override
+        public void close() {
+            stream.close();
+        }
+    }
+
+    /**
+     * 遍历commit的文件树, objects are read by the workers, Repository.open is thread safe
+     */
+    public static class CommitSource implements JavaFileSource {
+        private final Repository repository;
+        private final TreeWalk treeWalk;
+
+        public CommitSource(Path repoPath, String commitID) throws IOException {
+            this.repository = FileRepositoryBuilder.create(repoPath.resolve(".git").toFile());
+            try {
+                ObjectId commitObjectId = repository.resolve(commitID);
+                if (commitObjectId == null) {
+                    throw new IOException("Failed to resolve commit: " + commitID);
+                }
+                try (RevWalk revWalk = new RevWalk(repository)) {
+                    this.treeWalk = new TreeWalk(repository);
+                    treeWalk.addTree(revWalk.parseCommit(commitObjectId).getTree());
+                    treeWalk.setRecursive(true);
+                }
+            } catch (IOException e) {
+                repository.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public synchronized JavaFile next() throws IOException {
+            while (treeWalk.next()) {
+                String filePath = treeWalk.getPathString();
+                if (filePath.endsWith(".java")) {
+                    ObjectId objectId = treeWalk.getObjectId(0);
+                    return new JavaFile(Path.of(filePath), () -> repository.open(objectId).getBytes());
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() {
+            treeWalk.close();
+            repository.close();
+        }
+    }
+}
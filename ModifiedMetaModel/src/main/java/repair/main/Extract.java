@@ -21,6 +21,9 @@ import static repair.common.Utils.generatePattern;
 public class Extract {
     private final static Logger logger = LoggerFactory.getLogger(Extract.class);
 
+    // code change info of a case, read before looking for a java pair
+    final static String CASE_INFO_FILE_NAME = "conflict";
+
     private final static List<Pair<String, String>> possibleNamePairs = List.of(
             Pair.of("before.java", "after.java"),
             Pair.of("error.java", "correct.java"),
@@ -40,7 +43,7 @@ public class Extract {
 
         Pattern pattern;
 //        Path patternInfoPath = patternPath.resolve("info.json");
-        Path patternInfoPath = patternPath.resolve("conflict"); // 妈的都叫这弱智名字重复了
+        Path patternInfoPath = patternPath.resolve(CASE_INFO_FILE_NAME); // 妈的都叫这弱智名字重复了
         if (patternInfoPath.toFile().exists()) {
             CodeChangeInfo patternInfo = CodeChangeInfoReader.readCCInfo(patternInfoPath);
             if (patternInfo == null) {
@@ -63,7 +66,7 @@ public class Extract {
         JsonSerializer.serializeToJson(pattern, jsonSerializePath);
     }
 
-    private static Optional<Pair<Path, Path>> findPossibleJavaPair(Path patternCasePath) {
+    static Optional<Pair<Path, Path>> findPossibleJavaPair(Path patternCasePath) {
         for (Pair<String, String> pair : possibleNamePairs) {
             Path beforePath = patternCasePath.resolve(pair.getLeft());
             Path afterPath = patternCasePath.resolve(pair.getRight());
@@ -0,0 +1,284 @@
+package repair.main;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repair.common.CodeChangeInfo;
+import repair.common.CodeChangeInfoReader;
+import repair.pattern.Pattern;
+import repair.pattern.serialize.JsonSerializer;
+import repair.pattern.serialize.Serializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static repair.common.Utils.generatePattern;
+
+/**
+ * extract 的批处理版本，一个 JVM 处理整个数据集.
+ * <p>
+ * Cases are the directories under the root that hold a {@value Extract#CASE_INFO_FILE_NAME} info file or a java pair,
+ * or the directories listed in a manifest file (one per line, relative to the manifest).
+ * Each case is extracted on its own daemon thread, at most parallelism cases run at the same time.
+ * A failing case is reported and skipped. A timed out case is reported, its thread is interrupted and abandoned,
+ * and a new case starts in its place; the outputs of an abandoned case are dropped if it ever returns.
+ * Abandoned threads still hold their trees, so at most parallelism of them are allowed: a case waits for one of them
+ * to return, and once they have not returned within another timeout the remaining cases are reported as skipped.
+ * Outputs are [serializeRoot]/[case].ser and [jsonSerializeRoot]/[case].json, the status of every case is
+ * written to the report as it finishes.
+ */
+public class ExtractBatch {
+    private final static Logger logger = LoggerFactory.getLogger(ExtractBatch.class);
+
+    public enum CaseStatus {
+        OK, NO_PAIR, BAD_INFO, FAILED, TIMEOUT, SKIPPED
+    }
+
+    public record CaseResult(Path casePath, CaseStatus status, long millis, String message) {
+    }
+
+    /**
+     * extracts one case, claim returns false once the case has timed out and its outputs must not be written
+     */
+    interface CaseExtractor {
+        CaseResult extract(Path casePath, BooleanSupplier claim);
+    }
+
+    private static final int RUNNING = 0;
+    private static final int FINISHING = 1;
+    private static final int TIMED_OUT = 2;
+
+    private final Path root;
+    private final Path serializeRoot;
+    private final Path jsonSerializeRoot;
+    private final int parallelism;
+    private final long timeoutMillis;
+    private final CaseExtractor extractor;
+
+    public ExtractBatch(Path root, Path serializeRoot, Path jsonSerializeRoot, int parallelism, long timeoutMillis) {
+        this.root = root;
+        this.serializeRoot = serializeRoot;
+        this.jsonSerializeRoot = jsonSerializeRoot;
+        this.parallelism = parallelism;
+        this.timeoutMillis = timeoutMillis;
+        this.extractor = this::extract;
+    }
+
+    ExtractBatch(Path root, int parallelism, long timeoutMillis, CaseExtractor extractor) {
+        this.root = root;
+        this.serializeRoot = root;
+        this.jsonSerializeRoot = root;
+        this.parallelism = parallelism;
+        this.timeoutMillis = timeoutMillis;
+        this.extractor = extractor;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 5) {
+            logger.error("Please given the arguments java -jar Main.jar extract-batch [datasetRoot|manifest] [serializeRoot] [jsonSerializeRoot] [statusReport] (threads) (timeoutSeconds)");
+            return;
+        }
+
+        Path input = Path.of(args[1]);
+        Path serializeRoot = Path.of(args[2]);
+        Path jsonSerializeRoot = Path.of(args[3]);
+        Path statusReport = Path.of(args[4]);
+        int parallelism = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+        long timeoutSeconds = args.length > 6 ? Long.parseLong(args[6]) : 300;
+
+        List<Path> cases;
+        Path root;
+        try {
+            if (Files.isRegularFile(input)) {
+                root = input.toAbsolutePath().getParent();
+                cases = readManifest(input);
+            } else {
+                root = input;
+                cases = findCases(input);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to list cases in: {}", input, e);
+            return;
+        }
+        logger.info("extract {} cases with {} threads", cases.size(), parallelism);
+
+        List<CaseResult> results = new ExtractBatch(root, serializeRoot, jsonSerializeRoot, parallelism, timeoutSeconds * 1000)
+                .run(cases, statusReport);
+        Map<CaseStatus, Integer> counts = new EnumMap<>(CaseStatus.class);
+        results.forEach(result -> counts.merge(result.status(), 1, Integer::sum));
+        logger.info("extract finished: {}", counts);
+    }
+
+    static List<Path> readManifest(Path manifest) throws IOException {
+        Path base = manifest.toAbsolutePath().getParent();
+        List<Path> cases = new ArrayList<>();
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            String trimmed = line.strip();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                cases.add(base.resolve(trimmed));
+            }
+        }
+        return cases;
+    }
+
+    static List<Path> findCases(Path root) throws IOException {
+        try (Stream<Path> stream = Files.walk(root)) {
+            return stream.filter(Files::isDirectory)
+                    .filter(dir -> Files.exists(dir.resolve(Extract.CASE_INFO_FILE_NAME))
+                            || Extract.findPossibleJavaPair(dir).isPresent())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * @return results in the order of cases
+     */
+    public List<CaseResult> run(List<Path> cases, Path statusReport) {
+        ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "extract-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // running: released when a case finishes or times out
+        // threads: running and abandoned cases, released only when the worker thread returns
+        Semaphore running = new Semaphore(parallelism);
+        Semaphore threads = new Semaphore(parallelism * 2);
+        List<CompletableFuture<CaseResult>> futures = new ArrayList<>(cases.size());
+
+        try (StatusReport report = StatusReport.open(statusReport, "case")) {
+            for (int i = 0; i < cases.size(); i++) {
+                Path casePath = cases.get(i);
+                running.acquire();
+                if (!acquireThread(threads)) {
+                    running.release();
+                    logger.error("timed out cases are still running, skip the remaining {} cases", cases.size() - i);
+                    for (Path skipped : cases.subList(i, cases.size())) {
+                        CaseResult result = new CaseResult(skipped, CaseStatus.SKIPPED, 0, "timed out cases are still running");
+                        report.write(skipped, result.status(), result.millis(), result.message());
+                        futures.add(CompletableFuture.completedFuture(result));
+                    }
+                    break;
+                }
+                CompletableFuture<CaseResult> future = new CompletableFuture<>();
+                // join the dependent future, so its row is written before the report is closed
+                futures.add(future.whenComplete((result, e) -> {
+                    running.release();
+                    report.write(result.casePath(), result.status(), result.millis(), result.message());
+                }));
+                Thread worker = new Thread(() -> {
+                    try {
+                        runCase(casePath, future, watchdog);
+                    } finally {
+                        threads.release();
+                    }
+                }, "extract-case-" + i);
+                worker.setDaemon(true);
+                worker.start();
+            }
+            // every started case is completed by its worker or by the watchdog
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to write status report " + statusReport, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while extracting cases", e);
+        } finally {
+            watchdog.shutdownNow();
+        }
+    }
+
+    /**
+     * @return false if the abandoned threads hold every permit and none of them returns within a timeout
+     */
+    private boolean acquireThread(Semaphore threads) throws InterruptedException {
+        if (timeoutMillis <= 0) {
+            // 没有超时就没有被放弃的线程
+            threads.acquire();
+            return true;
+        }
+        return threads.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void runCase(Path casePath, CompletableFuture<CaseResult> future, ScheduledExecutorService watchdog) {
+        long start = System.currentTimeMillis();
+        Thread worker = Thread.currentThread();
+        AtomicInteger state = new AtomicInteger(RUNNING);
+        ScheduledFuture<?> timer = timeoutMillis <= 0 ? null : watchdog.schedule(() -> {
+            if (state.compareAndSet(RUNNING, TIMED_OUT)) {
+                logger.warn("extract timed out after {} ms: {}", timeoutMillis, casePath);
+                future.complete(new CaseResult(casePath, CaseStatus.TIMEOUT, timeoutMillis, "timeout"));
+                // the worker is abandoned, interrupting it lets blocking calls give up early
+                worker.interrupt();
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+
+        CaseResult result;
+        try {
+            result = extractor.extract(casePath, () -> state.compareAndSet(RUNNING, FINISHING));
+        } catch (Throwable e) {
+            // OutOfMemoryError and StackOverflowError of one case are reported too, the case's trees are dropped
+            logger.error("Failed to extract pattern from: {}", casePath, e);
+            result = new CaseResult(casePath, CaseStatus.FAILED, System.currentTimeMillis() - start, e.toString());
+        }
+        if (timer != null) {
+            timer.cancel(false);
+        }
+        if (state.get() != TIMED_OUT) {
+            future.complete(result);
+        }
+    }
+
+    private CaseResult extract(Path casePath, BooleanSupplier claim) {
+        long start = System.currentTimeMillis();
+        Pattern pattern;
+        Path patternInfoPath = casePath.resolve(Extract.CASE_INFO_FILE_NAME);
+        if (Files.exists(patternInfoPath)) {
+            CodeChangeInfo patternInfo = CodeChangeInfoReader.readCCInfo(patternInfoPath);
+            if (patternInfo == null) {
+                return new CaseResult(casePath, CaseStatus.BAD_INFO, System.currentTimeMillis() - start,
+                        "failed to read " + patternInfoPath);
+            }
+            pattern = generatePattern(casePath, patternInfo.getSignatureBefore(), patternInfo.getSignatureAfter());
+        } else {
+            Optional<Pair<Path, Path>> possibleJavaPair = Extract.findPossibleJavaPair(casePath);
+            if (possibleJavaPair.isEmpty()) {
+                return new CaseResult(casePath, CaseStatus.NO_PAIR, System.currentTimeMillis() - start,
+                        "no java pair");
+            }
+            pattern = generatePattern(possibleJavaPair.get().getLeft(), possibleJavaPair.get().getRight());
+        }
+
+        if (!claim.getAsBoolean()) {
+            return null; // timed out, drop the outputs
+        }
+        String name = caseName(casePath);
+        boolean serialized = Serializer.serializeToDisk(pattern, serializeRoot.resolve(name + ".ser"));
+        boolean jsonSerialized = JsonSerializer.serializeToJson(pattern, jsonSerializeRoot.resolve(name + ".json"));
+        long millis = System.currentTimeMillis() - start;
+        if (!serialized || !jsonSerialized) {
+            return new CaseResult(casePath, CaseStatus.FAILED, millis, "failed to write outputs");
+        }
+        return new CaseResult(casePath, CaseStatus.OK, millis, "");
+    }
+
+    /**
+     * @return path of the case relative to the root, used as the output name
+     */
+    private String caseName(Path casePath) {
+        Path absoluteRoot = root.toAbsolutePath().normalize();
+        Path absoluteCase = casePath.toAbsolutePath().normalize();
+        if (absoluteCase.startsWith(absoluteRoot) && !absoluteCase.equals(absoluteRoot)) {
+            return absoluteRoot.relativize(absoluteCase).toString();
+        }
+        return String.valueOf(absoluteCase.getFileName());
+    }
+}
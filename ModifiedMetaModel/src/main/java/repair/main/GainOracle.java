@@ -7,12 +7,15 @@ import org.slf4j.LoggerFactory;
 import repair.FileUtils;
 import repair.ast.MoNode;
 import repair.ast.parser.NodeParser;
+import repair.ast.visitor.CodePrinter;
 
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 
-import static org.apache.commons.io.FileUtils.writeStringToFile;
 import static repair.common.JDTUtils.genASTFromFile;
 import static repair.common.JDTUtils.getOnlyMethodDeclaration;
 
@@ -47,10 +50,13 @@ public class GainOracle {
         NodeParser parser = new NodeParser(fixedPath, beforeCompilationUnit);
         MoNode oracle = parser.process(method.get());
 
-        System.out.println(oracle.toString());
+        CodePrinter.print(oracle, System.out);
+        System.out.println();
         try {
             FileUtils.ensureDirectoryExists(oraclePath.getParent());
-            writeStringToFile(oraclePath.toFile(), oracle.toString(), "UTF-8", false);
+            try (Writer writer = Files.newBufferedWriter(oraclePath, StandardCharsets.UTF_8)) {
+                CodePrinter.print(oracle, writer);
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
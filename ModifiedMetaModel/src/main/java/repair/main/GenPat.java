@@ -8,6 +8,7 @@ import repair.FileUtils;
 import repair.apply.det.Detector;
 import repair.ast.MoNode;
 import repair.ast.parser.NodeParser;
+import repair.ast.visitor.CodePrinter;
 import repair.apply.apr.ApplyModification;
 import repair.apply.apr.ModificationException;
 import repair.apply.match.MatchInstance;
@@ -21,12 +22,14 @@ import repair.pattern.abstraction.TermFrequencyAbstractor;
 import repair.pattern.serialize.JsonSerializer;
 import repair.pattern.serialize.Serializer;
 
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import static org.apache.commons.io.FileUtils.writeStringToFile;
 import static org.junit.Assert.fail;
 import static repair.common.JDTUtils.genASTFromFile;
 import static repair.common.JDTUtils.getOnlyMethodDeclaration;
@@ -80,11 +83,14 @@ public class GenPat {
                     logger.warn("apply error: {}", e.getMessage());
                 }
 
-                String afterCopyCode = "class PlaceHold {" + applyModification.getRight().toString() + "}";
-
                 Path patchFilePath = patchPath.resolve(matchInstances.indexOf(matchInstance) + ".java");
                 FileUtils.ensureDirectoryExists(patchFilePath.getParent());
-                writeStringToFile(patchFilePath.toFile(), afterCopyCode, "UTF-8", false);
+                // print the right tree straight into the patch file
+                try (Writer writer = Files.newBufferedWriter(patchFilePath, StandardCharsets.UTF_8)) {
+                    writer.write("class PlaceHold {");
+                    CodePrinter.print(applyModification.getRight(), writer);
+                    writer.write("}");
+                }
             }
 
         } catch (Exception e) {
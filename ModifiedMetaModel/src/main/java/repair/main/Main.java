@@ -31,7 +31,10 @@ public class Main {
             case "genpat_detect" -> GenPat.detect_main(args);
             case "oracle" -> GainOracle.main(args);
             case "extract" -> Extract.main(args);
+            case "extract-batch" -> ExtractBatch.main(args);
+            case "build-freq" -> BuildFreq.main(args);
             case "abstract" -> Abstract.main(args);
+            case "abstract-batch" -> AbstractBatch.main(args);
             case "genpat_ab" -> GenPat.abstract_main(args);
             case "detect" -> Detect.main(args);
             case "genquery" -> GenQuery.main(args);
@@ -0,0 +1,65 @@
+package repair.main;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repair.FileUtils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 批处理的状态报告, shared by extract-batch and abstract-batch
+ * <p>
+ * A tab separated file with a header [name]\tstatus\tmillis\tmessage, one row per item written as soon as it
+ * finishes, so the report of a killed run still lists the finished items. Rows can be written from any thread.
+ */
+final class StatusReport implements Closeable {
+    private final static Logger logger = LoggerFactory.getLogger(StatusReport.class);
+
+    private final BufferedWriter writer;
+
+    private StatusReport(BufferedWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * @param name header of the first column
+     */
+    static StatusReport open(Path path, String name) throws IOException {
+        FileUtils.ensureDirectoryExists(path.toAbsolutePath());
+        BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        try {
+            writer.write(name + "\tstatus\tmillis\tmessage");
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            writer.close();
+            throw e;
+        }
+        return new StatusReport(writer);
+    }
+
+    /**
+     * a failed write is logged, the batch goes on
+     * @param message 空白字符被替换为一个空格, so a stack trace stays on its row
+     */
+    synchronized void write(Path item, Enum<?> status, long millis, String message) {
+        try {
+            String oneLine = message == null ? "" : message.replaceAll("\\s+", " ");
+            writer.write(item + "\t" + status + "\t" + millis + "\t" + oneLine);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            logger.error("Failed to write status of: {}", item, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
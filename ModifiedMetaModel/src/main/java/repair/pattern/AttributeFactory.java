@@ -7,6 +7,7 @@ import repair.pattern.abstraction.TermFrequencyAbstractor;
 import repair.pattern.attr.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -21,10 +22,86 @@ public class AttributeFactory {
     // 抽象器属性配置
     private static final AttributeConfig config = AttributeConfig.getAttributeConfig();
 
+    // 属性槽位：slot -> 属性类 / 构造器 / 权重 / 是否硬约束，匹配时按槽位访问，不再查 Map
+    private static final Class<? extends Attribute<?>>[] slotClasses;
+    private static final Function<MoNode, Attribute<?>>[] slotConstructors;
+    private static final double[] slotWeights;
+    private static final boolean[] slotHardConstraints;
+    private static final int[] slotCosts;
+    private static final Map<Class<? extends Attribute<?>>, Integer> classToSlot = new HashMap<>();
+
     static {
         attrToWeight.putAll(config.getAttrToWeight());
         registeredAttrs.putAll(config.getRegisteredAttrs());
         registeredAttrConstructors.putAll(config.getRegisteredAttrConstructors());
+
+        List<Class<? extends Attribute<?>>> slots = config.getAttrSlots();
+        slotClasses = slots.toArray(new Class[0]);
+        slotConstructors = config.getAttrSlotConstructors().toArray(new Function[0]);
+        slotWeights = new double[slots.size()];
+        slotHardConstraints = new boolean[slots.size()];
+        slotCosts = new int[slots.size()];
+        for (int slot = 0; slot < slots.size(); slot++) {
+            classToSlot.put(slots.get(slot), slot);
+            slotWeights[slot] = attrToWeight.get(slots.get(slot));
+            slotHardConstraints[slot] = HardConstraint.class.isAssignableFrom(slots.get(slot));
+            slotCosts[slot] = config.getAttrSlotCosts().get(slot);
+        }
+    }
+
+    public static int slotCount() {
+        return slotClasses.length;
+    }
+
+    /**
+     * @return slot of the attribute class, -1 if it is not registered
+     */
+    public static int slotOf(Class<?> attrClass) {
+        Integer slot = classToSlot.get(attrClass);
+        return slot == null ? -1 : slot;
+    }
+
+    public static Class<? extends Attribute<?>> slotClass(int slot) {
+        return slotClasses[slot];
+    }
+
+    public static double slotWeight(int slot) {
+        return slotWeights[slot];
+    }
+
+    public static boolean isHardConstraint(int slot) {
+        return slotHardConstraints[slot];
+    }
+
+    public static int slotCost(int slot) {
+        return slotCosts[slot];
+    }
+
+    public static Attribute<?> createAttr(int slot, MoNode node) {
+        return slotConstructors[slot].apply(node);
+    }
+
+    /**
+     * @return attributes of the node indexed by slot
+     */
+    public static Attribute<?>[] createAttributeSlots(MoNode node) {
+        Attribute<?>[] attributes = new Attribute<?>[slotClasses.length];
+        for (int slot = 0; slot < attributes.length; slot++) {
+            attributes[slot] = slotConstructors[slot].apply(node);
+        }
+        return attributes;
+    }
+
+    /**
+     * @param attributes attributes of a node keyed by class, as kept by Pattern
+     * @return the same attributes indexed by slot, null for missing ones
+     */
+    public static Attribute<?>[] toAttributeSlots(Map<Class<? extends Attribute<?>>, Attribute<?>> attributes) {
+        Attribute<?>[] slots = new Attribute<?>[slotClasses.length];
+        for (int slot = 0; slot < slots.length; slot++) {
+            slots[slot] = attributes.get(slotClasses[slot]);
+        }
+        return slots;
     }
 
     public static Attribute<?> createAttr(String key, MoNode initArg) throws IllegalAccessException, InstantiationException {
@@ -36,14 +113,9 @@ public class AttributeFactory {
     }
 
     public static Map<Class<? extends Attribute<?>>, Attribute<?>> createAttributes(MoNode node) {
-        Map<Class<? extends Attribute<?>>, Attribute<?>> attributes = new HashMap<>();
-        for (String key : registeredAttrs.keySet()) {
-            try {
-                Attribute<?> attr = createAttr(key, node);
-                attributes.put(registeredAttrs.get(key), attr);
-            } catch (IllegalAccessException | InstantiationException e) {
-                logger.error("Error creating attribute: " + key, e);
-            }
+        Map<Class<? extends Attribute<?>>, Attribute<?>> attributes = new HashMap<>(slotClasses.length * 2);
+        for (int slot = 0; slot < slotClasses.length; slot++) {
+            attributes.put(slotClasses[slot], slotConstructors[slot].apply(node));
         }
         return attributes;
     }
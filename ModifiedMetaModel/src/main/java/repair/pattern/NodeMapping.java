@@ -0,0 +1,133 @@
+package repair.pattern;
+
+import org.apache.commons.lang3.tuple.Pair;
+import repair.ast.MoNode;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable before -> after node mapping of a Pattern, built once from the diff and shared by
+ * NotLogicManager, the abstractors and ApplyModification.
+ * <p>
+ * Each side is kept as node ids sorted in ascending order with the nodes alongside, a lookup is a binary search
+ * on the id followed by an identity check, so nodes of other trees with the same id never match.
+ * It is serialized with the pattern, repairs do not need the transient DiffComparator.
+ */
+public final class NodeMapping implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 2960734104383326525L;
+
+    public static final NodeMapping EMPTY = new NodeMapping(List.of());
+
+    private final Side before;
+    private final Side after;
+    // the virtual roots are mapped as (null, null)
+    private final boolean nullMapped;
+
+    public NodeMapping(List<Pair<MoNode, MoNode>> nodeMappings) {
+        boolean hasNullPair = false;
+        int count = 0;
+        for (Pair<MoNode, MoNode> mapping : nodeMappings) {
+            if (mapping.getLeft() == null || mapping.getRight() == null) {
+                hasNullPair |= mapping.getLeft() == null && mapping.getRight() == null;
+            } else {
+                count++;
+            }
+        }
+        MoNode[] beforeNodes = new MoNode[count];
+        MoNode[] afterNodes = new MoNode[count];
+        int index = 0;
+        for (Pair<MoNode, MoNode> mapping : nodeMappings) {
+            if (mapping.getLeft() != null && mapping.getRight() != null) {
+                beforeNodes[index] = mapping.getLeft();
+                afterNodes[index] = mapping.getRight();
+                index++;
+            }
+        }
+        this.nullMapped = hasNullPair;
+        this.before = new Side(beforeNodes, afterNodes);
+        this.after = new Side(afterNodes, beforeNodes);
+    }
+
+    public boolean containsBefore(MoNode beforeNode) {
+        return beforeNode == null ? nullMapped : before.indexOf(beforeNode) >= 0;
+    }
+
+    public boolean containsAfter(MoNode afterNode) {
+        return afterNode == null ? nullMapped : after.indexOf(afterNode) >= 0;
+    }
+
+    /**
+     * @return the mapped node in after tree, null if the node is not mapped
+     */
+    public MoNode getAfter(MoNode beforeNode) {
+        return before.get(beforeNode);
+    }
+
+    /**
+     * @return the mapped node in before tree, null if the node is not mapped
+     */
+    public MoNode getBefore(MoNode afterNode) {
+        return after.get(afterNode);
+    }
+
+    public int size() {
+        return before.nodes.length + (nullMapped ? 1 : 0);
+    }
+
+    private static final class Side implements Serializable {
+        @Serial
+        private static final long serialVersionUID = -4619820237531846373L;
+
+        private final int[] ids;
+        private final MoNode[] nodes;
+        private final MoNode[] mapped;
+
+        Side(MoNode[] keys, MoNode[] values) {
+            Integer[] order = new Integer[keys.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingInt(i -> keys[i].getId()));
+
+            ids = new int[keys.length];
+            nodes = new MoNode[keys.length];
+            mapped = new MoNode[keys.length];
+            for (int i = 0; i < order.length; i++) {
+                ids[i] = keys[order[i]].getId();
+                nodes[i] = keys[order[i]];
+                mapped[i] = values[order[i]];
+            }
+        }
+
+        int indexOf(MoNode node) {
+            int index = Arrays.binarySearch(ids, node.getId());
+            if (index < 0) {
+                return -1;
+            }
+            // ids are only unique per counter run, scan the equal ids for the same node
+            int first = index;
+            while (first > 0 && ids[first - 1] == ids[index]) {
+                first--;
+            }
+            for (int i = first; i < ids.length && ids[i] == ids[index]; i++) {
+                if (nodes[i] == node) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        MoNode get(MoNode node) {
+            if (node == null) {
+                return null;
+            }
+            int index = indexOf(node);
+            return index < 0 ? null : mapped[index];
+        }
+    }
+}
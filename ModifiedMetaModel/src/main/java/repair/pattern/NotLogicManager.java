@@ -1,13 +1,10 @@
 package repair.pattern;
 
-import org.apache.commons.collections4.BidiMap;
-import org.apache.commons.collections4.bidimap.DualHashBidiMap;
-import repair.apply.builder.GumtreeMetaConstant;
 import repair.apply.diff.operations.InsertOperation;
 import repair.apply.diff.operations.MoveOperation;
 import repair.apply.diff.operations.TreeInsertOperation;
 import repair.ast.MoNode;
-import repair.ast.MoNodeType;
+import repair.ast.MoNodeTypeTable;
 import repair.ast.code.statement.MoBlock;
 import repair.ast.code.statement.MoExpressionStatement;
 import repair.ast.code.statement.MoTryStatement;
@@ -17,9 +14,12 @@ import repair.ast.visitor.FlattenScanner;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class NotLogicManager implements Serializable {
     @Serial
@@ -27,16 +27,8 @@ public class NotLogicManager implements Serializable {
 
     private final Pattern pattern;
 
-    private final BidiMap<MoNode, MoNode> beforeToAfterMap = new DualHashBidiMap<>();
-
     public NotLogicManager(Pattern pattern) {
         this.pattern = pattern;
-        pattern.getDiffComparator().getMappings().asSet().forEach(mapping -> {
-            MoNode beforeNode = (MoNode) mapping.first.getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
-            MoNode afterNode = (MoNode) mapping.second.getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
-            beforeToAfterMap.put(beforeNode, afterNode);
-        });
-
         gainInsertNodes();
         gainMoveNodes();
 
@@ -56,6 +48,8 @@ public class NotLogicManager implements Serializable {
                 .filter(operation -> operation instanceof MoveOperation)
                 .map(operation -> (MoveOperation) operation)
                 .toList();
+        // 子树的结构hash, 在所有move操作之间共享
+        Map<MoNode, Long> structuralHashes = new IdentityHashMap<>();
 
         for (MoveOperation moveOp : moveOps) {
             if (isStructureNode(moveOp.getMoveParent())) {
@@ -71,14 +65,7 @@ public class NotLogicManager implements Serializable {
                     }
                     MoNode finalParent = moveParent;
 
-                    Map<MoNode, Boolean> moveParentConsideredNode = new HashMap<>();
-                    for (MoNode beforeNode : new FlattenScanner().flatten(finalParent)) {
-                        // 排除掉新insert进来占位的和moveNode相同的节点
-                        List<MoNode> moveElement = new FlattenScanner().flatten(moveNode);
-                        if (! hasSameElement(beforeNode, moveElement)) {
-                            moveParentConsideredNode.put(beforeNode, true);
-                        }
-                    }
+                    Map<MoNode, Boolean> moveParentConsideredNode = moveParentConsideredNodes(moveNode, finalParent, structuralHashes);
 
                     // 去掉中间Skip层，包括block，expressionStmt等
                     if (moveNode instanceof MoBlock block) {
@@ -112,19 +99,26 @@ public class NotLogicManager implements Serializable {
                 .map(operation -> (InsertOperation) operation)
                 .toList();
 
+        Set<MoNode> moveParents = Collections.newSetFromMap(new IdentityHashMap<>());
+        moveNodes.forEach(moveNode -> moveParents.add(moveNode.moveParent()));
+        Set<MoNode> movedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        pattern.getAllOperations().stream()
+                .filter(operation -> operation instanceof MoveOperation)
+                .map(operation -> ((MoveOperation) operation).getMoveNode())
+                .forEach(movedNodes::add);
 
         // insert parent 在 before tree 中 （apply中的type1）
         for (TreeInsertOperation treeInsertOp : treeInsertOps) {
-            if (beforeToAfterMap.containsKey(treeInsertOp.getParent())) {
+            if (pattern.getNodeMapping().containsBefore(treeInsertOp.getParent())) {
                 MoNode insertNode = treeInsertOp.getAddNode();
                 MoNode insertParent = treeInsertOp.getParent();
 
                 // 如果插入节点的parent是move节点的话，那么他不在最终正确的位置上，直接忽略这种insert
-                if (insertInMovedNode(insertParent)) {
+                if (movedNodes.contains(insertParent)) {
                     continue;
                 }
                 // 如果插入的节点是move的parent，那么对应的逻辑直接在notin中体现
-                if (insertInMoveParent(insertNode)) {
+                if (moveParents.contains(insertNode)) {
                     continue;
                 }
 
@@ -169,7 +163,7 @@ public class NotLogicManager implements Serializable {
             MoNode insertParent = insertOp.getParent();
 
             // 如果插入的节点是move的parent，那么对应的逻辑直接在notin中体现
-            if (insertInMoveParent(insertNode)) {
+            if (moveParents.contains(insertNode)) {
                 continue;
             }
 
@@ -191,31 +185,59 @@ public class NotLogicManager implements Serializable {
 
     }
 
-    private boolean insertInMoveParent(MoNode insertParent) {
-        List<MoNode> movedParent = moveNodes.stream().map(MoveNode::moveParent).toList();
-        return movedParent.contains(insertParent);
+    private boolean isStructureNode(MoNode node) {
+        return MoNodeTypeTable.isStructureNode(node);
     }
 
-    private boolean insertInMovedNode(MoNode insertParent) {
-        List<MoNode> movedNodes = pattern.getAllOperations().stream()
-                .filter(operation -> operation instanceof MoveOperation)
-                .map(operation -> (MoveOperation) operation)
-                .map(MoveOperation::getMoveNode)
-                .toList();
+    /**
+     * @return nodes of moveParent without an isSame node in moveNode, 排除掉新insert进来占位的和moveNode相同的节点
+     */
+    static Map<MoNode, Boolean> moveParentConsideredNodes(MoNode moveNode, MoNode moveParent, Map<MoNode, Long> structuralHashes) {
+        // moveNode的节点按结构hash分桶, 只和hash相同的节点做isSame比较
+        Map<Long, List<MoNode>> moveElements = new HashMap<>();
+        for (MoNode moveElement : new FlattenScanner().flatten(moveNode)) {
+            moveElements.computeIfAbsent(structuralHash(moveElement, structuralHashes), hash -> new ArrayList<>())
+                    .add(moveElement);
+        }
 
-        return movedNodes.contains(insertParent);
+        Map<MoNode, Boolean> moveParentConsideredNode = new HashMap<>();
+        for (MoNode beforeNode : new FlattenScanner().flatten(moveParent)) {
+            List<MoNode> sameHashElements = moveElements.get(structuralHash(beforeNode, structuralHashes));
+            if (sameHashElements == null || ! hasSameElement(beforeNode, sameHashElements)) {
+                moveParentConsideredNode.put(beforeNode, true);
+            }
+        }
+        return moveParentConsideredNode;
     }
 
-    private boolean isStructureNode(MoNode node) {
-        List<MoNodeType> structureTypes = List.of(MoNodeType.TYPEIfStatement, MoNodeType.TYPETryStatement,
-                MoNodeType.TYPEForStatement, MoNodeType.TYPEWhileStatement, MoNodeType.TYPECatchClause,
-                MoNodeType.TYPEEnhancedForStatement, MoNodeType.TYPESynchronizedStatement, MoNodeType.TYPEBlock,
-                MoNodeType.TYPEDoStatement, MoNodeType.TYPESwitchStatement);
-
-        return structureTypes.contains(node.getMoNodeType());
+    /**
+     * isSame相同的子树hash相同: 节点类型, 叶子节点的源码, 子节点hash的和 (与顺序无关, as some nodes compare their children unordered)
+     */
+    private static long structuralHash(MoNode node, Map<MoNode, Long> structuralHashes) {
+        Long cached = structuralHashes.get(node);
+        if (cached != null) {
+            return cached;
+        }
+        long hash = node.getClass().getName().hashCode();
+        List<MoNode> children = node.getChildren();
+        if (children.isEmpty()) {
+            hash = hash * 31 + node.toSrcString().hashCode();
+        } else {
+            long childrenHash = 0;
+            for (MoNode child : children) {
+                if (child != null) {
+                    childrenHash += structuralHash(child, structuralHashes);
+                }
+            }
+            hash = hash * 31 + childrenHash;
+        }
+        hash *= 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 31;
+        structuralHashes.put(node, hash);
+        return hash;
     }
 
-    private boolean hasSameElement(MoNode child, List<MoNode> nodeList) {
+    private static boolean hasSameElement(MoNode child, List<MoNode> nodeList) {
         for (MoNode moNode : nodeList) {
             if (child.isSame(moNode)) {
                 return true;
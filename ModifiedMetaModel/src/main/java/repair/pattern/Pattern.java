@@ -2,16 +2,14 @@ package repair.pattern;
 
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.github.gumtreediff.actions.model.Action;
-import org.apache.commons.collections4.BidiMap;
-import org.apache.commons.collections4.bidimap.DualHashBidiMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import repair.ast.MoNode;
 import repair.ast.analysis.IdentifierManager;
 import repair.ast.visitor.FlattenScanner;
-import repair.apply.builder.GumtreeMetaConstant;
 import repair.apply.diff.DiffComparator;
 import repair.apply.diff.operations.Operation;
+import repair.apply.match.MatchPlan;
 import repair.pattern.attr.Attribute;
 import repair.pattern.serialize.rules.PatternSerializer;
 
@@ -32,11 +30,15 @@ public class Pattern implements Serializable {
      */
 
     private final DiffComparator.Mode actionMode;
+    /**
+     * matcher used for patternBefore0 -> patternAfter0, large methods may fall back to a cheaper one
+     */
+    private final DiffComparator.MatchStrategy matchStrategy;
     private final MoNode patternBefore0;
     private final MoNode patternAfter0;
     private final transient DiffComparator diffComparator;
     private List<Operation<? extends Action>> allOperations;
-    private final BidiMap<MoNode, MoNode> beforeToAfterMap = new DualHashBidiMap<>();
+    private final NodeMapping nodeMapping;
 
     public Pattern(MoNode patternBefore0, MoNode patternAfter0, DiffComparator.Mode actionMode) {
         this.actionMode = actionMode;
@@ -45,12 +47,9 @@ public class Pattern implements Serializable {
         diffComparator = new DiffComparator(actionMode);
         diffComparator.computeBeforeAfterMatch(patternBefore0, patternAfter0);
         this.allOperations = diffComparator.getAllOperations();
+        this.matchStrategy = diffComparator.getMatchStrategy();
 
-        diffComparator.getMappings().asSet().forEach(mapping -> {
-            MoNode beforeNode = (MoNode) mapping.first.getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
-            MoNode afterNode = (MoNode) mapping.second.getMetadata(GumtreeMetaConstant.MO_NODE_KEY);
-            beforeToAfterMap.put(beforeNode, afterNode);
-        });
+        this.nodeMapping = new NodeMapping(diffComparator.getNodeMappings());
 
         initAttributes();
         setNotLogicManager();
@@ -62,9 +61,11 @@ public class Pattern implements Serializable {
      */
     public Pattern(MoNode singleNode) {
         actionMode = null;
+        matchStrategy = null;
         this.patternBefore0 = singleNode;
         this.patternAfter0 = null;
         diffComparator = null;
+        nodeMapping = NodeMapping.EMPTY;
         initAttributes();
     }
 
@@ -98,6 +99,13 @@ public class Pattern implements Serializable {
         return nodeToAttributes;
     }
 
+    /**
+     * 编译匹配计划, the plan is immutable and can be shared by threads; compile again after abstraction
+     */
+    public MatchPlan compile() {
+        return MatchPlan.compile(this);
+    }
+
     /**
      * this field is used to manage the node in after tree, which need to add non-logic to dsl
      */
@@ -164,6 +172,10 @@ public class Pattern implements Serializable {
         return diffComparator;
     }
 
+    public DiffComparator.MatchStrategy getMatchStrategy() {
+        return matchStrategy;
+    }
+
     public List<Operation<? extends Action>> getAllOperations() {
         return allOperations;
     }
@@ -176,7 +188,10 @@ public class Pattern implements Serializable {
         return patternAfter0;
     }
 
-    public BidiMap<MoNode, MoNode> getBeforeToAfterMap() {
-        return beforeToAfterMap;
+    /**
+     * @return before -> after node mapping of patternBefore0 and patternAfter0, kept after deserialization
+     */
+    public NodeMapping getNodeMapping() {
+        return nodeMapping;
     }
 }
@@ -1,8 +1,9 @@
 package repair.pattern.abstraction;
 
-import org.apache.commons.collections4.BidiMap;
+import com.github.gumtreediff.actions.model.Action;
 import repair.ast.MoNode;
 import repair.apply.diff.operations.*;
+import repair.pattern.NodeMapping;
 import repair.pattern.Pattern;
 import repair.pattern.attr.Attribute;
 
@@ -16,48 +17,29 @@ public interface Abstractor {
 
     default List<MoNode> getActionRelatedNodes(Pattern pattern){
         List<MoNode> nodes = new ArrayList<>();
-        BidiMap<MoNode, MoNode> beforeToAfterMap = pattern.getBeforeToAfterMap();
-        pattern.getAllOperations().forEach(action -> {
-            if(action instanceof DeleteOperation deleteOperation) {
-                MoNode deleteNodeInBefore = deleteOperation.getDeleteNode();
-                nodes.add(deleteNodeInBefore);
-            } else if(action instanceof TreeDeleteOperation deleteOperation) {
-                MoNode deleteNodeInBefore = deleteOperation.getDeleteNodeInBefore();
-                nodes.add(deleteNodeInBefore);
-            } else if(action instanceof InsertOperation insertOperation) {
-                MoNode insertParent = insertOperation.getParent();
-                if(beforeToAfterMap.containsKey(insertParent)) {
-                    nodes.add(insertParent);
-                } else if (beforeToAfterMap.containsValue(insertParent)) {
-                    MoNode insertParentBefore = beforeToAfterMap.getKey(insertParent);
-                    nodes.add(insertParentBefore);
+        NodeMapping nodeMapping = pattern.getNodeMapping();
+        for (Operation<? extends Action> action : pattern.getAllOperations()) {
+            switch (action.getOperationType()) {
+                case DELETE -> nodes.add(((DeleteOperation) action).getDeleteNode());
+                case TREE_DELETE -> nodes.add(((TreeDeleteOperation) action).getDeleteNodeInBefore());
+                case UPDATE -> nodes.add(((UpdateOperation) action).getUpdateNode());
+                case INSERT, TREE_INSERT -> addParentInBefore(((AddOperator) action).getParent(), nodeMapping, nodes);
+                case MOVE -> {
+                    MoveOperation moveOperation = (MoveOperation) action;
+                    addParentInBefore(moveOperation.getParent(), nodeMapping, nodes);
+                    nodes.add(moveOperation.getMoveNode());
                 }
-            } else if (action instanceof TreeInsertOperation treeInsertOperation) {
-                MoNode insertParent = treeInsertOperation.getParent();
-                if(beforeToAfterMap.containsKey(insertParent)) {
-                    nodes.add(insertParent);
-                } else if (beforeToAfterMap.containsValue(insertParent)) {
-                    MoNode insertParentBefore = beforeToAfterMap.getKey(insertParent);
-                    nodes.add(insertParentBefore);
-                }
-            } else if (action instanceof MoveOperation moveOperation) {
-                MoNode moveParent = moveOperation.getParent();
-                if(beforeToAfterMap.containsKey(moveParent)) {
-                    nodes.add(moveParent);
-                } else if (beforeToAfterMap.containsValue(moveParent)) {
-                    MoNode moveParentBefore = beforeToAfterMap.getKey(moveParent);
-                    nodes.add(moveParentBefore);
-                }
-
-                MoNode moveNodeInBefore = moveOperation.getMoveNode();
-                nodes.add(moveNodeInBefore);
-            } else if(action instanceof UpdateOperation updateOperation) {
-                MoNode updateNodeInBefore = updateOperation.getUpdateNode();
-                nodes.add(updateNodeInBefore);
-            } else {
-                throw new RuntimeException("Unknown action type");
+                default -> throw new RuntimeException("Unknown action type");
             }
-        });
+        }
         return nodes;
     }
+
+    private static void addParentInBefore(MoNode parent, NodeMapping nodeMapping, List<MoNode> nodes) {
+        if(nodeMapping.containsBefore(parent)) {
+            nodes.add(parent);
+        } else if (nodeMapping.containsAfter(parent)) {
+            nodes.add(nodeMapping.getBefore(parent));
+        }
+    }
 }
@@ -0,0 +1,205 @@
+package repair.pattern.abstraction;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * LLM给出的抽象决策, indexed by node id
+ * <p>
+ * The json file is read with the Jackson streaming parser, every id list becomes a sorted int array, so a decision
+ * is a binary search instead of a search of a list of strings. Node ids come from a counter shared by every pattern
+ * extracted in one JVM and can be large, so the arrays hold the listed ids only. An id matches a node when it is the decimal form of the node
+ * id, a number or a string, as it did when the ids were compared as strings; anything else never matches.
+ * Missing sections are empty. The info is read only after parsing and can be shared between threads.
+ * <pre>
+ * {"considered_elements": [id...], "considered_attrs": {"exprType": [id...]}, "regex": {id: regex},
+ *  "insert_elements": {insertId: [id...]}, "move_elements": {moveId: [id...]}}
+ * </pre>
+ */
+public final class LLMAbstractInfo {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    public static final LLMAbstractInfo EMPTY = new LLMAbstractInfo();
+
+    private final IdSet consideredElements = new IdSet();
+    private final Map<String, IdSet> consideredAttrs = new HashMap<>();
+    private final Map<String, String> regex = new HashMap<>();
+    private final Map<Integer, IdSet> insertElements = new HashMap<>();
+    private final Map<Integer, IdSet> moveElements = new HashMap<>();
+
+    private LLMAbstractInfo() {
+    }
+
+    public static LLMAbstractInfo parse(Path abstractInfoPath) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(abstractInfoPath.toFile())) {
+            return parse(parser);
+        }
+    }
+
+    public static LLMAbstractInfo parse(String json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return parse(parser);
+        }
+    }
+
+    private static LLMAbstractInfo parse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("abstract info should be a json object");
+        }
+        LLMAbstractInfo info = new LLMAbstractInfo();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "considered_elements" -> readIds(parser, info.consideredElements);
+                case "considered_attrs" -> readIdMap(parser, info.consideredAttrs, key -> key);
+                case "regex" -> readRegex(parser, info.regex);
+                case "insert_elements" -> readIdMap(parser, info.insertElements, LLMAbstractInfo::parseId);
+                case "move_elements" -> readIdMap(parser, info.moveElements, LLMAbstractInfo::parseId);
+                default -> parser.skipChildren();
+            }
+        }
+        info.consideredElements.sort();
+        info.consideredAttrs.values().forEach(IdSet::sort);
+        info.insertElements.values().forEach(IdSet::sort);
+        info.moveElements.values().forEach(IdSet::sort);
+        return info;
+    }
+
+    /**
+     * @return the id, or null when the text is not the decimal form of an id
+     */
+    private static Integer parseId(String text) {
+        try {
+            int id = Integer.parseInt(text);
+            return id >= 0 && String.valueOf(id).equals(text) ? id : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void readIds(JsonParser parser, IdSet ids) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token.isScalarValue()) {
+                Integer id = parseId(parser.getText());
+                if (id != null) {
+                    ids.add(id);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static <K> void readIdMap(JsonParser parser, Map<K, IdSet> idMap, Function<String, K> keyParser)
+            throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            K key = keyParser.apply(parser.getCurrentName());
+            parser.nextToken();
+            if (key == null) {
+                parser.skipChildren();
+            } else {
+                readIds(parser, idMap.computeIfAbsent(key, k -> new IdSet()));
+            }
+        }
+    }
+
+    private static void readRegex(JsonParser parser, Map<String, String> regex) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String nodeId = parser.getCurrentName();
+            if (parser.nextToken().isScalarValue()) {
+                regex.put(nodeId, parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    public boolean isConsideredElement(int nodeId) {
+        return consideredElements.contains(nodeId);
+    }
+
+    /**
+     * @param attr attribute name in considered_attrs, e.g. exprType
+     */
+    public boolean isConsideredAttr(String attr, int nodeId) {
+        IdSet ids = consideredAttrs.get(attr);
+        return ids != null && ids.contains(nodeId);
+    }
+
+    /**
+     * @return false for every node when the LLM gave no decision for the inserted node
+     */
+    public boolean isConsideredInsertElement(int insertId, int nodeId) {
+        IdSet ids = insertElements.get(insertId);
+        return ids != null && ids.contains(nodeId);
+    }
+
+    public boolean isConsideredMoveElement(int moveId, int nodeId) {
+        IdSet ids = moveElements.get(moveId);
+        return ids != null && ids.contains(nodeId);
+    }
+
+    public boolean hasRegex() {
+        return !regex.isEmpty();
+    }
+
+    /**
+     * @return a copy for the pattern, node id to regex
+     */
+    public Map<String, String> getRegex() {
+        return new HashMap<>(regex);
+    }
+
+    /**
+     * 有序的id数组, memory in the number of listed ids instead of the largest id
+     */
+    private static final class IdSet {
+        private int[] ids = new int[0];
+        private int size = 0;
+
+        private void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(8, size * 2));
+            }
+            ids[size++] = id;
+        }
+
+        // called once after parsing, duplicates are dropped
+        private void sort() {
+            Arrays.sort(ids, 0, size);
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || ids[i] != ids[unique - 1]) {
+                    ids[unique++] = ids[i];
+                }
+            }
+            ids = Arrays.copyOf(ids, unique);
+            size = unique;
+        }
+
+        private boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
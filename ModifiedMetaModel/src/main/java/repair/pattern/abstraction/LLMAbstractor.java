@@ -1,7 +1,5 @@
 package repair.pattern.abstraction;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import repair.ast.MoNode;
@@ -16,24 +14,26 @@ import java.util.*;
 public class LLMAbstractor implements Abstractor {
     private final static Logger logger = LoggerFactory.getLogger(LLMAbstractor.class);
 
-    private final Path abstractInfoPath;
-    private final List<String> LLMConsideredElements;
-    private final Map<String, List<String>> LLMConsideredAttrs;
-
-    private final Map<String, String> LLMGuessRegexMap;
-
-    private final Map<String, List<String>> LLMConsideredInsertElement;
-    private final Map<String, List<String>> LLMConsideredMoveElement;
+    private final LLMAbstractInfo abstractInfo;
 
     public LLMAbstractor(Path abstractInfoPath) {
-        this.abstractInfoPath = abstractInfoPath;
-        this.LLMConsideredElements = new ArrayList<>();
-        this.LLMConsideredAttrs = new HashMap<>();
+        this(readAbstractInfo(abstractInfoPath));
+    }
 
-        this.LLMGuessRegexMap = new HashMap<>();
-        this.LLMConsideredInsertElement = new HashMap<>();
-        this.LLMConsideredMoveElement = new HashMap<>();
-        parseAbstractInfo();
+    /**
+     * @param abstractInfo parsed LLM decisions, can be shared by the abstractors of a batch
+     */
+    public LLMAbstractor(LLMAbstractInfo abstractInfo) {
+        this.abstractInfo = abstractInfo;
+    }
+
+    private static LLMAbstractInfo readAbstractInfo(Path abstractInfoPath) {
+        try {
+            return LLMAbstractInfo.parse(abstractInfoPath);
+        } catch (IOException e) {
+            logger.error("Failed to read abstract info file: {}", abstractInfoPath, e);
+            return LLMAbstractInfo.EMPTY;
+        }
     }
 
     @Override
@@ -41,7 +41,7 @@ public class LLMAbstractor implements Abstractor {
         // 包含了action相关的节点以及LLM考虑语义的节点
 //        return LLMConsideredElements.contains(String.valueOf(node.getId())) || actionRelatedConsiderNodes.contains(node);
 //        return LLMConsideredElements.contains(String.valueOf(node.getId()));
-        return LLMConsideredElements.contains(String.valueOf(node.getId())) && actionRelatedConsiderNodes.contains(node);
+        return abstractInfo.isConsideredElement(node.getId()) && actionRelatedConsiderNodes.contains(node);
     }
 
     @Override
@@ -61,11 +61,8 @@ public class LLMAbstractor implements Abstractor {
             return node instanceof MoName && actionRelatedConsiderNodes.contains(node);
         }
 
-        if(attribute instanceof ExprTypeAttribute exprTypeAttribute) {
-            String nodeId = String.valueOf(attribute.getNode().getId());
-            String attrName = exprTypeAttribute.getValue();
-            List<String> consideredExprTypeNodes = LLMConsideredAttrs.get("exprType");
-            return consideredExprTypeNodes.contains(nodeId);
+        if(attribute instanceof ExprTypeAttribute) {
+            return abstractInfo.isConsideredAttr("exprType", attribute.getNode().getId());
         }
         return false;
     }
@@ -139,8 +136,8 @@ public class LLMAbstractor implements Abstractor {
             }
         });
 
-        if (! LLMGuessRegexMap.isEmpty()) {
-            pattern.setNodeIdToRegex(LLMGuessRegexMap);
+        if (abstractInfo.hasRegex()) {
+            pattern.setNodeIdToRegex(abstractInfo.getRegex());
         }
 
         // insert or move nodes abstraction
@@ -149,118 +146,18 @@ public class LLMAbstractor implements Abstractor {
                 MoNode insertedNode = insertNode.insertNode();
                 Map<MoNode, Boolean> insertNodeToConsidered = insertNode.insertConsideredNode();
                 int insertId = insertedNode.getId();
-                if (LLMConsideredInsertElement.containsKey(String.valueOf(insertId))) {
-                    List<String> consideredSubInsertNodes = LLMConsideredInsertElement.get(String.valueOf(insertId));
-                    insertNodeToConsidered.forEach((node, value) -> {
-                        if (consideredSubInsertNodes.contains(String.valueOf(node.getId()))) {
-                            insertNodeToConsidered.put(node, true);
-                        } else {
-                            insertNodeToConsidered.put(node, false);
-                        }
-                    });
-                } else {
-                    insertNodeToConsidered.forEach((node, value) -> {
-                        insertNodeToConsidered.put(node, false);
-                    });
-                }
+                insertNodeToConsidered.replaceAll((node, value) ->
+                        abstractInfo.isConsideredInsertElement(insertId, node.getId()));
             });
 
             notLogicManager.getMoveNodes().forEach(moveNode -> {
                 MoNode movedNode = moveNode.moveNode();
                 Map<MoNode, Boolean> moveNodeToConsidered = moveNode.moveParentConsideredNode();
                 int moveId = movedNode.getId();
-                if (LLMConsideredMoveElement.containsKey(String.valueOf(moveId))) {
-                    List<String> consideredSubMoveNodes = LLMConsideredMoveElement.get(String.valueOf(moveId));
-                    moveNodeToConsidered.forEach((node, value) -> {
-                        if (consideredSubMoveNodes.contains(String.valueOf(node.getId()))) {
-                            moveNodeToConsidered.put(node, true);
-                        } else {
-                            moveNodeToConsidered.put(node, false);
-                        }
-                    });
-                } else {
-                    moveNodeToConsidered.forEach((node, value) -> {
-                        moveNodeToConsidered.put(node, false);
-                    });
-                }
+                moveNodeToConsidered.replaceAll((node, value) ->
+                        abstractInfo.isConsideredMoveElement(moveId, node.getId()));
             });
         });
 
     }
-
-    private void parseAbstractInfo() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        try {
-            // 读取 JSON 文件并反序列化为 JsonNode
-            JsonNode rootNode = objectMapper.readTree(this.abstractInfoPath.toFile());
-            // 解析 considered_elements
-            extractElements(rootNode.get("considered_elements"));
-            // 解析 considered_attrs
-            extractAttrs(rootNode.get("considered_attrs"));
-
-            // 解析 regex
-            extractGuessRegex(rootNode.get("regex"));
-            // 解析 insert_considered_elements
-            extractInsertElements(rootNode.get("insert_elements"));
-            // 解析 move_considered_elements
-            extractMoveElements(rootNode.get("move_elements"));
-        } catch (IOException e) {
-            logger.error("Failed to read abstract info file");
-        }
-    }
-
-    private void extractAttrs(JsonNode consideredAttrsNode) {
-        Iterator<Map.Entry<String, JsonNode>> attrs = consideredAttrsNode.fields();
-        while (attrs.hasNext()) {
-            Map.Entry<String, JsonNode> attr = attrs.next();
-            LLMConsideredAttrs.put(attr.getKey(), new ArrayList<>());
-            Iterator<JsonNode> nodes = attr.getValue().elements();
-            while (nodes.hasNext()) {
-                String id = nodes.next().asText();
-                LLMConsideredAttrs.get(attr.getKey()).add(id);
-            }
-        }
-    }
-
-    private void extractElements(JsonNode consideredElementsNode) {
-        // 解析 considered_elements
-        for (JsonNode element : consideredElementsNode) {
-            LLMConsideredElements.add(element.asText());
-        }
-    }
-
-    private void extractGuessRegex(JsonNode regexNode) {
-        Iterator<Map.Entry<String, JsonNode>> regexNames = regexNode.fields();
-        while (regexNames.hasNext()) {
-            Map.Entry<String, JsonNode> regexName = regexNames.next();
-            LLMGuessRegexMap.put(regexName.getKey(), regexName.getValue().asText());
-        }
-    }
-
-    private void extractInsertElements(JsonNode consideredInsertNode) {
-        Iterator<Map.Entry<String, JsonNode>> insertNodes = consideredInsertNode.fields();
-        while (insertNodes.hasNext()) {
-            Map.Entry<String, JsonNode> insert = insertNodes.next();
-            LLMConsideredInsertElement.put(insert.getKey(), new ArrayList<>());
-            Iterator<JsonNode> nodes = insert.getValue().elements();
-            while (nodes.hasNext()) {
-                String id = nodes.next().asText();
-                LLMConsideredInsertElement.get(insert.getKey()).add(id);
-            }
-        }
-    }
-
-    private void extractMoveElements(JsonNode consideredMoveNode) {
-        Iterator<Map.Entry<String, JsonNode>> moveNodes = consideredMoveNode.fields();
-        while (moveNodes.hasNext()) {
-            Map.Entry<String, JsonNode> move = moveNodes.next();
-            LLMConsideredMoveElement.put(move.getKey(), new ArrayList<>());
-            Iterator<JsonNode> nodes = move.getValue().elements();
-            while (nodes.hasNext()) {
-                String id = nodes.next().asText();
-                LLMConsideredMoveElement.get(move.getKey()).add(id);
-            }
-        }
-    }
-
 }
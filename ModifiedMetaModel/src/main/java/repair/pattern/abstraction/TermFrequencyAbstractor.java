@@ -5,35 +5,79 @@ import org.slf4j.LoggerFactory;
 import repair.FileUtils;
 import repair.ast.MoNode;
 import repair.ast.code.expression.MoExpression;
-import repair.ast.code.expression.MoMethodInvocation;
 import repair.ast.code.expression.MoName;
-import repair.ast.code.type.MoType;
 import repair.pattern.Pattern;
 import repair.pattern.attr.*;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 
 public class TermFrequencyAbstractor implements Abstractor {
     private final static Logger logger = LoggerFactory.getLogger(TermFrequencyAbstractor.class);
-    private final static Map<String, Integer> nameMap;
-    private final static Map<String, Integer> apiMap;
-    private final static Map<String, Integer> typeMap;
+    /**
+     * 词频词典所在目录, holding AllTokens_{var,api,type}.bin (or the legacy .txt tables), see build-freq
+     */
+    public static final String FREQ_DIR_PROPERTY = "genpat.freq.dir";
+    private final static String RESOURCE_DIR = "/freq/";
+    private final static Path LEGACY_DIR = Path.of("05resources");
+    // number of files the legacy text tables were counted on
     private final static int TOTAL_FILE_NUM = 1217392;
+
+    private final static TokenFrequencyDictionary nameMap;
+    private final static TokenFrequencyDictionary apiMap;
+    private final static TokenFrequencyDictionary typeMap;
     private final static double threshold = 0.005;
 
     static {
         try {
-            nameMap = FileUtils.loadGenPatMap(Path.of("05resources/AllTokens_var.txt"));
-            apiMap = FileUtils.loadGenPatMap(Path.of("05resources/AllTokens_api.txt"));
-            typeMap = FileUtils.loadGenPatMap(Path.of("05resources/AllTokens_type.txt"));
+            nameMap = loadDictionary(TokenCategory.VAR.getDictionaryName());
+            apiMap = loadDictionary(TokenCategory.API.getDictionaryName());
+            typeMap = loadDictionary(TokenCategory.TYPE.getDictionaryName());
         } catch (IOException e) {
             logger.error("Failed when load token mapping");
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * 依次查找 -Dgenpat.freq.dir, the classpath (/freq/), and 05resources under the working directory.
+     * A binary dictionary is mapped; a text table is only read when no binary one exists.
+     */
+    static TokenFrequencyDictionary loadDictionary(String name) throws IOException {
+        String freqDir = System.getProperty(FREQ_DIR_PROPERTY);
+        if (freqDir != null) {
+            TokenFrequencyDictionary dictionary = loadFromDirectory(Path.of(freqDir), name);
+            if (dictionary == null) {
+                throw new IOException("Token frequency dictionary " + name + " not found in " + freqDir);
+            }
+            return dictionary;
+        }
+        TokenFrequencyDictionary dictionary = TokenFrequencyDictionary.fromResource(RESOURCE_DIR + name + TokenFrequencyDictionary.FILE_SUFFIX);
+        if (dictionary != null) {
+            return dictionary;
+        }
+        dictionary = loadFromDirectory(LEGACY_DIR, name);
+        if (dictionary == null) {
+            throw new IOException("Token frequency dictionary " + name + " not found");
+        }
+        return dictionary;
+    }
+
+    private static TokenFrequencyDictionary loadFromDirectory(Path dir, String name) throws IOException {
+        Path binary = dir.resolve(name + TokenFrequencyDictionary.FILE_SUFFIX);
+        if (Files.isRegularFile(binary)) {
+            return TokenFrequencyDictionary.open(binary);
+        }
+        Path text = dir.resolve(name + ".txt");
+        if (Files.isRegularFile(text)) {
+            logger.info("Loading text token table {}", text);
+            return TokenFrequencyDictionary.of(FileUtils.loadGenPatMap(text), TOTAL_FILE_NUM);
+        }
+        return null;
+    }
+
     private final Set<MoNode> considerNodeCandidates = new HashSet<>();
 
     @Override
@@ -56,14 +100,11 @@ public class TermFrequencyAbstractor implements Abstractor {
         MoNode node = attribute.getNode();
         if(attribute instanceof NameAttribute) {
             if (node instanceof MoName name) {
-                MoNode parent = name.getParent();
-                if(parent instanceof MoMethodInvocation) {
-                    return abstraction(name.getIdentifier(), apiMap);
-                } else if(parent instanceof MoType) {
-                    return abstraction(name.getIdentifier(), typeMap);
-                } else {
-                    return abstraction(name.getIdentifier(), nameMap);
-                }
+                return switch (TokenCategory.of(name)) {
+                    case API -> abstraction(name.getIdentifier(), apiMap);
+                    case TYPE -> abstraction(name.getIdentifier(), typeMap);
+                    case VAR -> abstraction(name.getIdentifier(), nameMap);
+                };
             } else {
                 return false;
             }
@@ -102,10 +143,10 @@ public class TermFrequencyAbstractor implements Abstractor {
             if (node.context.getDataDependency() != null) {
                 considerNodeCandidates.add(node.context.getDataDependency());
             }
-            MoNode nodeAfter = pattern.getBeforeToAfterMap().get(node);
+            MoNode nodeAfter = pattern.getNodeMapping().getAfter(node);
             if(nodeAfter != null) {
                 if (nodeAfter.context.getDataDependency() != null) {
-                    MoNode dataDepBefore = pattern.getBeforeToAfterMap().getKey(nodeAfter.context.getDataDependency());
+                    MoNode dataDepBefore = pattern.getNodeMapping().getBefore(nodeAfter.context.getDataDependency());
                     considerNodeCandidates.add(dataDepBefore);
                 }
             }
@@ -128,12 +169,12 @@ public class TermFrequencyAbstractor implements Abstractor {
     /**
      * 频率小于阈值的时候说明这个东西可能比较重要
      * @param token
-     * @param map
+     * @param dictionary
      * @return
      */
-    private boolean abstraction(String token, Map<String, Integer> map) {
-        double numInDoc = map.getOrDefault(token, 1);
-        double frequency = numInDoc / TOTAL_FILE_NUM;
+    private boolean abstraction(String token, TokenFrequencyDictionary dictionary) {
+        double numInDoc = dictionary.getOrDefault(token, 1);
+        double frequency = numInDoc / dictionary.getTotalFiles();
         return frequency < threshold;
     }
 }
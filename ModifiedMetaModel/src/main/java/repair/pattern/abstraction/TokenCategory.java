@@ -0,0 +1,38 @@
+package repair.pattern.abstraction;
+
+import repair.ast.MoNode;
+import repair.ast.code.expression.MoMethodInvocation;
+import repair.ast.code.expression.MoName;
+import repair.ast.code.type.MoType;
+
+/**
+ * 名字所属的词频词典, decided by the parent of the name
+ * <p>
+ * Shared by TermFrequencyAbstractor when it looks a name up and by TokenFrequencyCounter when it counts one,
+ * so a corpus built by build-freq is classified exactly as the abstractor reads it.
+ */
+public enum TokenCategory {
+    VAR("AllTokens_var"),
+    API("AllTokens_api"),
+    TYPE("AllTokens_type");
+
+    private final String dictionaryName;
+
+    TokenCategory(String dictionaryName) {
+        this.dictionaryName = dictionaryName;
+    }
+
+    public String getDictionaryName() {
+        return dictionaryName;
+    }
+
+    public static TokenCategory of(MoName name) {
+        MoNode parent = name.getParent();
+        if (parent instanceof MoMethodInvocation) {
+            return API;
+        } else if (parent instanceof MoType) {
+            return TYPE;
+        }
+        return VAR;
+    }
+}
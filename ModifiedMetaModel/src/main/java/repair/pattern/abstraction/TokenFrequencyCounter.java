@@ -0,0 +1,85 @@
+package repair.pattern.abstraction;
+
+import repair.ast.MoNode;
+import repair.ast.code.expression.MoName;
+import repair.ast.declaration.MoMethodDeclaration;
+import repair.ast.visitor.FlattenScanner;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 统计语料中每个名字出现在多少个文件中 (document frequency), per TokenCategory
+ * <p>
+ * Not thread safe: build-freq gives every worker its own counter and merges them at the end.
+ */
+public class TokenFrequencyCounter {
+    private final Map<TokenCategory, Map<String, Integer>> counts = new EnumMap<>(TokenCategory.class);
+    private long totalFiles = 0;
+
+    public TokenFrequencyCounter() {
+        for (TokenCategory category : TokenCategory.values()) {
+            counts.put(category, new HashMap<>());
+        }
+    }
+
+    /**
+     * count the names inside the methods of one file, each distinct name once
+     * <p>
+     * TermFrequencyAbstractor只查询方法中的名字, so names of imports, the package and fields are not counted.
+     * @param root root of the file, usually a MoCompilationUnit
+     */
+    public void addFile(MoNode root) {
+        Map<TokenCategory, Set<String>> seen = new EnumMap<>(TokenCategory.class);
+        for (MoNode node : new FlattenScanner().flatten(root)) {
+            if (node instanceof MoName name && inMethod(name)) {
+                seen.computeIfAbsent(TokenCategory.of(name), category -> new HashSet<>()).add(name.getIdentifier());
+            }
+        }
+        seen.forEach((category, tokens) -> {
+            Map<String, Integer> categoryCounts = counts.get(category);
+            tokens.forEach(token -> categoryCounts.merge(token, 1, Integer::sum));
+        });
+        totalFiles++;
+    }
+
+    private static boolean inMethod(MoNode node) {
+        for (MoNode parent = node.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent instanceof MoMethodDeclaration) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void merge(TokenFrequencyCounter other) {
+        other.counts.forEach((category, otherCounts) -> {
+            Map<String, Integer> categoryCounts = counts.get(category);
+            otherCounts.forEach((token, count) -> categoryCounts.merge(token, count, Integer::sum));
+        });
+        totalFiles += other.totalFiles;
+    }
+
+    public Map<String, Integer> getCounts(TokenCategory category) {
+        return counts.get(category);
+    }
+
+    public long getTotalFiles() {
+        return totalFiles;
+    }
+
+    /**
+     * 写出 AllTokens_{var,api,type}.bin, the files TermFrequencyAbstractor loads from -Dgenpat.freq.dir
+     */
+    public void write(Path outputDir) throws IOException {
+        for (TokenCategory category : TokenCategory.values()) {
+            Path file = outputDir.resolve(category.getDictionaryName() + TokenFrequencyDictionary.FILE_SUFFIX);
+            TokenFrequencyDictionary.write(counts.get(category), totalFiles, file);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package repair.pattern.abstraction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 只读的token频率词典, 二进制格式, 可以直接内存映射
+ * <p>
+ * Tokens are placed by a minimal perfect hash (hash and displace): a token hashes to a bucket, the bucket's
+ * displacement picks its slot, and the slot keeps a 64-bit fingerprint of the token to tell absent tokens apart,
+ * plus its count packed in 1, 2 or 4 bytes. Opening maps the file and reads the header only, so startup does not
+ * depend on the vocabulary size, and lookups read the buffer without locks.
+ * <pre>
+ * int magic, int version, long totalFiles, int size, int countWidth,
+ * int[size] displacements, long[size] fingerprints, countWidth * size counts
+ * </pre>
+ */
+public final class TokenFrequencyDictionary {
+    private static final Logger logger = LoggerFactory.getLogger(TokenFrequencyDictionary.class);
+    public static final String FILE_SUFFIX = ".bin";
+    private static final int MAGIC = 0x47505446; // "GPTF"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4;
+
+    private final ByteBuffer buffer;
+    private final long totalFiles;
+    private final int size;
+    private final int countWidth;
+    private final int displacementOffset;
+    private final int fingerprintOffset;
+    private final int countOffset;
+
+    private TokenFrequencyDictionary(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("not a token frequency dictionary");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("unsupported token frequency dictionary version: " + buffer.getInt(4));
+        }
+        totalFiles = buffer.getLong(8);
+        size = buffer.getInt(16);
+        countWidth = buffer.getInt(20);
+        displacementOffset = HEADER_SIZE;
+        fingerprintOffset = displacementOffset + 4 * size;
+        countOffset = fingerprintOffset + 8 * size;
+        if (size < 0 || (countWidth != 1 && countWidth != 2 && countWidth != 4)
+                || (long) countOffset + (long) countWidth * size > buffer.limit()) {
+            throw new IOException("corrupted token frequency dictionary");
+        }
+    }
+
+    /**
+     * 内存映射一个词典文件
+     */
+    public static TokenFrequencyDictionary open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return new TokenFrequencyDictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @param resource classpath resource, mapped when it is a plain file and read otherwise (e.g. inside a jar)
+     * @return null if the resource does not exist
+     */
+    public static TokenFrequencyDictionary fromResource(String resource) throws IOException {
+        URL url = TokenFrequencyDictionary.class.getResource(resource);
+        if (url == null) {
+            return null;
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return open(Path.of(url.toURI()));
+            } catch (URISyntaxException e) {
+                logger.warn("Cannot map resource {}, reading it instead", url, e);
+            }
+        }
+        try (InputStream inputStream = url.openStream()) {
+            return new TokenFrequencyDictionary(ByteBuffer.wrap(inputStream.readAllBytes()));
+        }
+    }
+
+    /**
+     * build a dictionary in memory, used for the legacy text tables
+     */
+    public static TokenFrequencyDictionary of(Map<String, Integer> counts, long totalFiles) {
+        try {
+            return new TokenFrequencyDictionary(ByteBuffer.wrap(build(counts, totalFiles)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 写出词典, through a temporary file so readers never see a partial one
+     */
+    public static void write(Map<String, Integer> counts, long totalFiles, Path file) throws IOException {
+        byte[] data = build(counts, totalFiles);
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(temp)) {
+                outputStream.write(data);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static byte[] build(Map<String, Integer> counts, long totalFiles) {
+        int size = counts.size();
+        String[] tokens = counts.keySet().toArray(new String[0]);
+        long[] hashes = new long[size];
+        Map<Long, String> seen = new HashMap<>();
+        int maxCount = 0;
+        for (int i = 0; i < size; i++) {
+            hashes[i] = hash(tokens[i]);
+            String previous = seen.put(hashes[i], tokens[i]);
+            if (previous != null) {
+                throw new IllegalArgumentException("tokens share a fingerprint: " + previous + ", " + tokens[i]);
+            }
+            int count = counts.get(tokens[i]);
+            if (count < 0) {
+                throw new IllegalArgumentException("negative count of " + tokens[i] + ": " + count);
+            }
+            maxCount = Math.max(maxCount, count);
+        }
+        int countWidth = maxCount <= 0xFF ? 1 : maxCount <= 0xFFFF ? 2 : 4;
+
+        // 按桶分组, the largest buckets are placed first while most slots are free
+        List<List<Integer>> buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayList<>(1));
+        }
+        for (int i = 0; i < size; i++) {
+            buckets.get(slotOf(hashes[i], 0, size)).add(i);
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(buckets.get(b).size(), buckets.get(a).size()));
+
+        int[] displacements = new int[size];
+        int[] slotToken = new int[size];
+        Arrays.fill(slotToken, -1);
+        int freeSlot = 0;
+        for (int bucket : order) {
+            List<Integer> members = buckets.get(bucket);
+            if (members.isEmpty()) {
+                break;
+            }
+            if (members.size() == 1) {
+                // 单个token直接放进空位, encoded as a negative displacement
+                while (slotToken[freeSlot] != -1) {
+                    freeSlot++;
+                }
+                slotToken[freeSlot] = members.get(0);
+                displacements[bucket] = -freeSlot - 1;
+                continue;
+            }
+            int[] slots = new int[members.size()];
+            for (int displacement = 1; ; displacement++) {
+                if (tryPlace(members, hashes, displacement, size, slotToken, slots)) {
+                    for (int j = 0; j < slots.length; j++) {
+                        slotToken[slots[j]] = members.get(j);
+                    }
+                    displacements[bucket] = displacement;
+                    break;
+                }
+            }
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + 4 * size + 8 * size + countWidth * size);
+        out.putInt(MAGIC).putInt(VERSION).putLong(totalFiles).putInt(size).putInt(countWidth);
+        for (int displacement : displacements) {
+            out.putInt(displacement);
+        }
+        for (int slot = 0; slot < size; slot++) {
+            out.putLong(hashes[slotToken[slot]]);
+        }
+        for (int slot = 0; slot < size; slot++) {
+            int count = counts.get(tokens[slotToken[slot]]);
+            switch (countWidth) {
+                case 1 -> out.put((byte) count);
+                case 2 -> out.putShort((short) count);
+                default -> out.putInt(count);
+            }
+        }
+        return out.array();
+    }
+
+    private static boolean tryPlace(List<Integer> members, long[] hashes, int displacement, int size,
+                                    int[] slotToken, int[] slots) {
+        for (int j = 0; j < members.size(); j++) {
+            int slot = slotOf(hashes[members.get(j)], displacement, size);
+            if (slotToken[slot] != -1) {
+                return false;
+            }
+            for (int k = 0; k < j; k++) {
+                if (slots[k] == slot) {
+                    return false;
+                }
+            }
+            slots[j] = slot;
+        }
+        return true;
+    }
+
+    private static long hash(String token) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < token.length(); i++) {
+            hash = (hash ^ token.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static int slotOf(long hash, int displacement, int size) {
+        return (int) Long.remainderUnsigned(mix(hash + displacement * 0x9E3779B97F4A7C15L), size);
+    }
+
+    /**
+     * @return number of files containing the token, or defaultCount if it is not in the dictionary
+     */
+    public int getOrDefault(String token, int defaultCount) {
+        if (size == 0) {
+            return defaultCount;
+        }
+        long hash = hash(token);
+        int displacement = buffer.getInt(displacementOffset + 4 * slotOf(hash, 0, size));
+        int slot = displacement < 0 ? -displacement - 1 : slotOf(hash, displacement, size);
+        if (buffer.getLong(fingerprintOffset + 8 * slot) != hash) {
+            return defaultCount;
+        }
+        int index = countOffset + countWidth * slot;
+        return switch (countWidth) {
+            case 1 -> buffer.get(index) & 0xFF;
+            case 2 -> buffer.getShort(index) & 0xFFFF;
+            default -> buffer.getInt(index);
+        };
+    }
+
+    /**
+     * @return number of files of the corpus the counts come from
+     */
+    public long getTotalFiles() {
+        return totalFiles;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -1,5 +1,6 @@
 package repair.pattern.attr;
 
+import repair.apply.match.SimilarityMemo;
 import repair.ast.MoNode;
 import repair.ast.visitor.FlattenScanner;
 import repair.pattern.AttributeFactory;
@@ -8,6 +9,7 @@ import java.io.Serial;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * 描述某个节点的某种属性
@@ -45,6 +47,21 @@ public abstract class Attribute<T> implements Serializable {
     // for hard constraint, if the attribute is unMatched, return -1
     public abstract double similarity(Attribute<?> other);
 
+    /**
+     * 在计算相似度之前的快速判断, false only when similarity(other) cannot exceed minSimilarity
+     * (up to the error an estimating attribute documents)
+     */
+    public boolean mayReach(Attribute<?> other, double minSimilarity) {
+        return true;
+    }
+
+    /**
+     * @return hash of the attribute value, equal values give equal hashes, used as the key of SimilarityMemo
+     */
+    public long structuralHash(long seed) {
+        return SimilarityMemo.mix(seed, Objects.hashCode(value));
+    }
+
     public static Map<MoNode, Map<Class<? extends Attribute<?>>, Attribute<?>>> computeAttributes(MoNode left) {
         Map<MoNode, Map<Class<? extends Attribute<?>>, Attribute<?>>> nodeToAttributes = new HashMap<>();
         for (MoNode leftNode : new FlattenScanner().flatten(left)) {
@@ -54,4 +71,25 @@ public abstract class Attribute<T> implements Serializable {
         return nodeToAttributes;
     }
 
+    /**
+     * @return attributes of every node of left, stored by slot and created on first access, used by the matcher
+     */
+    public static AttributeTable computeAttributeTable(MoNode left) {
+        return new AttributeTable(left);
+    }
+
+    /**
+     * @param neededSlots slots read by the matcher, see MatchPlan.getNeededSlots
+     */
+    public static AttributeTable computeAttributeTable(MoNode left, boolean[] neededSlots) {
+        return new AttributeTable(left, neededSlots);
+    }
+
+    /**
+     * @param tokenIds session of the MatchPlan the table is matched with, see TokenIdSpace
+     */
+    public static AttributeTable computeAttributeTable(MoNode left, boolean[] neededSlots, TokenIdSpace tokenIds) {
+        return new AttributeTable(left, neededSlots, tokenIds);
+    }
+
 }
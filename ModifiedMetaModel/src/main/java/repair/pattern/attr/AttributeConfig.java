@@ -2,7 +2,9 @@ package repair.pattern.attr;
 
 import repair.ast.MoNode;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -13,10 +15,48 @@ public class AttributeConfig {
     // 属性权重，相加为1， 每个属性range [-1] [0, 1]
     public static final Map<Class<? extends Attribute<?>>, Double> attrToWeight = new HashMap<>();
 
+    // 每个属性的槽位，按注册顺序编号
+    private static final List<Class<? extends Attribute<?>>> attrSlots = new ArrayList<>();
+    private static final List<Function<MoNode, Attribute<?>>> attrSlotConstructors = new ArrayList<>();
+    // 相对计算代价，匹配时代价小的属性先比较
+    private static final List<Integer> attrSlotCosts = new ArrayList<>();
+
     public void addAttribute(String name, Class<? extends Attribute<?>> attrClass, double weight, Function<MoNode, Attribute<?>> constructor) {
+        addAttribute(name, attrClass, weight, 1, constructor);
+    }
+
+    /**
+     * @param cost relative cost of similarity, cheap attributes are compared first
+     */
+    public void addAttribute(String name, Class<? extends Attribute<?>> attrClass, double weight, int cost, Function<MoNode, Attribute<?>> constructor) {
         attrToWeight.put(attrClass, weight);
         registeredAttrs.put(name, attrClass);
         registeredAttrConstructors.put(name, constructor);
+
+        int slot = attrSlots.indexOf(attrClass);
+        if (slot < 0) {
+            attrSlots.add(attrClass);
+            attrSlotConstructors.add(constructor);
+            attrSlotCosts.add(cost);
+        } else {
+            attrSlotConstructors.set(slot, constructor);
+            attrSlotCosts.set(slot, cost);
+        }
+    }
+
+    /**
+     * @return attribute classes, the index of a class is its slot
+     */
+    public List<Class<? extends Attribute<?>>> getAttrSlots() {
+        return attrSlots;
+    }
+
+    public List<Function<MoNode, Attribute<?>>> getAttrSlotConstructors() {
+        return attrSlotConstructors;
+    }
+
+    public List<Integer> getAttrSlotCosts() {
+        return attrSlotCosts;
     }
 
     public Map<Class<? extends Attribute<?>>, Double> getAttrToWeight() {
@@ -41,7 +81,7 @@ public class AttributeConfig {
         attributeConfig.addAttribute("NameAttribute", NameAttribute.class, 1.0, NameAttribute::new);
         attributeConfig.addAttribute("ExprTypeAttribute", ExprTypeAttribute.class, 1.0, ExprTypeAttribute::new);
         attributeConfig.addAttribute("MoTypeAttribute", MoTypeAttribute.class, 0.5, MoTypeAttribute::new);
-        attributeConfig.addAttribute("TokenAttribute", TokenAttribute.class, 0.5, TokenAttribute::new);
+        attributeConfig.addAttribute("TokenAttribute", TokenAttribute.class, 0.5, 10, TokenAttribute::new);
     }
 
     public static AttributeConfig getAttributeConfig() {
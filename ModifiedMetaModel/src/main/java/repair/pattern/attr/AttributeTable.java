@@ -0,0 +1,85 @@
+package repair.pattern.attr;
+
+import repair.ast.MoNode;
+import repair.ast.visitor.FlattenScanner;
+import repair.pattern.AttributeFactory;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 一棵树所有节点的属性，按列存储
+ * <p>
+ * Nodes are numbered in pre-order, column[slot][index] is the attribute of the slot (see AttributeFactory) for the node.
+ * An attribute is created on first access, so a node rejected by the hard constraints is never tokenized,
+ * and only the needed slots can be read. Token attributes are numbered in the token id space of the table.
+ */
+public class AttributeTable {
+    private final List<MoNode> nodes;
+    private final boolean[] neededSlots;
+    private final Attribute<?>[][] columns;
+    private final TokenIdSpace tokenIds;
+
+    public AttributeTable(MoNode root) {
+        this(root, allSlots());
+    }
+
+    /**
+     * @param neededSlots slots that may be read, indexed by slot
+     */
+    public AttributeTable(MoNode root, boolean[] neededSlots) {
+        this(root, neededSlots, new TokenIdSpace());
+    }
+
+    /**
+     * @param tokenIds a session of the MatchPlan, so the tokens can be compared with the pattern by id
+     */
+    public AttributeTable(MoNode root, boolean[] neededSlots, TokenIdSpace tokenIds) {
+        this.tokenIds = tokenIds;
+        this.nodes = new FlattenScanner().flatten(root);
+        this.neededSlots = Arrays.copyOf(neededSlots, AttributeFactory.slotCount());
+        this.columns = new Attribute<?>[AttributeFactory.slotCount()][];
+    }
+
+    private static boolean[] allSlots() {
+        boolean[] slots = new boolean[AttributeFactory.slotCount()];
+        Arrays.fill(slots, true);
+        return slots;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public MoNode getNode(int index) {
+        return nodes.get(index);
+    }
+
+    public List<MoNode> getNodes() {
+        return nodes;
+    }
+
+    public boolean isNeeded(int slot) {
+        return neededSlots[slot];
+    }
+
+    public Attribute<?> get(int slot, int index) {
+        Attribute<?>[] column = columns[slot];
+        if (column == null) {
+            if (!neededSlots[slot]) {
+                throw new IllegalArgumentException("attribute is not needed: " + AttributeFactory.slotClass(slot).getSimpleName());
+            }
+            column = new Attribute<?>[nodes.size()];
+            columns[slot] = column;
+        }
+        Attribute<?> attribute = column[index];
+        if (attribute == null) {
+            attribute = AttributeFactory.createAttr(slot, nodes.get(index));
+            if (attribute instanceof TokenAttribute tokenAttribute) {
+                tokenAttribute.setTokenIdSpace(tokenIds);
+            }
+            column[index] = attribute;
+        }
+        return attribute;
+    }
+}
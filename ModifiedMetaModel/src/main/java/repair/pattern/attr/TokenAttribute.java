@@ -4,12 +4,13 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import repair.apply.match.MatchAlgorithm;
+import repair.apply.match.SimilarityMemo;
+import repair.apply.match.TokenSketch;
 import repair.ast.MoNode;
 import repair.pattern.serialize.rules.TokenAttrSerializer;
 
 import java.io.Serial;
 import java.util.List;
-import java.util.Map;
 
 @RegisterAttr
 @JsonSerialize(using = TokenAttrSerializer.class)
@@ -18,20 +19,130 @@ public class TokenAttribute extends Attribute<List<String>> {
     @Serial
     private static final long serialVersionUID = -2750203356772598719L;
 
+    // 所属的编号空间, see TokenIdSpace; null for attributes created outside a matching session
+    private transient TokenIdSpace tokenIdSpace;
+    private transient int[] tokenIds;
+    private transient TokenSketch sketch;
+    private transient long[] tokenHashes;
+
     public TokenAttribute(MoNode node) {
         super(node);
         this.value = node.tokens();
         super.considered = true;
     }
 
+    private TokenAttribute(TokenAttribute attribute, TokenIdSpace tokenIdSpace) {
+        super(attribute.node);
+        this.value = attribute.value;
+        this.considered = attribute.considered;
+        this.tokenIdSpace = tokenIdSpace;
+    }
+
+    /**
+     * @return a copy with its tokens numbered in the space now, so a copy shared by threads is never written
+     */
+    public TokenAttribute withTokenIds(TokenIdSpace tokenIdSpace) {
+        TokenAttribute copy = new TokenAttribute(this, tokenIdSpace);
+        copy.getSketch();
+        copy.getTokenHashes();
+        return copy;
+    }
+
+    /**
+     * set by the AttributeTable that created the attribute, before it is read
+     */
+    void setTokenIdSpace(TokenIdSpace tokenIdSpace) {
+        this.tokenIdSpace = tokenIdSpace;
+    }
+
     @Override
     public double similarity(Attribute<?> other) {
         if (other instanceof TokenAttribute tokenAttribute) {
-            Map<Integer, Integer> lcsMatch = MatchAlgorithm.LCSMatch(this.value, tokenAttribute.value, (o1, o2) -> o1.equals(o2) ? 1 : 0);
-            return (lcsMatch.size() * 2.0) / (double) (this.value.size() + tokenAttribute.value.size());
+            int lcsLength;
+            if (sharesTokenIds(tokenAttribute)) {
+                lcsLength = MatchAlgorithm.lcsLength(this.getTokenIds(), tokenAttribute.getTokenIds());
+            } else {
+                // 不在同一个编号空间, number both in a temporary one
+                TokenIdSpace space = new TokenIdSpace();
+                lcsLength = MatchAlgorithm.lcsLength(space.intern(this.value), space.intern(tokenAttribute.value));
+            }
+            return (lcsLength * 2.0) / (double) (this.value.size() + tokenAttribute.value.size());
         }
         logger.error("Cannot compare TokenAttribute with " + other.getClass());
         return -1;
     }
 
+    /**
+     * rejects pairs whose LCS similarity is clearly below minSimilarity, see TokenSketch
+     */
+    @Override
+    public boolean mayReach(Attribute<?> other, double minSimilarity) {
+        if (other instanceof TokenAttribute tokenAttribute && sharesTokenIds(tokenAttribute)) {
+            return getSketch().mayReach(tokenAttribute.getSketch(), minSimilarity, () -> similarity(other));
+        }
+        return true;
+    }
+
+    private boolean sharesTokenIds(TokenAttribute other) {
+        return tokenIdSpace != null && other.tokenIdSpace != null && tokenIdSpace.isComparable(other.tokenIdSpace);
+    }
+
+    /**
+     * @return MinHash sketch of the tokens, built with the token ids
+     */
+    public TokenSketch getSketch() {
+        TokenSketch tokenSketch = sketch;
+        if (tokenSketch == null) {
+            tokenSketch = TokenSketch.of(getTokenIds());
+            sketch = tokenSketch;
+        }
+        return tokenSketch;
+    }
+
+    /**
+     * hash of the token contents, so structurally identical subtrees share a key in every session
+     */
+    @Override
+    public long structuralHash(long seed) {
+        long[] hashes = getTokenHashes();
+        long hash = SimilarityMemo.mix(seed, hashes.length);
+        for (long tokenHash : hashes) {
+            hash = SimilarityMemo.mix(hash, tokenHash);
+        }
+        return hash;
+    }
+
+    private long[] getTokenHashes() {
+        long[] hashes = tokenHashes;
+        if (hashes == null) {
+            hashes = new long[value.size()];
+            for (int i = 0; i < hashes.length; i++) {
+                String token = value.get(i);
+                long hash = SimilarityMemo.mix(SimilarityMemo.HASH_SEED_1, token.length());
+                for (int j = 0; j < token.length(); j++) {
+                    hash = SimilarityMemo.mix(hash, token.charAt(j));
+                }
+                hashes[i] = hash;
+            }
+            tokenHashes = hashes;
+        }
+        return hashes;
+    }
+
+    /**
+     * @return the tokens numbered in the space of the attribute, computed on first use and not serialized
+     * @throws IllegalStateException if the attribute has no space
+     */
+    public int[] getTokenIds() {
+        int[] ids = tokenIds;
+        if (ids == null) {
+            if (tokenIdSpace == null) {
+                throw new IllegalStateException("token attribute has no id space");
+            }
+            ids = tokenIdSpace.intern(value);
+            tokenIds = ids;
+        }
+        return ids;
+    }
+
 }
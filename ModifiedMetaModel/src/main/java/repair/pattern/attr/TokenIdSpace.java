@@ -0,0 +1,105 @@
+package repair.pattern.attr;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * token的编号, scoped to one matching session instead of the whole JVM
+ * <p>
+ * MatchPlan numbers the tokens of its pattern when it is compiled and freezes the space, so every thread matching
+ * the plan reads it without a lock. Each target tree opens a session of the plan for its AttributeTable: tokens
+ * only seen in that tree are numbered after the pattern tokens, and they are dropped together with the table.
+ * Ids can be compared within a space, and between a session and the spaces it was opened from.
+ */
+public final class TokenIdSpace {
+    private final TokenIdSpace parent;
+    private final int firstId;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private boolean frozen = false;
+
+    public TokenIdSpace() {
+        this(null);
+    }
+
+    private TokenIdSpace(TokenIdSpace parent) {
+        this.parent = parent;
+        this.firstId = parent == null ? 0 : parent.firstId + parent.ids.size();
+    }
+
+    /**
+     * no token can be added after this, sessions can be opened
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * @return a space for one target tree, used by one thread
+     */
+    public TokenIdSpace newSession() {
+        if (!frozen) {
+            throw new IllegalStateException("freeze the token id space before opening sessions");
+        }
+        return new TokenIdSpace(this);
+    }
+
+    public int intern(String token) {
+        int id = parent == null ? -1 : parent.idOf(token);
+        if (id >= 0) {
+            return id;
+        }
+        Integer localId = ids.get(token);
+        if (localId == null) {
+            if (frozen) {
+                throw new IllegalStateException("token id space is frozen: " + token);
+            }
+            localId = firstId + ids.size();
+            ids.put(token, localId);
+        }
+        return localId;
+    }
+
+    public int[] intern(List<String> tokens) {
+        int[] tokenIds = new int[tokens.size()];
+        for (int i = 0; i < tokenIds.length; i++) {
+            tokenIds[i] = intern(tokens.get(i));
+        }
+        return tokenIds;
+    }
+
+    /**
+     * @return id of the token, -1 if it has not been interned
+     */
+    public int idOf(String token) {
+        int id = parent == null ? -1 : parent.idOf(token);
+        if (id >= 0) {
+            return id;
+        }
+        Integer localId = ids.get(token);
+        return localId == null ? -1 : localId;
+    }
+
+    /**
+     * @return number of tokens in this space and the spaces it was opened from
+     */
+    public int size() {
+        return firstId + ids.size();
+    }
+
+    /**
+     * @return whether ids of the two spaces name the same tokens
+     */
+    public boolean isComparable(TokenIdSpace other) {
+        return isOpenedFrom(other) || other.isOpenedFrom(this);
+    }
+
+    private boolean isOpenedFrom(TokenIdSpace space) {
+        for (TokenIdSpace current = this; current != null; current = current.parent) {
+            if (current == space) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
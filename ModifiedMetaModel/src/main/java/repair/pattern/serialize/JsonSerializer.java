@@ -34,13 +34,18 @@ public class JsonSerializer {
         }
     }
 
-    public static void serializeToJson(Pattern pattern, Path path) {
+    /**
+     * @return false if the pattern could not be written, the error is logged
+     */
+    public static boolean serializeToJson(Pattern pattern, Path path) {
         FileUtils.ensureDirectoryExists(path);
         try {
             ObjectMapper mapper = new ObjectMapper();
             mapper.writeValue(path.toFile(), pattern);
+            return true;
         } catch (IOException e) {
             logger.error("Failed to serialize pattern to JSON", e);
         }
+        return false;
     }
 }
@@ -12,14 +12,19 @@ import java.util.Optional;
 public class Serializer {
     private static final Logger logger = LoggerFactory.getLogger(Serializer.class);
 
-    public static void serializeToDisk(Pattern pattern, Path path) {
+    /**
+     * @return false if the pattern could not be written, the error is logged
+     */
+    public static boolean serializeToDisk(Pattern pattern, Path path) {
         FileUtils.ensureDirectoryExists(path);
         try (FileOutputStream fos = new FileOutputStream(path.toFile());
              ObjectOutputStream oos = new ObjectOutputStream(fos)) {
             oos.writeObject(pattern);
+            return true;
         } catch (IOException e) {
             logger.error("Failed to serialize pattern to disk", e);
         }
+        return false;
     }
 
     public static Optional<Pattern> deserializeFromDisk(Path path) {
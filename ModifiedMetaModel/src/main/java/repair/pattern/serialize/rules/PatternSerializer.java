@@ -32,6 +32,10 @@ public class PatternSerializer extends JsonSerializer<Pattern> {
 //        generateDiff(pattern.getPatternBefore0(), pattern.getPatternAfter0(), jsonGenerator); // part 2: diff
         generateAfterCode(pattern.getPatternAfter0(), jsonGenerator); // part 2: diff
 
+        if (pattern.getMatchStrategy() != null) {
+            jsonGenerator.writeStringField("DiffMatcher", pattern.getMatchStrategy().name());
+        }
+
         jsonGenerator.writeFieldName("Before0Tree");
         generateNodeTree(pattern.getPatternBefore0(), jsonGenerator); // part 3: before0 tree
 
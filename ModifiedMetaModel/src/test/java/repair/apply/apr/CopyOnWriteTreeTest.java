@@ -0,0 +1,108 @@
+package repair.apply.apr;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.junit.Before;
+import org.junit.Test;
+import repair.ast.MoNode;
+import repair.ast.code.expression.MoSimpleName;
+import repair.ast.code.statement.MoBlock;
+import repair.ast.code.statement.MoIfStatement;
+import repair.ast.code.statement.MoStatement;
+import repair.ast.declaration.MoMethodDeclaration;
+import repair.ast.parser.NodeParser;
+import repair.ast.visitor.DeepCopyScanner;
+import repair.ast.visitor.FlattenScanner;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static repair.common.JDTUtils.genAST;
+import static repair.common.JDTUtils.getOnlyMethodDeclaration;
+
+public class CopyOnWriteTreeTest {
+    private final Path path = Path.of("PlaceHold.java");
+    private final String code = """
+            class PlaceHold {
+                void sample(int a) {
+                    int b = a + 1;
+                    if (b > 0) {
+                        System.out.println(b);
+                    }
+                    foo(a, b);
+                }
+            }
+            """;
+
+    private MoMethodDeclaration left;
+    private String leftCode;
+
+    @Before
+    public void buildMoNode() {
+        CompilationUnit compilationUnit = genAST(code, path);
+        Optional<MethodDeclaration> methodDeclaration = getOnlyMethodDeclaration(compilationUnit);
+        assertTrue(methodDeclaration.isPresent());
+        left = (MoMethodDeclaration) new NodeParser(path, compilationUnit).process(methodDeclaration.get());
+        leftCode = left.toSrcString();
+    }
+
+    private List<MoStatement> statements(MoNode method) {
+        return ((MoMethodDeclaration) method).getBody().orElseThrow().getStatements();
+    }
+
+    private MoSimpleName findName(MoNode root, String identifier) {
+        return new FlattenScanner().flatten(root).stream()
+                .filter(node -> node instanceof MoSimpleName name && name.getIdentifier().equals(identifier))
+                .map(MoSimpleName.class::cast)
+                .findFirst().orElseThrow();
+    }
+
+    @Test
+    public void updateCopiesOnlyPathTest() {
+        CopyOnWriteTree tree = new CopyOnWriteTree(left);
+        MoSimpleName println = findName(left, "println");
+        MoNode printlnInRight = tree.materialize(println);
+        printlnInRight.setStructuralProperty("identifier", "print");
+
+        assertEquals(leftCode, left.toSrcString());
+        assertEquals(leftCode.replace("println", "print"), tree.getRoot().toSrcString());
+
+        // unmodified statements are shared, the edited one is copied
+        assertSame(statements(left).get(0), statements(tree.getRoot()).get(0));
+        assertNotSame(statements(left).get(1), statements(tree.getRoot()).get(1));
+        assertSame(statements(left).get(2), statements(tree.getRoot()).get(2));
+        assertSame(tree.getRoot(), tree.materialize(left));
+    }
+
+    @Test
+    public void sameResultAsDeepCopyTest() {
+        CopyOnWriteTree tree = new CopyOnWriteTree(left);
+        DeepCopyScanner deepCopyScanner = new DeepCopyScanner(left);
+        MoNode deepCopy = deepCopyScanner.getCopy();
+
+        // delete the declaration and move the call into the then block, on both right trees
+        MoStatement declaration = statements(left).get(0);
+        MoIfStatement ifStatement = (MoIfStatement) statements(left).get(1);
+        MoStatement call = statements(left).get(2);
+        MoBlock thenBlock = (MoBlock) ifStatement.getThenStatement();
+
+        tree.materialize(declaration).removeFromParent();
+        MoNode callInRight = tree.materialize(call);
+        callInRight.removeFromParent();
+        ((MoBlock) tree.materialize(thenBlock)).getStatements().add(0, (MoStatement) callInRight);
+
+        deepCopyScanner.getCopyMap().get(declaration).removeFromParent();
+        MoNode callInCopy = deepCopyScanner.getCopyMap().get(call);
+        callInCopy.removeFromParent();
+        ((MoBlock) deepCopyScanner.getCopyMap().get(thenBlock)).getStatements().add(0, (MoStatement) callInCopy);
+
+        assertEquals(leftCode, left.toSrcString());
+        assertEquals(deepCopy.toSrcString(), tree.getRoot().toSrcString());
+        // the left tree keeps its structure and parents
+        assertEquals(3, statements(left).size());
+        assertSame(ifStatement, thenBlock.getParent());
+        assertSame(thenBlock, thenBlock.getStatements().get(0).getParent());
+    }
+}
@@ -0,0 +1,34 @@
+package repair.apply.builder;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MatchDeadlineTest {
+
+    private static int pollTimes(int times) {
+        for (int i = 0; i < times; i++) {
+            MatchDeadline.poll();
+        }
+        return times;
+    }
+
+    @Test
+    public void deadlineTest() {
+        // run之外poll不做任何事
+        pollTimes(10000);
+        assertEquals(10000, (int) MatchDeadline.run(60000, () -> pollTimes(10000)));
+        assertThrows(MatchDeadline.MatchTimeoutException.class, () -> MatchDeadline.run(0, () -> pollTimes(10000)));
+        // the deadline is removed after the timeout
+        pollTimes(10000);
+    }
+
+    @Test
+    public void nestedTest() {
+        assertThrows(MatchDeadline.MatchTimeoutException.class, () -> MatchDeadline.run(0, () -> {
+            // the inner budget restores the outer deadline when it returns
+            MatchDeadline.run(60000, () -> pollTimes(10000));
+            return pollTimes(10000);
+        }));
+    }
+}
@@ -2,16 +2,21 @@ package repair.apply.builder;
 
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.MethodDeclaration;
+import com.github.gumtreediff.tree.Tree;
+import com.github.gumtreediff.tree.TreeUtils;
 import org.junit.Test;
 import repair.ast.MoNode;
 import repair.ast.parser.NodeParser;
 import repair.apply.diff.DiffComparator;
+import repair.ast.visitor.FlattenScanner;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.Assert.*;
+import static repair.common.JDTUtils.genAST;
 import static repair.common.JDTUtils.genASTFromFile;
 import static repair.common.JDTUtils.getOnlyMethodDeclaration;
 
@@ -50,4 +55,40 @@ public class MoGumtreeBuilderTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void moTreeAdapterTest() {
+        Path path = Path.of("PlaceHold.java");
+        String code = """
+                class PlaceHold {
+                    int sample(int a) {
+                        String s = "a" + a;
+                        return s.length() > 0 ? foo(a, s) : -1;
+                    }
+                }
+                """;
+        CompilationUnit compilationUnit = genAST(code, path);
+        Optional<MethodDeclaration> method = getOnlyMethodDeclaration(compilationUnit);
+        assertTrue(method.isPresent());
+        MoNode moMethod = new NodeParser(path, compilationUnit).process(method.get());
+
+        Tree root = new MoGumtreeBuilder().getTree(moMethod);
+        List<MoNode> nodes = new FlattenScanner().flatten(moMethod);
+        List<Tree> trees = TreeUtils.preOrder(root.getChild(0));
+        assertEquals(nodes.size(), trees.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            MoNode node = nodes.get(i);
+            Tree tree = trees.get(i);
+            assertSame(node, MoTree.moNodeOf(tree));
+            assertSame(node, tree.getMetadata(GumtreeMetaConstant.MO_NODE_KEY));
+            assertEquals(node.getClass().getSimpleName().substring(2), tree.getType().toString());
+            assertEquals(node.getElementPos(), tree.getPos());
+        }
+        assertNull(MoTree.moNodeOf(root));
+
+        // copies keep the node, as the script generator maps copies back to the originals
+        Tree copy = root.getChild(0).deepCopy();
+        assertSame(moMethod, MoTree.moNodeOf(copy));
+        assertTrue(copy.isIsomorphicTo(root.getChild(0)));
+    }
+
+}
@@ -0,0 +1,56 @@
+package repair.apply.builder;
+
+import com.github.gumtreediff.tree.Type;
+import org.junit.Test;
+import repair.ast.MoNode;
+import repair.ast.MoNodeTypeTableTest;
+
+import java.io.File;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.gumtreediff.tree.TypeSet.type;
+import static org.junit.Assert.*;
+
+public class MoTreeTest {
+
+    /**
+     * @return concrete node classes compiled into the node packages
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Class<? extends MoNode>> nodeClasses() throws ClassNotFoundException {
+        List<Class<? extends MoNode>> nodeClasses = new ArrayList<>();
+        ClassLoader classLoader = MoTreeTest.class.getClassLoader();
+        for (String nodePackage : MoNodeTypeTableTest.nodePackages) {
+            URL url = classLoader.getResource(nodePackage.replace('.', '/'));
+            assertNotNull(nodePackage, url);
+            File[] files = new File(url.getPath()).listFiles();
+            assertNotNull(nodePackage, files);
+            for (File file : files) {
+                String fileName = file.getName();
+                if (!fileName.endsWith(".class") || fileName.contains("$")) {
+                    continue;
+                }
+                Class<?> clazz = Class.forName(nodePackage + "." + fileName.substring(0, fileName.length() - 6));
+                if (MoNode.class.isAssignableFrom(clazz) && !clazz.isInterface()
+                        && !Modifier.isAbstract(clazz.getModifiers())) {
+                    nodeClasses.add((Class<? extends MoNode>) clazz);
+                }
+            }
+        }
+        return nodeClasses;
+    }
+
+    @Test
+    public void sameTypeAsClassNameTest() throws ClassNotFoundException {
+        List<Class<? extends MoNode>> nodeClasses = nodeClasses();
+        assertTrue(nodeClasses.size() > 50);
+        for (Class<? extends MoNode> nodeClass : nodeClasses) {
+            // 原来的gumtree类型, the class name without Mo
+            Type expected = type(nodeClass.getSimpleName().substring(2));
+            assertEquals(nodeClass.getSimpleName(), expected, MoTree.typeOf(MoNodeTypeTableTest.instantiate(nodeClass)));
+        }
+    }
+}
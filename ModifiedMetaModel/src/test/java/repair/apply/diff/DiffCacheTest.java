@@ -0,0 +1,201 @@
+package repair.apply.diff;
+
+import com.github.gumtreediff.actions.model.Action;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import repair.apply.diff.operations.*;
+import repair.ast.MoNode;
+import repair.ast.visitor.FlattenScanner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static repair.common.TestUtils.parseMethod;
+
+public class DiffCacheTest {
+    private final String before = """
+            class PlaceHold {
+                int sample(int a, String s) {
+                    int b = a + 1;
+                    if (b > 0) {
+                        System.out.println(s);
+                        b = b * 2;
+                    }
+                    foo(b);
+                    return b;
+                }
+            }
+            """;
+
+    private final String after = """
+            class PlaceHold {
+                int sample(int a, String s) {
+                    int b = a - 1;
+                    if (b > 0 && s != null) {
+                        b = b * 2;
+                        System.out.println(s.trim());
+                    }
+                    return b;
+                }
+            }
+            """;
+
+    private Path previousCacheDir;
+    private Path cacheDir;
+
+    @Before
+    public void setUp() throws IOException {
+        previousCacheDir = DiffCache.getCacheDir();
+        cacheDir = Files.createTempDirectory("diff-cache-test");
+        DiffCache.setCacheDir(cacheDir);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        DiffCache.setCacheDir(previousCacheDir);
+        DiffCache.setMaxBytes(DiffCache.DEFAULT_MAX_BYTES);
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private static int indexOf(List<MoNode> nodes, MoNode node) {
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i) == node) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void cacheRoundTripTest() {
+        MoNode beforeNode = parseMethod(before);
+        MoNode afterNode = parseMethod(after);
+        DiffComparator computed = new DiffComparator(DiffComparator.Mode.MOVE_MODE);
+        computed.computeBeforeAfterMatch(beforeNode, afterNode);
+        assertNotNull(computed.getMappings());
+
+        // same sources parsed again, the result is read from the cache and rebuilt on the new trees
+        MoNode cachedBefore = parseMethod(before);
+        MoNode cachedAfter = parseMethod(after);
+        DiffComparator cached = new DiffComparator(DiffComparator.Mode.MOVE_MODE);
+        cached.computeBeforeAfterMatch(cachedBefore, cachedAfter);
+        assertNull(cached.getMappings());
+        assertEquals(computed.getMatchStrategy(), cached.getMatchStrategy());
+
+        List<MoNode> beforeNodes = new FlattenScanner().flatten(beforeNode);
+        List<MoNode> afterNodes = new FlattenScanner().flatten(afterNode);
+        List<MoNode> cachedBeforeNodes = new FlattenScanner().flatten(cachedBefore);
+        List<MoNode> cachedAfterNodes = new FlattenScanner().flatten(cachedAfter);
+
+        assertEquals(computed.getNodeMappings().size(), cached.getNodeMappings().size());
+        for (int i = 0; i < computed.getNodeMappings().size(); i++) {
+            assertEquals(indexOf(beforeNodes, computed.getNodeMappings().get(i).getLeft()),
+                    indexOf(cachedBeforeNodes, cached.getNodeMappings().get(i).getLeft()));
+            assertEquals(indexOf(afterNodes, computed.getNodeMappings().get(i).getRight()),
+                    indexOf(cachedAfterNodes, cached.getNodeMappings().get(i).getRight()));
+        }
+
+        List<Operation<? extends Action>> operations = computed.getAllOperations();
+        List<Operation<? extends Action>> cachedOperations = cached.getAllOperations();
+        assertFalse(operations.isEmpty());
+        assertEquals(operations.size(), cachedOperations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            Operation<? extends Action> operation = operations.get(i);
+            Operation<? extends Action> cachedOperation = cachedOperations.get(i);
+            assertEquals(operation.getOperationType(), cachedOperation.getOperationType());
+            if (operation instanceof AddOperator addOperator) {
+                AddOperator cachedAddOperator = (AddOperator) cachedOperation;
+                assertEquals(addOperator.computeIndex(), cachedAddOperator.computeIndex());
+                assertEquals(addOperator.getLocation(), cachedAddOperator.getLocation());
+                assertEquals(indexOf(afterNodes, addOperator.getAddNode()), indexOf(cachedAfterNodes, cachedAddOperator.getAddNode()));
+            }
+            if (operation instanceof UpdateOperation updateOperation) {
+                assertEquals(updateOperation.getUpdateValue(), ((UpdateOperation) cachedOperation).getUpdateValue());
+                assertEquals(indexOf(beforeNodes, updateOperation.getUpdateNode()),
+                        indexOf(cachedBeforeNodes, ((UpdateOperation) cachedOperation).getUpdateNode()));
+            }
+        }
+    }
+
+    @Test
+    public void disabledCacheTest() throws IOException {
+        DiffCache.setCacheDir(null);
+        DiffComparator comparator = new DiffComparator(DiffComparator.Mode.MOVE_MODE);
+        comparator.computeBeforeAfterMatch(parseMethod(before), parseMethod(after));
+        assertNotNull(comparator.getMappings());
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private List<Path> entries() throws IOException {
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            return files.filter(file -> file.toString().endsWith(".diff")).toList();
+        }
+    }
+
+    private long entryBytes() throws IOException {
+        long total = 0;
+        for (Path entry : entries()) {
+            total += Files.size(entry);
+        }
+        return total;
+    }
+
+    private DiffComparator diff(String beforeCode, String afterCode, long budgetMillis) {
+        DiffComparator comparator = new DiffComparator(DiffComparator.Mode.MOVE_MODE, null,
+                DiffComparator.DEFAULT_LARGE_TREE_THRESHOLD, budgetMillis);
+        comparator.computeBeforeAfterMatch(parseMethod(beforeCode), parseMethod(afterCode));
+        return comparator;
+    }
+
+    @Test
+    public void optInTest() {
+        // 默认关闭
+        assertNull(DiffCache.cacheDirOf(null));
+        assertNull(DiffCache.cacheDirOf(""));
+        assertNull(DiffCache.cacheDirOf("none"));
+        assertEquals(cacheDir, DiffCache.cacheDirOf(cacheDir.toString()));
+    }
+
+    @Test
+    public void configInKeyTest() throws IOException {
+        assertNotNull(diff(before, after, 60000).getMappings());
+        // a different budget may give a different result, so it does not hit the entry
+        assertNotNull(diff(before, after, 30000).getMappings());
+        assertEquals(2, entries().size());
+        assertNull(diff(before, after, 60000).getMappings());
+    }
+
+    @Test
+    public void fallbackNotStoredTest() throws IOException {
+        DiffComparator comparator = new DiffComparator(DiffComparator.Mode.MOVE_MODE, null, Integer.MAX_VALUE, 1);
+        comparator.computeBeforeAfterMatch(parseMethod(DiffComparatorTest.largeMethod(400, false)),
+                parseMethod(DiffComparatorTest.largeMethod(400, true)));
+        assertTrue(comparator.isFellBack());
+        assertTrue(entries().isEmpty());
+    }
+
+    @Test
+    public void sizeBoundTest() throws IOException {
+        diff(before, after, 60000);
+        long entrySize = entryBytes();
+        assertTrue(entrySize > 0);
+        long maxBytes = entrySize * 3 / 2;
+        DiffCache.setMaxBytes(maxBytes);
+        for (int i = 2; i < 8; i++) {
+            diff(before.replace("a + 1", "a + " + i), after, 60000);
+            assertTrue(entryBytes() <= maxBytes);
+        }
+        // the newest entry is kept
+        assertNull(diff(before.replace("a + 1", "a + 7"), after, 60000).getMappings());
+    }
+}
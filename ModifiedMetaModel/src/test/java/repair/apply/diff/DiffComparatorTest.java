@@ -0,0 +1,82 @@
+package repair.apply.diff;
+
+import org.junit.Test;
+import repair.apply.builder.MatchDeadline;
+import repair.ast.MoNode;
+
+import static org.junit.Assert.*;
+import static repair.common.TestUtils.parseMethod;
+
+public class DiffComparatorTest {
+    private final String before = """
+            class PlaceHold {
+                int sample(int a) {
+                    int b = a + 1;
+                    foo(b);
+                    return b;
+                }
+            }
+            """;
+
+    private final String after = """
+            class PlaceHold {
+                int sample(int a) {
+                    int b = a - 1;
+                    return b;
+                }
+            }
+            """;
+
+    /**
+     * 一个足够大的方法, the gumtree matcher cannot finish it within a millisecond
+     */
+    static String largeMethod(int statements, boolean reversed) {
+        StringBuilder builder = new StringBuilder("class PlaceHold {\n    int sample(int v0) {\n");
+        for (int i = 1; i <= statements; i++) {
+            int index = reversed ? statements + 1 - i : i;
+            builder.append("        int v").append(index).append(" = v").append(index - 1).append(" * ")
+                    .append(index).append(" + foo(v").append(index - 1).append(", \"s").append(index).append("\");\n");
+        }
+        builder.append("        return v0;\n    }\n}\n");
+        return builder.toString();
+    }
+
+    private DiffComparator diff(String beforeCode, String afterCode, DiffComparator.MatchStrategy forced,
+                                int largeTreeThreshold, long budgetMillis) {
+        DiffComparator comparator = new DiffComparator(DiffComparator.Mode.MOVE_MODE, forced, largeTreeThreshold, budgetMillis);
+        comparator.computeBeforeAfterMatch(parseMethod(beforeCode), parseMethod(afterCode));
+        return comparator;
+    }
+
+    @Test
+    public void thresholdSelectionTest() {
+        DiffComparator small = diff(before, after, null, 10000, 0);
+        assertEquals(DiffComparator.MatchStrategy.GUMTREE_STABLE, small.getMatchStrategy());
+        assertFalse(small.isFellBack());
+
+        // 超过阈值直接使用XY
+        DiffComparator large = diff(before, after, null, 1, 0);
+        assertEquals(DiffComparator.MatchStrategy.XY, large.getMatchStrategy());
+        assertFalse(large.isFellBack());
+
+        DiffComparator forced = diff(before, after, DiffComparator.MatchStrategy.XY, 10000, 0);
+        assertEquals(DiffComparator.MatchStrategy.XY, forced.getMatchStrategy());
+
+        DiffComparator withinBudget = diff(before, after, null, 10000, 60000);
+        assertEquals(DiffComparator.MatchStrategy.GUMTREE_STABLE, withinBudget.getMatchStrategy());
+        assertFalse(withinBudget.isFellBack());
+        assertFalse(withinBudget.getAllOperations().isEmpty());
+    }
+
+    @Test
+    public void fallbackTest() {
+        DiffComparator comparator = diff(largeMethod(400, false), largeMethod(400, true), null, Integer.MAX_VALUE, 1);
+        assertTrue(comparator.isFellBack());
+        assertEquals(DiffComparator.MatchStrategy.XY, comparator.getMatchStrategy());
+        assertFalse(comparator.getNodeMappings().isEmpty());
+        // 超时的匹配在当前线程中止, and its deadline is cleared, or these polls would throw
+        for (int i = 0; i < 1024; i++) {
+            MatchDeadline.poll();
+        }
+    }
+}
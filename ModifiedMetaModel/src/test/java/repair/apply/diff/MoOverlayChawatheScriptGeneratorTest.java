@@ -0,0 +1,156 @@
+package repair.apply.diff;
+
+import com.github.gumtreediff.actions.EditScript;
+import com.github.gumtreediff.actions.model.Action;
+import com.github.gumtreediff.matchers.CompositeMatchers;
+import com.github.gumtreediff.matchers.MappingStore;
+import com.github.gumtreediff.tree.Tree;
+import org.junit.Test;
+import repair.apply.builder.MoGumtreeBuilder;
+import repair.ast.MoNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static repair.common.TestUtils.parseMethod;
+
+public class MoOverlayChawatheScriptGeneratorTest {
+    private final String before = """
+            class PlaceHold {
+                int sample(int a, String s) {
+                    int b = a + 1;
+                    if (b > 0) {
+                        System.out.println(s);
+                        b = b * 2;
+                    }
+                    for (int i = 0; i < b; i++) {
+                        foo(i, s);
+                    }
+                    return b;
+                }
+            }
+            """;
+
+    private final String after = """
+            class PlaceHold {
+                int sample(int a, String s) {
+                    int b = a - 1;
+                    for (int i = 0; i < b; i++) {
+                        foo(s, i);
+                    }
+                    if (b > 0 && s != null) {
+                        b = b * 2;
+                        System.out.println(s.trim());
+                    }
+                    return b;
+                }
+            }
+            """;
+
+    private static final String[] STATEMENTS = {
+            "a = foo(a, %d);",
+            "if (a > %d) { a = a + 1; }",
+            "System.out.println(s + %d);",
+            "for (int i = 0; i < %d; i++) { a += bar(i); }",
+            "while (a < %d) { a++; }",
+            "s = s.substring(%d);",
+    };
+
+    static String bigMethod(int statements, boolean changed) {
+        StringBuilder builder = new StringBuilder("class PlaceHold {\n    void sample(int a) {\n");
+        for (int i = 0; i < statements; i++) {
+            int index = changed && i % 7 == 0 ? statements - i : i;
+            builder.append("        if (a > ").append(index).append(") { a = foo(a, ").append(index).append(") + ")
+                    .append(changed && i % 5 == 0 ? "bar(a)" : "a").append("; }\n");
+        }
+        return builder.append("    }\n}\n").toString();
+    }
+
+    private static String randomStatement(Random random) {
+        return String.format(STATEMENTS[random.nextInt(STATEMENTS.length)], random.nextInt(10));
+    }
+
+    private static String method(List<String> statements) {
+        StringBuilder builder = new StringBuilder("class PlaceHold {\n    void sample(int a, String s) {\n");
+        statements.forEach(statement -> builder.append("        ").append(statement).append("\n"));
+        return builder.append("    }\n}\n").toString();
+    }
+
+    // 随机插入, 删除, 移动, 修改语句, or wrap a range of statements into a new block
+    private static List<String> randomEdit(Random random, List<String> statements) {
+        List<String> edited = new ArrayList<>(statements);
+        int edits = 1 + random.nextInt(6);
+        for (int i = 0; i < edits; i++) {
+            int index = random.nextInt(edited.size());
+            switch (random.nextInt(5)) {
+                case 0 -> edited.add(index, randomStatement(random));
+                case 1 -> {
+                    if (edited.size() > 1) {
+                        edited.remove(index);
+                    }
+                }
+                case 2 -> edited.add(random.nextInt(edited.size()), edited.remove(index));
+                case 3 -> edited.set(index, edited.get(index).replaceFirst("\\d+", String.valueOf(random.nextInt(10))));
+                default -> {
+                    int end = index + 1 + random.nextInt(Math.min(3, edited.size() - index));
+                    List<String> range = edited.subList(index, end);
+                    String block = "if (a != " + random.nextInt(10) + ") { " + String.join(" ", range) + " }";
+                    range.clear();
+                    edited.add(index, block);
+                }
+            }
+        }
+        return edited;
+    }
+
+    private static void assertSameScripts(MappingStore matches) {
+        EditScript expected = new MoChawatheScriptGenerator().computeActions(matches);
+        MoOverlayChawatheScriptGenerator generator = new MoOverlayChawatheScriptGenerator();
+        EditScript actual = generator.computeActions(matches);
+
+        List<Action> expectedActions = expected.asList();
+        List<Action> actualActions = actual.asList();
+        assertEquals(expectedActions.size(), actualActions.size());
+        for (int i = 0; i < expectedActions.size(); i++) {
+            assertEquals(expectedActions.get(i).toString(), actualActions.get(i).toString());
+            assertSame(expectedActions.get(i).getNode(), actualActions.get(i).getNode());
+        }
+        assertEquals(matches.asSet(), generator.getMappings().asSet());
+    }
+
+    static MappingStore match(MoNode beforeNode, MoNode afterNode) {
+        Tree beforeTree = new MoGumtreeBuilder().getTree(beforeNode);
+        Tree afterTree = new MoGumtreeBuilder().getTree(afterNode);
+        return new CompositeMatchers.SimpleGumtreeStable().match(beforeTree, afterTree);
+    }
+
+    @Test
+    public void sameScriptTest() {
+        assertSameScripts(match(parseMethod(before), parseMethod(after)));
+    }
+
+    @Test
+    public void largeMethodTest() {
+        // about 5k nodes on each side
+        MappingStore matches = match(parseMethod(bigMethod(300, false)), parseMethod(bigMethod(300, true)));
+        assertSameScripts(matches);
+    }
+
+    @Test
+    public void randomEditTest() {
+        Random random = new Random(2024);
+        for (int round = 0; round < 100; round++) {
+            List<String> statements = new ArrayList<>();
+            int count = 3 + random.nextInt(30);
+            for (int i = 0; i < count; i++) {
+                statements.add(randomStatement(random));
+            }
+            // 再编辑一次, so both sides have nested blocks
+            List<String> before = randomEdit(random, statements);
+            List<String> after = randomEdit(random, before);
+            assertSameScripts(match(parseMethod(method(before)), parseMethod(method(after))));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package repair.apply.diff;
+
+import com.github.gumtreediff.matchers.MappingStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static repair.apply.diff.MoOverlayChawatheScriptGeneratorTest.bigMethod;
+import static repair.apply.diff.MoOverlayChawatheScriptGeneratorTest.match;
+import static repair.common.TestUtils.parseMethod;
+
+/**
+ * 比较MoChawatheScriptGenerator和MoOverlayChawatheScriptGenerator的耗时, run by hand, not part of the unit tests
+ * <p>
+ * usage: ScriptGeneratorBenchmark [statements] [rounds]
+ */
+public class ScriptGeneratorBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ScriptGeneratorBenchmark.class);
+
+    public static void main(String[] args) {
+        int statements = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        MappingStore matches = match(parseMethod(bigMethod(statements, false)), parseMethod(bigMethod(statements, true)));
+
+        // 前一半作为预热
+        long copyTotal = 0, overlayTotal = 0;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            new MoChawatheScriptGenerator().computeActions(matches);
+            long copyTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            new MoOverlayChawatheScriptGenerator().computeActions(matches);
+            long overlayTime = System.nanoTime() - start;
+            if (round >= rounds / 2) {
+                copyTotal += copyTime;
+                overlayTotal += overlayTime;
+            }
+        }
+        int measured = rounds - rounds / 2;
+        logger.info("{} statements, copy: {} ms, overlay: {} ms", statements,
+                String.format("%.2f", copyTotal / 1e6 / measured), String.format("%.2f", overlayTotal / 1e6 / measured));
+    }
+}
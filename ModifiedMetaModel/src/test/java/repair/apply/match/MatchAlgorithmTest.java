@@ -0,0 +1,32 @@
+package repair.apply.match;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MatchAlgorithmTest {
+
+    private static List<Integer> boxed(int[] tokens) {
+        return Arrays.stream(tokens).boxed().toList();
+    }
+
+    @Test
+    public void lcsLengthTest() {
+        assertEquals(0, MatchAlgorithm.lcsLength(new int[0], new int[] {1, 2}));
+        assertEquals(3, MatchAlgorithm.lcsLength(new int[] {1, 2, 3, 4}, new int[] {2, 4, 1, 3, 4}));
+
+        Random random = new Random(42);
+        for (int round = 0; round < 2000; round++) {
+            // lengths over 64 and 128 cover the carry between words
+            int[] src = random.ints(random.nextInt(200), 0, 1 + random.nextInt(20)).toArray();
+            int[] tar = random.ints(random.nextInt(200), 0, 1 + random.nextInt(20)).toArray();
+            int expected = MatchAlgorithm.LCSMatch(boxed(src), boxed(tar), (o1, o2) -> o1.equals(o2) ? 1 : 0).size();
+            assertEquals(expected, MatchAlgorithm.lcsLength(src, tar));
+            assertEquals(expected, MatchAlgorithm.lcsLength(tar, src));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package repair.apply.match;
+
+import org.junit.Test;
+import repair.ast.MoNode;
+import repair.pattern.AttributeFactory;
+import repair.pattern.Pattern;
+
+import static org.junit.Assert.*;
+import static repair.common.TestUtils.parseMethod;
+
+public class MatchPlanTest {
+    private final String patternCode = """
+            class PlaceHold {
+                void sample(String s) {
+                    if (s != null) {
+                        log.debug(s.trim());
+                    }
+                }
+            }
+            """;
+
+    private final String leftCode = """
+            class PlaceHold {
+                void sample(String s) {
+                    if (s != null) {
+                        log.debug(s.trim());
+                    }
+                    log.info(s);
+                }
+            }
+            """;
+
+    private final String partialCode = """
+            class PlaceHold {
+                void sample(String s) {
+                    if (s != null) {
+                        log.info(s.strip());
+                    }
+                }
+            }
+            """;
+
+    @Test
+    public void compileTest() {
+        Pattern pattern = new Pattern(parseMethod(patternCode));
+        MoNode unconsidered = pattern.getConsideredNodes().get(0);
+        pattern.getNodeToConsidered().put(unconsidered, false);
+
+        MatchPlan plan = pattern.compile();
+        assertEquals(pattern.getConsideredNodes().size(), plan.size());
+        assertEquals(-1, plan.indexOf(unconsidered));
+        // 仍被考虑的节点上仍被考虑的属性
+        boolean[] neededSlots = new boolean[AttributeFactory.slotCount()];
+        for (MoNode node : pattern.getConsideredNodes()) {
+            pattern.getNodeToAttributes().get(node).forEach((attrClass, attr) -> {
+                if (attr.isConsidered()) {
+                    neededSlots[AttributeFactory.slotOf(attrClass)] = true;
+                }
+            });
+        }
+        assertArrayEquals(neededSlots, plan.getNeededSlots());
+        for (int i = 0; i < plan.size(); i++) {
+            MoNode patternNode = plan.getPatternNode(i);
+            assertEquals(i, plan.indexOf(patternNode));
+            assertSame(patternNode, plan.getNodePlan(i).getPatternNode());
+            int parentIndex = plan.getParentIndex(i);
+            if (parentIndex == -1) {
+                assertEquals(-1, plan.indexOf(patternNode.getParent()));
+            } else {
+                // 先序排列, 父节点在前
+                assertTrue(parentIndex < i);
+                assertSame(patternNode.getParent(), plan.getPatternNode(parentIndex));
+            }
+        }
+    }
+
+    @Test
+    public void sharedPlanTest() {
+        Pattern pattern = new Pattern(parseMethod(patternCode));
+        MatchPlan plan = pattern.compile();
+        MoNode left = parseMethod(leftCode);
+        int expected = Matcher.match(pattern, left).size();
+        assertTrue(expected > 0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected, Matcher.match(plan, left).size());
+        }
+    }
+
+    @Test
+    public void partialMatchTest() {
+        MatchPlan plan = new Pattern(parseMethod(patternCode)).compile();
+        // debug和trim没有合法的候选, they are left out of the search and the rest of the pattern still matches,
+        // so a method cannot be rejected for lacking an identifier of the pattern
+        assertFalse(Matcher.match(plan, parseMethod(partialCode)).isEmpty());
+    }
+}
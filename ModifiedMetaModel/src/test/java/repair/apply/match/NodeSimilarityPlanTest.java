@@ -0,0 +1,72 @@
+package repair.apply.match;
+
+import org.junit.Test;
+import repair.ast.MoNode;
+import repair.ast.visitor.FlattenScanner;
+import repair.pattern.AttributeFactory;
+import repair.pattern.attr.Attribute;
+import repair.pattern.attr.AttributeTable;
+
+import static org.junit.Assert.*;
+import static repair.common.TestUtils.parseMethod;
+
+public class NodeSimilarityPlanTest {
+    private final String patternCode = """
+            class PlaceHold {
+                void sample(String s) {
+                    if (s != null) {
+                        log.debug(s.trim());
+                    }
+                }
+            }
+            """;
+
+    private final String leftCode = """
+            class PlaceHold {
+                int other(String name, int a) {
+                    if (name != null && a > 0) {
+                        log.debug(name.trim() + a);
+                        return a;
+                    }
+                    return 0;
+                }
+            }
+            """;
+
+    @Test
+    public void orderTest() {
+        MoNode patternNode = parseMethod(patternCode);
+        NodeSimilarityPlan plan = NodeSimilarityPlan.of(patternNode, AttributeFactory.createAttributes(patternNode));
+        int[] slots = plan.getSlots();
+        assertEquals(AttributeFactory.slotCount(), slots.length);
+        boolean soft = false;
+        for (int i = 0; i < slots.length; i++) {
+            if (!AttributeFactory.isHardConstraint(slots[i])) {
+                soft = true;
+            } else {
+                assertFalse("hard constraints come first", soft);
+            }
+            if (i > 0 && AttributeFactory.isHardConstraint(slots[i]) == AttributeFactory.isHardConstraint(slots[i - 1])) {
+                assertTrue(AttributeFactory.slotCost(slots[i - 1]) <= AttributeFactory.slotCost(slots[i]));
+            }
+        }
+    }
+
+    @Test
+    public void thresholdBoundTest() {
+        AttributeTable leftAttributes = Attribute.computeAttributeTable(parseMethod(leftCode));
+        for (MoNode patternNode : new FlattenScanner().flatten(parseMethod(patternCode))) {
+            NodeSimilarityPlan plan = NodeSimilarityPlan.of(patternNode, AttributeFactory.createAttributes(patternNode));
+            for (int leftIndex = 0; leftIndex < leftAttributes.size(); leftIndex++) {
+                double exact = plan.similarity(leftAttributes, leftIndex, Double.NEGATIVE_INFINITY);
+                double bounded = plan.similarity(leftAttributes, leftIndex, 0.2);
+                if (exact == -1.0 || exact > 0.2) {
+                    // illegal and passing pairs get the exact score
+                    assertEquals(exact, bounded, 0.0);
+                } else {
+                    assertTrue(bounded <= 0.2);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package repair.apply.match;
+
+import org.junit.Test;
+import repair.ast.MoNode;
+import repair.ast.visitor.FlattenScanner;
+import repair.pattern.AttributeFactory;
+import repair.pattern.attr.Attribute;
+import repair.pattern.attr.AttributeTable;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static repair.common.TestUtils.parseMethod;
+
+public class SimilarityMemoTest {
+    private final String patternCode = """
+            class PlaceHold {
+                void sample(String s) {
+                    log.debug(s.trim());
+                }
+            }
+            """;
+
+    private final String leftCode = """
+            class PlaceHold {
+                void other(String s, int a) {
+                    log.debug(s.trim());
+                    if (a > 0) {
+                        log.debug(s.trim());
+                    }
+                }
+            }
+            """;
+
+    private static SimilarityMemo.Key key(long hash) {
+        return new SimilarityMemo.Key(0L, 0L, TokenSketch.Mode.OFF, hash, hash);
+    }
+
+    @Test
+    public void hitMissTest() {
+        SimilarityMemo memo = new SimilarityMemo(8);
+        assertTrue(Double.isNaN(memo.get(key(1))));
+        memo.put(key(1), 0.5);
+        assertEquals(0.5, memo.get(key(1)), 0.0);
+        assertEquals(1, memo.getHits());
+        assertEquals(1, memo.getMisses());
+
+        SimilarityMemo disabled = new SimilarityMemo(0);
+        disabled.put(key(1), 0.5);
+        assertTrue(Double.isNaN(disabled.get(key(1))));
+        assertEquals(0, disabled.size());
+    }
+
+    @Test
+    public void scanResistanceTest() {
+        SimilarityMemo memo = new SimilarityMemo(16);
+        // 命中过两次的条目进入protected段
+        for (long hash = 0; hash < 4; hash++) {
+            memo.put(key(hash), hash);
+            memo.get(key(hash));
+        }
+        // a scan over one-off entries
+        for (long hash = 100; hash < 10000; hash++) {
+            memo.put(key(hash), hash);
+        }
+        assertTrue(memo.size() <= memo.getCapacity());
+        assertTrue(memo.getEvictions() > 0);
+        for (long hash = 0; hash < 4; hash++) {
+            assertEquals(hash, memo.get(key(hash)), 0.0);
+        }
+    }
+
+    @Test
+    public void memoizedSimilarityTest() {
+        SimilarityMemo memo = new SimilarityMemo(1024);
+        AttributeTable leftAttributes = Attribute.computeAttributeTable(parseMethod(leftCode));
+        for (MoNode patternNode : new FlattenScanner().flatten(parseMethod(patternCode))) {
+            NodeSimilarityPlan plan = NodeSimilarityPlan.of(patternNode, AttributeFactory.createAttributes(patternNode));
+            for (int leftIndex = 0; leftIndex < leftAttributes.size(); leftIndex++) {
+                double expected = plan.similarity(leftAttributes, leftIndex, 0.2);
+                assertEquals(expected, plan.similarity(leftAttributes, leftIndex, 0.2, memo), 0.0);
+                // the second lookup is always served by the memo
+                assertEquals(expected, plan.similarity(leftAttributes, leftIndex, 0.2, memo), 0.0);
+            }
+        }
+        // the two log.debug statements share their keys
+        assertTrue(memo.getHits() > memo.getMisses());
+    }
+
+    @Test
+    public void planScopedKeyTest() {
+        // 缓存不持有pattern节点, the shared memo cannot keep a pattern tree alive
+        assertTrue(Arrays.stream(SimilarityMemo.Key.class.getRecordComponents())
+                .noneMatch(component -> MoNode.class.isAssignableFrom(component.getType())));
+
+        SimilarityMemo memo = new SimilarityMemo(1024);
+        AttributeTable leftAttributes = Attribute.computeAttributeTable(parseMethod(leftCode));
+        List<MoNode> patternNodes = new FlattenScanner().flatten(parseMethod(patternCode));
+        long misses = 0;
+        for (int round = 0; round < 2; round++) {
+            // a recompiled plan does not hit the entries of the old one
+            for (MoNode patternNode : patternNodes) {
+                NodeSimilarityPlan plan = NodeSimilarityPlan.of(patternNode, AttributeFactory.createAttributes(patternNode));
+                for (int leftIndex = 0; leftIndex < leftAttributes.size(); leftIndex++) {
+                    plan.similarity(leftAttributes, leftIndex, 0.2, memo);
+                }
+            }
+            if (round == 0) {
+                misses = memo.getMisses();
+                assertTrue(misses > 0);
+            }
+        }
+        assertEquals(2 * misses, memo.getMisses());
+    }
+
+    @Test
+    public void sketchModeTest() {
+        SimilarityMemo memo = new SimilarityMemo(1024);
+        AttributeTable leftAttributes = Attribute.computeAttributeTable(parseMethod(leftCode));
+        List<NodeSimilarityPlan> plans = new FlattenScanner().flatten(parseMethod(patternCode)).stream()
+                .map(patternNode -> NodeSimilarityPlan.of(patternNode, AttributeFactory.createAttributes(patternNode)))
+                .toList();
+        try {
+            TokenSketch.setMode(TokenSketch.Mode.ON);
+            for (NodeSimilarityPlan plan : plans) {
+                for (int leftIndex = 0; leftIndex < leftAttributes.size(); leftIndex++) {
+                    plan.similarity(leftAttributes, leftIndex, 0.2, memo);
+                }
+            }
+            // 草图拒绝的分数不能在关闭草图后被复用
+            TokenSketch.setMode(TokenSketch.Mode.OFF);
+            long misses = memo.getMisses();
+            assertTrue(misses > 0);
+            for (NodeSimilarityPlan plan : plans) {
+                for (int leftIndex = 0; leftIndex < leftAttributes.size(); leftIndex++) {
+                    assertEquals(plan.similarity(leftAttributes, leftIndex, 0.2),
+                            plan.similarity(leftAttributes, leftIndex, 0.2, memo), 0.0);
+                }
+            }
+            assertEquals(2 * misses, memo.getMisses());
+        } finally {
+            TokenSketch.setMode(TokenSketch.Mode.OFF);
+        }
+    }
+}
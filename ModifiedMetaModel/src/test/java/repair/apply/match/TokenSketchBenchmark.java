@@ -0,0 +1,106 @@
+package repair.apply.match;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * TokenSketch相对精确LCS的误拒率, run by hand, not part of the unit tests
+ * <p>
+ * Generates Zipf-distributed token sequences of 16-316 tokens and pairs each with an edited copy, a truncated copy
+ * or an unrelated sequence, then compares mayReach with the exact similarity 2*lcs/(|a|+|b|) at each threshold.
+ * A false reject is a rejected pair whose exact similarity exceeds the threshold.
+ * <p>
+ * usage: TokenSketchBenchmark [pairs] [seed]
+ */
+public class TokenSketchBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(TokenSketchBenchmark.class);
+    private static final double[] THRESHOLDS = {0.2, 0.4, 0.6};
+
+    public static void main(String[] args) {
+        int pairs = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+        Random random = new Random(seed);
+
+        long[] rejected = new long[THRESHOLDS.length];
+        long[] byLength = new long[THRESHOLDS.length];
+        long[] falseRejects = new long[THRESHOLDS.length];
+        for (int pair = 0; pair < pairs; pair++) {
+            int vocabulary = 20 + random.nextInt(500);
+            double[] cumulative = zipf(vocabulary, 0.8 + random.nextDouble() * 0.6);
+            int[] src = zipfTokens(random, cumulative, 16 + random.nextInt(301));
+            int[] tar = switch (random.nextInt(3)) {
+                case 0 -> edit(random, src, random.nextDouble(), cumulative);
+                case 1 -> Arrays.copyOf(src, Math.max(1, (int) (src.length * random.nextDouble())));
+                default -> zipfTokens(random, cumulative, 16 + random.nextInt(301));
+            };
+            TokenSketch srcSketch = TokenSketch.of(src);
+            TokenSketch tarSketch = TokenSketch.of(tar);
+            double exact = MatchAlgorithm.lcsLength(src, tar) * 2.0 / (src.length + tar.length);
+            for (int i = 0; i < THRESHOLDS.length; i++) {
+                if (srcSketch.mayReach(tarSketch, THRESHOLDS[i])) {
+                    continue;
+                }
+                rejected[i]++;
+                if (2.0 * Math.min(src.length, tar.length) / (src.length + tar.length) <= THRESHOLDS[i]) {
+                    byLength[i]++;
+                }
+                if (exact > THRESHOLDS[i]) {
+                    falseRejects[i]++;
+                }
+            }
+        }
+
+        for (int i = 0; i < THRESHOLDS.length; i++) {
+            logger.info("threshold {}: {} pairs, {} rejected ({} by the length bound), {} false rejects, rate {}",
+                    THRESHOLDS[i], pairs, rejected[i], byLength[i], falseRejects[i],
+                    String.format("%.6f", rejected[i] == 0 ? 0.0 : (double) falseRejects[i] / rejected[i]));
+        }
+    }
+
+    // 累积分布, the k-th token has weight 1/k^exponent
+    private static double[] zipf(int vocabulary, double exponent) {
+        double[] cumulative = new double[vocabulary];
+        double sum = 0;
+        for (int k = 0; k < vocabulary; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < vocabulary; k++) {
+            cumulative[k] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int zipfToken(Random random, double[] cumulative) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+    }
+
+    private static int[] zipfTokens(Random random, double[] cumulative, int length) {
+        int[] tokens = new int[length];
+        for (int i = 0; i < length; i++) {
+            tokens[i] = zipfToken(random, cumulative);
+        }
+        return tokens;
+    }
+
+    // 按rate随机删除, 替换和插入token
+    private static int[] edit(Random random, int[] tokens, double rate, double[] cumulative) {
+        int[] edited = new int[tokens.length * 2];
+        int size = 0;
+        for (int token : tokens) {
+            double roll = random.nextDouble();
+            if (roll < rate / 3) {
+                continue;
+            }
+            edited[size++] = roll < rate * 2 / 3 ? zipfToken(random, cumulative) : token;
+            if (random.nextDouble() < rate / 3) {
+                edited[size++] = zipfToken(random, cumulative);
+            }
+        }
+        return Arrays.copyOf(edited, size);
+    }
+}
@@ -0,0 +1,94 @@
+package repair.apply.match;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TokenSketchTest {
+
+    @After
+    public void resetMode() {
+        TokenSketch.setMode(TokenSketch.Mode.OFF);
+        TokenSketch.resetStatistics();
+    }
+
+    private static int[] randomTokens(Random random, int length, int vocabulary) {
+        return random.ints(length, 0, vocabulary).toArray();
+    }
+
+    // 随机删改一部分token
+    private static int[] edit(Random random, int[] tokens, double rate, int vocabulary) {
+        return Arrays.stream(tokens)
+                .filter(token -> random.nextDouble() >= rate / 2)
+                .map(token -> random.nextDouble() < rate / 2 ? random.nextInt(vocabulary) : token)
+                .toArray();
+    }
+
+    @Test
+    public void boundTest() {
+        int[] tokens = new Random(1).ints(100, 0, 30).toArray();
+        TokenSketch sketch = TokenSketch.of(tokens);
+        assertEquals(1.0, sketch.estimateJaccard(TokenSketch.of(tokens.clone())), 0.0);
+        assertTrue(sketch.mayReach(TokenSketch.of(tokens.clone()), 0.99));
+        // 长度相差太多, lcs cannot reach it
+        assertFalse(sketch.mayReach(TokenSketch.of(new int[] {1, 2}), 0.1));
+        // short sequences are only rejected by the exact length bound
+        assertTrue(TokenSketch.of(new int[] {1, 2, 3}).mayReach(TokenSketch.of(new int[] {4, 5, 6}), 0.9));
+    }
+
+    @Test
+    public void falseRejectTest() {
+        Random random = new Random(42);
+        int rejected = 0;
+        int falseRejects = 0;
+        for (int round = 0; round < 5000; round++) {
+            int vocabulary = 10 + random.nextInt(100);
+            int[] src = randomTokens(random, 16 + random.nextInt(200), vocabulary);
+            int[] tar = random.nextBoolean()
+                    ? edit(random, src, random.nextDouble(), vocabulary)
+                    : randomTokens(random, 16 + random.nextInt(200), vocabulary);
+            double exact = MatchAlgorithm.lcsLength(src, tar) * 2.0 / (src.length + tar.length);
+            if (!TokenSketch.of(src).mayReach(TokenSketch.of(tar), 0.4)) {
+                rejected++;
+                if (exact > 0.4) {
+                    falseRejects++;
+                }
+            }
+        }
+        assertTrue(rejected > 0);
+        assertTrue("false rejects: " + falseRejects + "/" + rejected, falseRejects <= rejected / 100);
+    }
+
+    @Test
+    public void verifyModeTest() {
+        TokenSketch.setMode(TokenSketch.Mode.VERIFY);
+        TokenSketch.resetStatistics();
+        int[] src = new Random(3).ints(64, 0, 8).toArray();
+        int[] tar = new Random(4).ints(64, 100, 108).toArray();
+        // verify模式不改变结果
+        assertTrue(TokenSketch.of(src).mayReach(TokenSketch.of(tar), 0.5, () -> 0.0));
+        assertEquals(1, TokenSketch.getRejected());
+        assertEquals(0, TokenSketch.getFalseRejects());
+
+        TokenSketch.setMode(TokenSketch.Mode.OFF);
+        assertTrue(TokenSketch.of(src).mayReach(TokenSketch.of(tar), 0.5, () -> 0.0));
+        assertEquals(1, TokenSketch.getChecked());
+
+        TokenSketch.setMode(TokenSketch.Mode.ON);
+        assertFalse(TokenSketch.of(src).mayReach(TokenSketch.of(tar), 0.5, () -> 0.0));
+        assertEquals(2, TokenSketch.getRejected());
+    }
+
+    @Test
+    public void defaultModeTest() {
+        // 草图有损, it is only used when asked for
+        assertEquals(TokenSketch.Mode.OFF, TokenSketch.parseMode(null));
+        assertEquals(TokenSketch.Mode.OFF, TokenSketch.parseMode(" "));
+        assertEquals(TokenSketch.Mode.VERIFY, TokenSketch.parseMode("verify"));
+        assertThrows(IllegalArgumentException.class, () -> TokenSketch.parseMode("fast"));
+    }
+}
@@ -0,0 +1,85 @@
+package repair.ast;
+
+import org.apache.commons.collections4.BidiMap;
+import org.junit.Test;
+import repair.ast.code.expression.MoSimpleName;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class MoNodeBidiMapTest {
+
+    private static List<MoNode> createNodes(int count) {
+        List<MoNode> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            nodes.add(new MoSimpleName(null, 0, 0, null));
+        }
+        return nodes;
+    }
+
+    @Test
+    public void denseIdsTest() {
+        List<MoNode> origins = createNodes(1000);
+        List<MoNode> copies = createNodes(1000);
+        BidiMap<MoNode, MoNode> map = new MoNodeBidiMap();
+        for (int i = 0; i < origins.size(); i++) {
+            map.put(origins.get(i), copies.get(i));
+        }
+
+        assertEquals(1000, map.size());
+        for (int i = 0; i < origins.size(); i++) {
+            assertSame(copies.get(i), map.get(origins.get(i)));
+            assertSame(origins.get(i), map.getKey(copies.get(i)));
+        }
+        assertSame(origins.get(5), map.inverseBidiMap().get(copies.get(5)));
+        assertEquals(new HashMap<>(map), map);
+    }
+
+    @Test
+    public void bidiSemanticsTest() {
+        List<MoNode> origins = createNodes(3);
+        List<MoNode> copies = createNodes(3);
+        BidiMap<MoNode, MoNode> map = new MoNodeBidiMap();
+        for (int i = 0; i < origins.size(); i++) {
+            map.put(origins.get(i), copies.get(i));
+        }
+
+        // rebinding a value drops its previous key
+        map.put(origins.get(0), copies.get(1));
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey(origins.get(1)));
+        assertFalse(map.containsValue(copies.get(0)));
+
+        assertSame(copies.get(2), map.remove(origins.get(2)));
+        assertSame(origins.get(0), map.removeValue(copies.get(1)));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void sparseIdsFallbackTest() {
+        List<MoNode> origins = createNodes(10);
+        List<MoNode> copies = createNodes(10);
+        BidiMap<MoNode, MoNode> map = new MoNodeBidiMap();
+        for (int i = 0; i < origins.size(); i++) {
+            map.put(origins.get(i), copies.get(i));
+        }
+
+        createNodes(20000);
+        MoNode farOrigin = new MoSimpleName(null, 0, 0, null);
+        MoNode farCopy = new MoSimpleName(null, 0, 0, null);
+        map.put(farOrigin, farCopy);
+
+        assertEquals(11, map.size());
+        assertSame(farCopy, map.get(farOrigin));
+        for (int i = 0; i < origins.size(); i++) {
+            assertSame(copies.get(i), map.get(origins.get(i)));
+            assertSame(origins.get(i), map.getKey(copies.get(i)));
+        }
+        Map<MoNode, MoNode> inverse = map.inverseBidiMap();
+        assertSame(farOrigin, inverse.get(farCopy));
+    }
+}
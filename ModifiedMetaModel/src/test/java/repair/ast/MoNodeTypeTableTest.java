@@ -0,0 +1,111 @@
+package repair.ast;
+
+import org.junit.Test;
+import repair.ast.code.expression.*;
+import repair.ast.code.statement.*;
+import repair.ast.code.virtual.MoMethodInvocationArguments;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class MoNodeTypeTableTest {
+
+    public static final List<String> nodePackages = List.of(
+            "repair.ast",
+            "repair.ast.code",
+            "repair.ast.code.expression",
+            "repair.ast.code.expression.literal",
+            "repair.ast.code.statement",
+            "repair.ast.code.type",
+            "repair.ast.code.virtual",
+            "repair.ast.declaration"
+    );
+
+    // the instanceof chains the tables replaced
+    private static final List<Class<? extends MoNode>> identifierUseParentClasses = List.of(
+            MoArrayAccess.class, MoAssignment.class, MoCastExpression.class, MoClassInstanceCreation.class,
+            MoPostfixExpression.class, MoPrefixExpression.class, MoConditionalExpression.class,
+            MoConstructorInvocation.class, MoDoStatement.class, MoFieldAccess.class, MoIfStatement.class,
+            MoMethodInvocationArguments.class, MoReturnStatement.class, MoSuperConstructorInvocation.class,
+            MoSuperFieldAccess.class, MoSuperMethodInvocation.class, MoSynchronizedStatement.class,
+            MoThisExpression.class, MoInstanceofExpression.class, MoExpressionMethodReference.class,
+            MoSuperMethodReference.class, MoTypeMethodReference.class
+    );
+
+    private static final List<Class<? extends MoNode>> structureClasses = List.of(
+            MoIfStatement.class, MoTryStatement.class, MoForStatement.class, MoWhileStatement.class,
+            MoCatchClause.class, MoEnhancedForStatement.class, MoSynchronizedStatement.class, MoBlock.class,
+            MoDoStatement.class, MoSwitchStatement.class
+    );
+
+    @Test
+    public void everyNodeTypeHasItsNodeClass() {
+        for (MoNodeType type : MoNodeType.values()) {
+            if (type == MoNodeType.UNKNOWN) {
+                continue;
+            }
+            Optional<Class<? extends MoNode>> nodeClass = findNodeClass(type);
+            assertTrue("no node class for " + type.getNodeType(), nodeClass.isPresent());
+            assertEquals("node class does not set its type: " + nodeClass.get().getSimpleName(),
+                    type, instantiate(nodeClass.get()).getMoNodeType());
+        }
+    }
+
+    @Test
+    public void identifierUseTableMatchesClasses() {
+        for (MoNodeType type : MoNodeType.values()) {
+            findNodeClass(type).ifPresent(nodeClass -> assertEquals(type.getNodeType(),
+                    isInstanceOfAny(nodeClass, identifierUseParentClasses),
+                    MoNodeTypeTable.getIdentifierUseParentTypes().contains(type)));
+        }
+    }
+
+    @Test
+    public void structureTableMatchesClasses() {
+        for (MoNodeType type : MoNodeType.values()) {
+            findNodeClass(type).ifPresent(nodeClass -> assertEquals(type.getNodeType(),
+                    isInstanceOfAny(nodeClass, structureClasses),
+                    MoNodeTypeTable.getStructureTypes().contains(type)));
+        }
+    }
+
+    private static boolean isInstanceOfAny(Class<?> nodeClass, List<Class<? extends MoNode>> classes) {
+        return classes.stream().anyMatch(clazz -> clazz.isAssignableFrom(nodeClass));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<Class<? extends MoNode>> findNodeClass(MoNodeType type) {
+        for (String nodePackage : nodePackages) {
+            try {
+                Class<?> clazz = Class.forName(nodePackage + ".Mo" + type.getNodeType());
+                if (MoNode.class.isAssignableFrom(clazz)) {
+                    return Optional.of((Class<? extends MoNode>) clazz);
+                }
+            } catch (ClassNotFoundException ignored) {
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * build a detached node the same way shallowClone does, with no original JDT node
+     */
+    public static MoNode instantiate(Class<? extends MoNode> nodeClass) {
+        for (Constructor<?> constructor : nodeClass.getConstructors()) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            Object[] args = new Object[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                args[i] = parameterTypes[i] == int.class ? 0 : null;
+            }
+            try {
+                return (MoNode) constructor.newInstance(args);
+            } catch (ReflectiveOperationException ignored) {
+            }
+        }
+        fail("can not instantiate " + nodeClass.getSimpleName());
+        return null;
+    }
+}
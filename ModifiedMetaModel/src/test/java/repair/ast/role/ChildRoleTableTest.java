@@ -0,0 +1,65 @@
+package repair.ast.role;
+
+import org.junit.Test;
+import repair.ast.MoNode;
+import repair.ast.code.expression.MoMethodInvocation;
+import repair.ast.code.expression.MoQualifiedName;
+import repair.ast.code.expression.MoSuperMethodReference;
+import repair.ast.code.type.MoPrimitiveType;
+import repair.ast.code.type.MoSimpleType;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ChildRoleTableTest {
+    // 这些类型的部分子节点不遍历, like the hand-written DeepScanner
+    private static final Set<Class<? extends MoNode>> partialClasses =
+            Set.of(MoQualifiedName.class, MoPrimitiveType.class, MoSimpleType.class);
+
+    private static Set<String> declaredChildRoles(Class<?> nodeClass) throws IllegalAccessException {
+        Set<String> roles = new HashSet<>();
+        for (Field field : nodeClass.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) || field.getType() != Description.class) {
+                continue;
+            }
+            field.setAccessible(true);
+            Description<?, ?> description = (Description<?, ?>) field.get(null);
+            if (description.classification() != ChildType.SIMPLE) {
+                roles.add(description.role());
+            }
+        }
+        return roles;
+    }
+
+    @Test
+    public void rolesMatchDescriptionsTest() throws IllegalAccessException {
+        assertFalse(ChildRoleTable.getNodeClasses().isEmpty());
+        for (Class<? extends MoNode> nodeClass : ChildRoleTable.getNodeClasses()) {
+            List<String> roles = Arrays.asList(ChildRoleTable.getChildRoles(nodeClass));
+            Set<String> roleSet = new HashSet<>(roles);
+            assertEquals(nodeClass.getSimpleName(), roles.size(), roleSet.size());
+            Set<String> declared = declaredChildRoles(nodeClass);
+            if (partialClasses.contains(nodeClass)) {
+                assertTrue(nodeClass.getSimpleName(), declared.containsAll(roleSet));
+            } else {
+                assertEquals(nodeClass.getSimpleName(), declared, roleSet);
+            }
+        }
+    }
+
+    @Test
+    public void explicitOrderTest() {
+        assertArrayEquals(new String[]{"expression", "typeArguments", "name", "arguments"},
+                ChildRoleTable.getChildRoles(MoMethodInvocation.class));
+        // qualifier在typeArguments之前, as in DeepScanner rather than the declaration order
+        assertArrayEquals(new String[]{"qualifier", "typeArguments", "name"},
+                ChildRoleTable.getChildRoles(MoSuperMethodReference.class));
+        assertArrayEquals(new String[]{}, ChildRoleTable.getChildRoles(MoQualifiedName.class));
+    }
+}
@@ -7,6 +7,7 @@ import repair.ast.MoNode;
 import repair.ast.parser.NodeParser;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -15,6 +16,7 @@ import java.util.Optional;
 import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
+import static repair.common.JDTUtils.genAST;
 import static repair.common.JDTUtils.genASTFromFile;
 import static repair.common.JDTUtils.getOnlyMethodDeclaration;
 
@@ -149,6 +151,38 @@ public class CodePrinterTest {
         assertEquals("Code not equal in " + path.toString(), OriginalCode, afterCopyCode);
     }
 
+    @Test
+    public void printToAppendableTest() throws IOException {
+        Path path = Path.of("PlaceHold.java");
+        String code = """
+                class PlaceHold {
+                    int sample(int a) {
+                        if (a > 0) {
+                            return foo(a - 1, "a");
+                        }
+                        return 0;
+                    }
+                }
+                """;
+        CompilationUnit compilationUnit = genAST(code, path);
+        Optional<MethodDeclaration> onlyMethodDeclaration = getOnlyMethodDeclaration(compilationUnit);
+        assertTrue(onlyMethodDeclaration.isPresent());
+        MoNode moNode = new NodeParser(path, compilationUnit).process(onlyMethodDeclaration.get());
+
+        CodePrinter codePrinter = new CodePrinter();
+        codePrinter.scan(moNode);
+        String expected = codePrinter.getCode();
+
+        StringWriter writer = new StringWriter();
+        CodePrinter.print(moNode, writer);
+        assertEquals(expected, writer.toString());
+
+        // pooled builders are reset between calls
+        assertEquals(expected, moNode.toSrcString());
+        assertEquals(expected, moNode.toSrcString());
+        assertEquals(clearAllSpaces(code), clearAllSpaces("class PlaceHold {" + expected + "}"));
+    }
+
     private String clearAllSpaces(String code) {
         code = code.replaceAll("\\s", "");
         return code;
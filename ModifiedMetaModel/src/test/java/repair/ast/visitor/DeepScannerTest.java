@@ -0,0 +1,79 @@
+package repair.ast.visitor;
+
+import org.junit.Test;
+import repair.ast.MoNode;
+import repair.ast.code.expression.MoExpression;
+import repair.ast.code.expression.MoParenthesizedExpression;
+import repair.ast.code.expression.MoSimpleName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DeepScannerTest {
+
+    // far deeper than the default thread stack can take with one frame per level
+    private static final int DEPTH = 200_000;
+
+    /**
+     * ((((...(name)...))))
+     */
+    private static MoParenthesizedExpression buildDeepExpression(int depth) {
+        MoExpression inner = new MoSimpleName(null, 0, 0, null);
+        MoParenthesizedExpression outer = null;
+        for (int i = 0; i < depth; i++) {
+            outer = new MoParenthesizedExpression(null, 0, 0, null);
+            outer.setExpression(inner);
+            inner.setParent(outer, outer.getDescription("expression"));
+            inner = outer;
+        }
+        return outer;
+    }
+
+    @Test
+    public void flattenDeepTreeTest() {
+        MoParenthesizedExpression root = buildDeepExpression(DEPTH);
+        List<MoNode> flattened = new FlattenScanner().flatten(root);
+        assertEquals(DEPTH + 1, flattened.size());
+        assertSame(root, flattened.get(0));
+        assertTrue(flattened.get(DEPTH) instanceof MoSimpleName);
+    }
+
+    @Test
+    public void deepCopyDeepTreeTest() {
+        MoParenthesizedExpression root = buildDeepExpression(DEPTH);
+        DeepCopyScanner scanner = new DeepCopyScanner(root);
+        MoNode copy = scanner.getCopy();
+        assertEquals(DEPTH + 1, scanner.getCopyMap().size());
+        assertEquals(DEPTH + 1, new FlattenScanner().flatten(copy).size());
+    }
+
+    @Test
+    public void enterExitOrderTest() {
+        MoParenthesizedExpression root = buildDeepExpression(3);
+        List<String> events = new ArrayList<>();
+        new DeepScanner() {
+            @Override
+            protected void enter(MoNode moNode) {
+                events.add("enter " + moNode.getMoNodeType().name());
+            }
+
+            @Override
+            protected void exit(MoNode moNode) {
+                events.add("exit " + moNode.getMoNodeType().name());
+            }
+        }.scan(root);
+
+        assertEquals(List.of(
+                "enter TYPEParenthesizedExpression",
+                "enter TYPEParenthesizedExpression",
+                "enter TYPEParenthesizedExpression",
+                "enter TYPESimpleName",
+                "exit TYPESimpleName",
+                "exit TYPEParenthesizedExpression",
+                "exit TYPEParenthesizedExpression",
+                "exit TYPEParenthesizedExpression"
+        ), events);
+    }
+}
@@ -0,0 +1,151 @@
+package repair.ast.visitor;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.junit.Before;
+import org.junit.Test;
+import repair.ast.MoNode;
+import repair.ast.parser.NodeParser;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static repair.common.JDTUtils.genAST;
+import static repair.common.JDTUtils.getOnlyMethodDeclaration;
+
+/**
+ * the hand-written {@link DeepScanner} is the oracle of the table-driven scanners
+ */
+public class DescriptionScannerTest {
+    private final Path path = Path.of("PlaceHold.java");
+    private final String code = """
+            class PlaceHold {
+                @SuppressWarnings("unchecked")
+                public static <T extends Comparable<T>> int[] sample(final java.util.List<? super T> items, String... names) throws Exception {
+                    int[][] matrix = new int[items.size()][2];
+                    int total = 0, count = -1;
+                    for (int i = 0; i < matrix.length; i++) {
+                        total += matrix[i][0] * 2 + (i > 0 ? matrix[i - 1][1] : 0) - count++;
+                    }
+                    for (String name : names) {
+                        if (name == null || name.isEmpty() && !name.startsWith("a")) {
+                            continue;
+                        } else if (name instanceof Object) {
+                            System.out.println(name.length() + 'c' + 1.5f);
+                        }
+                    }
+                    label:
+                    while (true) {
+                        do {
+                            total = total >> 1;
+                        } while (total > 100);
+                        break label;
+                    }
+                    switch (total) {
+                        case 1:
+                            total = (int) 2L;
+                            break;
+                        default:
+                            throw new IllegalStateException("total " + total);
+                    }
+                    try {
+                        synchronized (items) {
+                            Object o = new Object() {
+                                @Override
+                                public String toString() {
+                                    return super.toString() + this.hashCode();
+                                }
+                            };
+                            assert o != null : "null";
+                        }
+                    } catch (IllegalArgumentException | NullPointerException e) {
+                        e.printStackTrace();
+                    } finally {
+                        Class<?> clazz = String.class;
+                    }
+                    return new int[]{total, matrix.length};
+                }
+            }
+            """;
+
+    private MoNode moNode;
+
+    @Before
+    public void buildMoNode() {
+        CompilationUnit compilationUnit = genAST(code, path);
+        Optional<MethodDeclaration> methodDeclaration = getOnlyMethodDeclaration(compilationUnit);
+        assertTrue(methodDeclaration.isPresent());
+        moNode = new NodeParser(path, compilationUnit).process(methodDeclaration.get());
+    }
+
+    private static List<MoNode> oracleOrder(MoNode root) {
+        List<MoNode> nodes = new ArrayList<>();
+        new DeepScanner() {
+            @Override
+            protected void enter(MoNode moNode) {
+                nodes.add(moNode);
+            }
+        }.scan(root);
+        return nodes;
+    }
+
+    @Test
+    public void flattenMatchesDeepScannerTest() {
+        List<MoNode> expected = oracleOrder(moNode);
+        List<MoNode> actual = new FlattenScanner().flatten(moNode);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void enterExitPairingTest() {
+        List<String> events = new ArrayList<>();
+        new DescriptionScanner() {
+            @Override
+            protected void enter(MoNode moNode) {
+                events.add("enter " + moNode.getId());
+            }
+
+            @Override
+            protected void exit(MoNode moNode) {
+                events.add("exit " + moNode.getId());
+            }
+        }.scan(moNode);
+
+        List<String> expected = new ArrayList<>();
+        new DeepScanner() {
+            @Override
+            protected void enter(MoNode moNode) {
+                expected.add("enter " + moNode.getId());
+            }
+
+            @Override
+            protected void exit(MoNode moNode) {
+                expected.add("exit " + moNode.getId());
+            }
+        }.scan(moNode);
+        assertEquals(expected, events);
+    }
+
+    @Test
+    public void deepCopyMatchesOriginTest() {
+        DeepCopyScanner scanner = new DeepCopyScanner(moNode);
+        MoNode copy = scanner.getCopy();
+        assertEquals(moNode.toSrcString(), copy.toSrcString());
+        assertTrue(moNode.isSame(copy));
+
+        List<MoNode> origin = oracleOrder(moNode);
+        List<MoNode> copied = oracleOrder(copy);
+        assertEquals(origin.size(), copied.size());
+        assertEquals(origin.size(), scanner.getCopyMap().size());
+        for (int i = 0; i < origin.size(); i++) {
+            assertSame(copied.get(i), scanner.getCopyMap().get(origin.get(i)));
+            assertEquals(origin.get(i).getMoNodeType(), copied.get(i).getMoNodeType());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package repair.ast.visitor;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TokenBufferTest {
+
+    @Test
+    public void camelSplitTest() {
+        TokenBuffer buffer = new TokenBuffer();
+        buffer.add("getFileName");
+        buffer.add("MAX_VALUE");
+        buffer.add("var12");
+        buffer.add("404");
+        buffer.add("\" \"");
+        buffer.add(" ");
+        buffer.add("");
+
+        assertEquals(List.of("get", "file", "name", "m", "a", "x", "v", "a", "l", "u", "e", "var", "404", "\" \""),
+                buffer.toList());
+    }
+
+    @Test
+    public void reuseAndDictionaryTest() {
+        TokenBuffer buffer = new TokenBuffer();
+        TokenDictionary dictionary = new TokenDictionary();
+        buffer.add("fooBar");
+        int[] first = buffer.toIds(dictionary);
+
+        buffer.clear();
+        buffer.add("barFoo");
+        buffer.add("baz");
+        int[] second = buffer.toIds(dictionary);
+
+        assertArrayEquals(new int[] {0, 1}, first);
+        assertArrayEquals(new int[] {1, 0, 2}, second);
+        assertEquals("baz", dictionary.token(2));
+        assertEquals(1, dictionary.idOf("bar"));
+        assertEquals(-1, dictionary.idOf("qux"));
+    }
+}
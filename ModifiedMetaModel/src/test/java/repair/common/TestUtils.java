@@ -0,0 +1,45 @@
+package repair.common;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import repair.ast.MoNode;
+import repair.ast.parser.NodeParser;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static repair.common.JDTUtils.genAST;
+import static repair.common.JDTUtils.genASTWithoutBindings;
+import static repair.common.JDTUtils.getOnlyMethodDeclaration;
+
+/**
+ * 测试用的解析方法, parses a code snippet into a MoNode tree
+ */
+public final class TestUtils {
+    public static final Path PLACEHOLD_PATH = Path.of("PlaceHold.java");
+
+    private TestUtils() {
+    }
+
+    public static MoNode parseMethod(Path path, String code) {
+        CompilationUnit compilationUnit = genAST(code, path);
+        Optional<MethodDeclaration> method = getOnlyMethodDeclaration(compilationUnit);
+        assertTrue(method.isPresent());
+        return new NodeParser(path, compilationUnit).process(method.get());
+    }
+
+    public static MoNode parseMethod(String code) {
+        return parseMethod(PLACEHOLD_PATH, code);
+    }
+
+    /**
+     * the whole file without bindings, as build-freq parses it
+     */
+    public static MoNode parseCompilationUnit(String code) {
+        CompilationUnit compilationUnit = genASTWithoutBindings(code, PLACEHOLD_PATH);
+        assertNotNull(compilationUnit);
+        return new NodeParser(PLACEHOLD_PATH, compilationUnit).process(compilationUnit);
+    }
+}
@@ -0,0 +1,94 @@
+package repair.main;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import repair.pattern.Pattern;
+import repair.pattern.serialize.Serializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static repair.common.Utils.generatePattern;
+
+public class AbstractBatchTest {
+    private Path root;
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("abstract-batch-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> stream = Files.walk(root)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private Path write(String relative, String content) throws IOException {
+        Path path = root.resolve(relative);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        return path;
+    }
+
+    private static AbstractBatch.Job job(Path patternOriPath, Path jsonPath, Path patternAbsPath) {
+        return new AbstractBatch.Job(patternOriPath, jsonPath, patternAbsPath);
+    }
+
+    @Test
+    public void readManifestTest() throws IOException {
+        Path manifest = write("list/manifest.txt", "# ori\tjson\tabs\n\n  a.ser\t a.json \t../abs/a.ser  \n");
+        Path base = manifest.toAbsolutePath().getParent();
+        assertEquals(List.of(job(base.resolve("a.ser"), base.resolve("a.json"), base.resolve("../abs/a.ser"))),
+                AbstractBatch.readManifest(manifest));
+
+        // 字段按tab分隔, a line separated by spaces is one field
+        Path bad = write("list/bad.txt", "a.ser\ta.json\n");
+        assertThrows(IllegalArgumentException.class, () -> AbstractBatch.readManifest(bad));
+        Path spaces = write("list/spaces.txt", "a.ser a.json abs.ser\n");
+        assertThrows(IllegalArgumentException.class, () -> AbstractBatch.readManifest(spaces));
+    }
+
+    @Test
+    public void runTest() throws IOException {
+        Path before = write("case/before.java", "class PlaceHold {\n    int sample(int a) {\n        return a + 1;\n    }\n}\n");
+        Path after = write("case/after.java", "class PlaceHold {\n    int sample(int a) {\n        return a - 1;\n    }\n}\n");
+        Pattern pattern = generatePattern(before, after);
+        Path ori = root.resolve("ori/ok.ser");
+        assertTrue(Serializer.serializeToDisk(pattern, ori));
+        String json = "{\"considered_elements\": [" + pattern.getPatternBefore0().getId() + "]}";
+
+        AbstractBatch.Job ok = job(ori, write("json/ok.json", json), root.resolve("abs/ok.ser"));
+        AbstractBatch.Job noPattern = job(root.resolve("ori/none.ser"), write("json/none.json", json), root.resolve("abs/none.ser"));
+        AbstractBatch.Job badInfo = job(ori, write("json/bad.json", "[1]"), root.resolve("abs/bad.ser"));
+        AbstractBatch.Job noInfo = job(ori, root.resolve("json/missing.json"), root.resolve("abs/missing.ser"));
+        Path report = root.resolve("report/status.tsv");
+        List<AbstractBatch.JobResult> results = new AbstractBatch(2).run(List.of(ok, noPattern, badInfo, noInfo), report);
+
+        assertEquals(List.of(AbstractBatch.JobStatus.OK, AbstractBatch.JobStatus.NO_PATTERN,
+                AbstractBatch.JobStatus.BAD_INFO, AbstractBatch.JobStatus.BAD_INFO),
+                results.stream().map(AbstractBatch.JobResult::status).toList());
+        assertTrue(Serializer.deserializeFromDisk(ok.patternAbsPath()).isPresent());
+        assertFalse(Files.exists(noPattern.patternAbsPath()));
+        assertFalse(Files.exists(badInfo.patternAbsPath()));
+
+        List<String> lines = Files.readAllLines(report, StandardCharsets.UTF_8);
+        assertEquals("pattern\tstatus\tmillis\tmessage", lines.get(0));
+        // 按完成顺序写入, one row per job
+        assertEquals(4, lines.size() - 1);
+        assertTrue(lines.contains(noPattern.patternOriPath() + "\tNO_PATTERN\t" + results.get(1).millis()
+                + "\tfailed to read " + noPattern.patternOriPath()));
+        assertEquals(1, lines.stream().filter(line -> line.startsWith(ori + "\tOK\t")).count());
+        assertEquals(2, lines.stream().filter(line -> line.startsWith(ori + "\tBAD_INFO\t")).count());
+    }
+}
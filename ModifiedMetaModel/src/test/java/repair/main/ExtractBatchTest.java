@@ -0,0 +1,170 @@
+package repair.main;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ExtractBatchTest {
+    private Path root;
+    // 模拟不响应中断的CPU密集型case
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("extract-batch-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        release.countDown();
+        try (Stream<Path> stream = Files.walk(root)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private Path write(String relative, String content) throws IOException {
+        Path path = root.resolve(relative);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        return path;
+    }
+
+    private void hang() {
+        while (true) {
+            try {
+                if (release.await(10, TimeUnit.SECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException ignored) {
+                // keeps running like a CPU bound matcher
+            }
+        }
+    }
+
+    private static ExtractBatch.CaseResult result(Path casePath, ExtractBatch.CaseStatus status) {
+        return new ExtractBatch.CaseResult(casePath, status, 1, "");
+    }
+
+    private static List<ExtractBatch.CaseStatus> statuses(List<ExtractBatch.CaseResult> results) {
+        return results.stream().map(ExtractBatch.CaseResult::status).toList();
+    }
+
+    @Test
+    public void findCasesTest() throws IOException {
+        write("a/before.java", "");
+        write("a/after.java", "");
+        write("b/" + Extract.CASE_INFO_FILE_NAME, "");
+        write("c/before.java", "");
+        write("d/e/left.java", "");
+        write("d/e/right.java", "");
+
+        assertEquals(List.of(root.resolve("a"), root.resolve("b"), root.resolve("d/e")), ExtractBatch.findCases(root));
+    }
+
+    @Test
+    public void readManifestTest() throws IOException {
+        Path manifest = write("list/manifest.txt", "# cases\n\n  a  \n../b\n");
+        Path base = manifest.toAbsolutePath().getParent();
+        assertEquals(List.of(base.resolve("a"), base.resolve("../b")), ExtractBatch.readManifest(manifest));
+    }
+
+    @Test
+    public void statusReportTest() throws IOException {
+        Path ok = root.resolve("ok"), none = root.resolve("none"), fail = root.resolve("fail");
+        ExtractBatch batch = new ExtractBatch(root, 2, 0, (casePath, claim) -> {
+            if (casePath.equals(fail)) {
+                throw new IllegalStateException("bad\n  case");
+            }
+            assertTrue(claim.getAsBoolean());
+            return result(casePath, casePath.equals(ok) ? ExtractBatch.CaseStatus.OK : ExtractBatch.CaseStatus.NO_PAIR);
+        });
+        Path report = root.resolve("report/status.tsv");
+        List<ExtractBatch.CaseResult> results = batch.run(List.of(ok, none, fail), report);
+
+        assertEquals(List.of(ExtractBatch.CaseStatus.OK, ExtractBatch.CaseStatus.NO_PAIR, ExtractBatch.CaseStatus.FAILED),
+                statuses(results));
+        List<String> lines = Files.readAllLines(report, StandardCharsets.UTF_8);
+        assertEquals("case\tstatus\tmillis\tmessage", lines.get(0));
+        // 按完成顺序写入
+        List<String> rows = lines.subList(1, lines.size()).stream().sorted().toList();
+        assertEquals(3, rows.size());
+        assertTrue(rows.get(0), rows.get(0).startsWith(fail + "\tFAILED\t"));
+        assertTrue(rows.get(0), rows.get(0).endsWith("\tjava.lang.IllegalStateException: bad case"));
+        assertEquals(none + "\tNO_PAIR\t1\t", rows.get(1));
+        assertEquals(ok + "\tOK\t1\t", rows.get(2));
+    }
+
+    @Test
+    public void extractTest() throws IOException {
+        String before = "class PlaceHold {\n    int sample(int a) {\n        return a + 1;\n    }\n}\n";
+        String after = "class PlaceHold {\n    int sample(int a) {\n        return a - 1;\n    }\n}\n";
+        write("cases/x/before.java", before);
+        write("cases/x/after.java", after);
+        write("cases/y/before.java", "class PlaceHold {\n}\n");
+        write("cases/y/after.java", "class PlaceHold {\n}\n");
+        Path cases = root.resolve("cases");
+
+        ExtractBatch batch = new ExtractBatch(cases, root.resolve("ser"), root.resolve("json"), 2, 60000);
+        List<ExtractBatch.CaseResult> results = batch.run(ExtractBatch.findCases(cases), root.resolve("status.tsv"));
+
+        assertEquals(List.of(ExtractBatch.CaseStatus.OK, ExtractBatch.CaseStatus.FAILED), statuses(results));
+        assertTrue(Files.exists(root.resolve("ser/x.ser")));
+        assertTrue(Files.exists(root.resolve("json/x.json")));
+        assertFalse(Files.exists(root.resolve("ser/y.ser")));
+    }
+
+    @Test
+    public void timeoutTest() throws Exception {
+        Path slow = root.resolve("slow"), ok = root.resolve("ok");
+        CompletableFuture<Boolean> slowClaimed = new CompletableFuture<>();
+        ExtractBatch batch = new ExtractBatch(root, 1, 200, (casePath, claim) -> {
+            if (casePath.equals(slow)) {
+                hang();
+                slowClaimed.complete(claim.getAsBoolean());
+            }
+            return result(casePath, ExtractBatch.CaseStatus.OK);
+        });
+        // the slow case is abandoned, the next case starts without waiting for it
+        List<ExtractBatch.CaseResult> results = batch.run(List.of(slow, ok), root.resolve("status.tsv"));
+        assertEquals(List.of(ExtractBatch.CaseStatus.TIMEOUT, ExtractBatch.CaseStatus.OK), statuses(results));
+        assertFalse(slowClaimed.isDone());
+
+        // 被放弃的case返回后不能写输出
+        release.countDown();
+        assertFalse(slowClaimed.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void abandonedLimitTest() throws IOException {
+        Path ok = root.resolve("ok");
+        ExtractBatch batch = new ExtractBatch(root, 1, 100, (casePath, claim) -> {
+            if (!casePath.equals(ok)) {
+                hang();
+            }
+            return result(casePath, ExtractBatch.CaseStatus.OK);
+        });
+        // parallelism 1 allows one running and one abandoned case, the third slow case finds no thread
+        List<Path> cases = List.of(root.resolve("s1"), root.resolve("s2"), root.resolve("s3"), ok);
+        Path report = root.resolve("status.tsv");
+        List<ExtractBatch.CaseResult> results = batch.run(cases, report);
+
+        assertEquals(List.of(ExtractBatch.CaseStatus.TIMEOUT, ExtractBatch.CaseStatus.TIMEOUT,
+                ExtractBatch.CaseStatus.SKIPPED, ExtractBatch.CaseStatus.SKIPPED), statuses(results));
+        assertEquals(5, Files.readAllLines(report, StandardCharsets.UTF_8).size());
+    }
+}
@@ -0,0 +1,65 @@
+package repair.pattern;
+
+import org.junit.Test;
+import repair.ast.MoNode;
+import repair.pattern.attr.*;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static repair.common.TestUtils.parseMethod;
+
+public class AttributeFactoryTest {
+    private final String code = """
+            class PlaceHold {
+                int sample(int a, String s) {
+                    int b = a + 1;
+                    if (b > 0) {
+                        System.out.println(s);
+                    }
+                    return b;
+                }
+            }
+            """;
+
+    @Test
+    public void slotSchemaTest() {
+        assertEquals(AttributeFactory.attrToWeight.size(), AttributeFactory.slotCount());
+        for (int slot = 0; slot < AttributeFactory.slotCount(); slot++) {
+            Class<? extends Attribute<?>> attrClass = AttributeFactory.slotClass(slot);
+            assertEquals(slot, AttributeFactory.slotOf(attrClass));
+            assertEquals(AttributeFactory.attrToWeight.get(attrClass), AttributeFactory.slotWeight(slot), 0.0);
+            assertEquals(HardConstraint.class.isAssignableFrom(attrClass), AttributeFactory.isHardConstraint(slot));
+        }
+        assertEquals(-1, AttributeFactory.slotOf(String.class));
+    }
+
+    @Test
+    public void attributeTableTest() {
+        AttributeTable table = Attribute.computeAttributeTable(parseMethod(code));
+        for (int i = 0; i < table.size(); i++) {
+            Map<Class<? extends Attribute<?>>, Attribute<?>> attributes = AttributeFactory.createAttributes(table.getNode(i));
+            Attribute<?>[] slots = AttributeFactory.toAttributeSlots(attributes);
+            for (int slot = 0; slot < AttributeFactory.slotCount(); slot++) {
+                Attribute<?> attribute = table.get(slot, i);
+                assertSame(AttributeFactory.slotClass(slot), attribute.getClass());
+                assertSame(table.getNode(i), attribute.getNode());
+                assertEquals(slots[slot].getValue(), attribute.getValue());
+            }
+        }
+    }
+
+    @Test
+    public void neededSlotsTest() {
+        int tokenSlot = AttributeFactory.slotOf(TokenAttribute.class);
+        boolean[] neededSlots = new boolean[AttributeFactory.slotCount()];
+        Arrays.fill(neededSlots, true);
+        neededSlots[tokenSlot] = false;
+
+        AttributeTable table = Attribute.computeAttributeTable(parseMethod(code), neededSlots);
+        assertFalse(table.isNeeded(tokenSlot));
+        assertSame(table.get(0, 0), table.get(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> table.get(tokenSlot, 0));
+    }
+}
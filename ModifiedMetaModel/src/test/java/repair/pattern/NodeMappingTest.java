@@ -0,0 +1,91 @@
+package repair.pattern;
+
+import org.junit.Test;
+import repair.apply.diff.DiffComparator;
+import repair.ast.MoNode;
+import repair.ast.visitor.FlattenScanner;
+import repair.pattern.serialize.Serializer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static repair.common.TestUtils.parseMethod;
+
+public class NodeMappingTest {
+    private final String before = """
+            class PlaceHold {
+                int sample(int a, String s) {
+                    int b = a + 1;
+                    if (b > 0) {
+                        System.out.println(s);
+                    }
+                    return b;
+                }
+            }
+            """;
+
+    private final String after = """
+            class PlaceHold {
+                int sample(int a, String s) {
+                    int b = a - 1;
+                    if (b > 0 && s != null) {
+                        System.out.println(s.trim());
+                    }
+                    return b;
+                }
+            }
+            """;
+
+    private static void assertMappingOfTrees(Pattern pattern) {
+        NodeMapping nodeMapping = pattern.getNodeMapping();
+        List<MoNode> beforeNodes = new FlattenScanner().flatten(pattern.getPatternBefore0());
+        List<MoNode> afterNodes = new FlattenScanner().flatten(pattern.getPatternAfter0());
+
+        assertSame(pattern.getPatternAfter0(), nodeMapping.getAfter(pattern.getPatternBefore0()));
+        assertSame(pattern.getPatternBefore0(), nodeMapping.getBefore(pattern.getPatternAfter0()));
+        int mapped = 0;
+        for (MoNode beforeNode : beforeNodes) {
+            MoNode afterNode = nodeMapping.getAfter(beforeNode);
+            if (afterNode != null) {
+                mapped++;
+                assertTrue(nodeMapping.containsBefore(beforeNode));
+                assertTrue(afterNodes.contains(afterNode));
+                assertSame(beforeNode, nodeMapping.getBefore(afterNode));
+                assertFalse(nodeMapping.containsAfter(beforeNode));
+            }
+        }
+        assertTrue(mapped > 0);
+    }
+
+    @Test
+    public void mappingTest() {
+        Pattern pattern = new Pattern(parseMethod(before), parseMethod(after), DiffComparator.Mode.MOVE_MODE);
+        assertMappingOfTrees(pattern);
+
+        // nodes of another tree are never mapped, even with the same ids
+        MoNode.resetCounter();
+        for (MoNode other : new FlattenScanner().flatten(parseMethod(before))) {
+            assertFalse(pattern.getNodeMapping().containsBefore(other));
+            assertNull(pattern.getNodeMapping().getAfter(other));
+        }
+    }
+
+    @Test
+    public void deserializedMappingTest() throws IOException {
+        Pattern pattern = new Pattern(parseMethod(before), parseMethod(after), DiffComparator.Mode.MOVE_MODE);
+        Path serializePath = Files.createTempFile("pattern", ".ser");
+        try {
+            Serializer.serializeToDisk(pattern, serializePath);
+            Pattern deserialized = Serializer.deserializeFromDisk(serializePath).orElse(null);
+            assertNotNull(deserialized);
+            assertNull(deserialized.getDiffComparator());
+            assertEquals(pattern.getNodeMapping().size(), deserialized.getNodeMapping().size());
+            assertMappingOfTrees(deserialized);
+        } finally {
+            Files.deleteIfExists(serializePath);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package repair.pattern;
+
+import org.junit.Test;
+import repair.apply.diff.DiffComparator;
+import repair.apply.diff.operations.MoveOperation;
+import repair.ast.MoNode;
+import repair.ast.MoNodeTypeTable;
+import repair.ast.code.statement.MoBlock;
+import repair.ast.code.statement.MoTryStatement;
+import repair.ast.visitor.FlattenScanner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static repair.common.TestUtils.parseMethod;
+
+public class NotLogicManagerTest {
+    // 顺序不同的block, and leaves whose isSame compares a value instead of the source
+    private final String before = """
+            class PlaceHold {
+                void sample(String s, int a) {
+                    if (s != null) {
+                        final int b = 0x10;
+                        foo(true, null, 'c', "str", this.s, java.util.List.of(b), (long) 1L, int.class);
+                    }
+                    {
+                        foo(true, null, 'c', "str", this.s, java.util.List.of(b), (long) 1L, int.class);
+                        final int b = 0x10;
+                    }
+                    while (a > 0) {
+                        a--;
+                        foo(false, null, 'd', "str", this.s, java.util.List.of(a), (long) 1L, int.class);
+                        final int b = 16;
+                    }
+                }
+            }
+            """;
+
+    private final String after = """
+            class PlaceHold {
+                void sample(String s, int a) {
+                    while (a > 0) {
+                        if (s != null) {
+                            final int b = 0x10;
+                            foo(true, null, 'c', "str", this.s, java.util.List.of(b), (long) 1L, int.class);
+                        }
+                        {
+                            foo(true, null, 'c', "str", this.s, java.util.List.of(b), (long) 1L, int.class);
+                            final int b = 0x10;
+                        }
+                        a--;
+                        foo(false, null, 'd', "str", this.s, java.util.List.of(a), (long) 1L, int.class);
+                        final int b = 16;
+                    }
+                }
+            }
+            """;
+
+    /**
+     * the comparison before nodes were bucketed by structural hash
+     */
+    private static Map<MoNode, Boolean> allPairs(MoNode moveNode, MoNode moveParent) {
+        List<MoNode> moveElements = new FlattenScanner().flatten(moveNode);
+        Map<MoNode, Boolean> considered = new HashMap<>();
+        for (MoNode beforeNode : new FlattenScanner().flatten(moveParent)) {
+            if (moveElements.stream().noneMatch(beforeNode::isSame)) {
+                considered.put(beforeNode, true);
+            }
+        }
+        return considered;
+    }
+
+    @Test
+    public void sameAsAllPairsTest() {
+        MoNode method = parseMethod(before);
+        // 另一棵相同的树, so isSame holds between distinct nodes of every kind
+        List<MoNode> moveNodes = new ArrayList<>(new FlattenScanner().flatten(parseMethod(before)));
+        moveNodes.addAll(new FlattenScanner().flatten(method));
+        List<MoNode> moveParents = new FlattenScanner().flatten(method).stream()
+                .filter(MoNodeTypeTable::isStructureNode)
+                .toList();
+        assertTrue(moveParents.size() > 3);
+
+        Map<MoNode, Long> structuralHashes = new IdentityHashMap<>();
+        int excluded = 0;
+        for (MoNode moveParent : moveParents) {
+            for (MoNode moveNode : moveNodes) {
+                Map<MoNode, Boolean> expected = allPairs(moveNode, moveParent);
+                assertEquals(moveNode + " in " + moveParent, expected,
+                        NotLogicManager.moveParentConsideredNodes(moveNode, moveParent, structuralHashes));
+                excluded += new FlattenScanner().flatten(moveParent).size() - expected.size();
+            }
+        }
+        assertTrue(excluded > 0);
+    }
+
+    @Test
+    public void moveNodesTest() {
+        Pattern pattern = new Pattern(parseMethod(before), parseMethod(after), DiffComparator.Mode.MOVE_MODE);
+        Optional<NotLogicManager> notLogicManager = pattern.getNotLogicManager();
+        assertTrue(notLogicManager.isPresent());
+
+        // 按gainMoveNodes的顺序重新计算
+        List<Map<MoNode, Boolean>> expected = new ArrayList<>();
+        pattern.getAllOperations().stream()
+                .filter(operation -> operation instanceof MoveOperation)
+                .map(operation -> (MoveOperation) operation)
+                .filter(moveOp -> MoNodeTypeTable.isStructureNode(moveOp.getMoveParent())
+                        && moveOp.getMoveNode().getParent() != moveOp.getMoveParent())
+                .forEach(moveOp -> {
+                    MoNode moveParent = moveOp.getMoveParent();
+                    if (moveParent instanceof MoBlock && !(moveParent.getParent() instanceof MoTryStatement)) {
+                        moveParent = moveParent.getParent();
+                    }
+                    Map<MoNode, Boolean> considered = allPairs(moveOp.getMoveNode(), moveParent);
+                    int count = moveOp.getMoveNode() instanceof MoBlock block ? block.getStatements().size() : 1;
+                    for (int i = 0; i < count; i++) {
+                        expected.add(considered);
+                    }
+                });
+        assertFalse(expected.isEmpty());
+
+        List<MoveNode> moveNodes = notLogicManager.get().getMoveNodes();
+        if (expected.size() > 10) {
+            assertTrue(moveNodes.isEmpty());
+            return;
+        }
+        assertEquals(expected, moveNodes.stream().map(MoveNode::moveParentConsideredNode).toList());
+    }
+}
@@ -0,0 +1,79 @@
+package repair.pattern.abstraction;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class LLMAbstractInfoTest {
+
+    private final String json = """
+            {
+              "considered_elements": [3, "5", "07", "x", 8.0, [9], {"id": 10}],
+              "considered_attrs": {"exprType": ["5", 12], "name": [3]},
+              "regex": {"5": "get.*", "6": null},
+              "insert_elements": {"20": [21, "22"], "bad": [23]},
+              "move_elements": {"30": ["31"]},
+              "comment": {"nested": [1, 2, {"deep": true}]}
+            }
+            """;
+
+    @Test
+    public void parseTest() throws IOException {
+        LLMAbstractInfo info = LLMAbstractInfo.parse(json);
+        assertTrue(info.isConsideredElement(3));
+        assertTrue(info.isConsideredElement(5));
+        // 只有id的十进制形式才算, as when the ids were compared as strings
+        assertFalse(info.isConsideredElement(7));
+        assertFalse(info.isConsideredElement(8));
+        assertFalse(info.isConsideredElement(9));
+        assertFalse(info.isConsideredElement(10));
+
+        assertTrue(info.isConsideredAttr("exprType", 5));
+        assertTrue(info.isConsideredAttr("exprType", 12));
+        assertFalse(info.isConsideredAttr("exprType", 3));
+        assertFalse(info.isConsideredAttr("missing", 3));
+
+        assertTrue(info.isConsideredInsertElement(20, 21));
+        assertTrue(info.isConsideredInsertElement(20, 22));
+        assertFalse(info.isConsideredInsertElement(20, 23));
+        assertFalse(info.isConsideredInsertElement(21, 21));
+        assertTrue(info.isConsideredMoveElement(30, 31));
+        assertFalse(info.isConsideredMoveElement(31, 31));
+
+        assertTrue(info.hasRegex());
+        assertEquals(Map.of("5", "get.*", "6", "null"), info.getRegex());
+    }
+
+    @Test
+    public void missingSectionsTest() throws IOException {
+        LLMAbstractInfo info = LLMAbstractInfo.parse("{\"considered_elements\": [1]}");
+        assertTrue(info.isConsideredElement(1));
+        assertFalse(info.isConsideredAttr("exprType", 1));
+        assertFalse(info.isConsideredInsertElement(1, 1));
+        assertFalse(info.hasRegex());
+    }
+
+    @Test
+    public void largeIdTest() throws IOException {
+        // extract-batch的节点id很大, the ids are not stored as bits
+        int large = Integer.MAX_VALUE - 1;
+        LLMAbstractInfo info = LLMAbstractInfo.parse("{\"considered_elements\": [" + large + ", 4, 4, 2],"
+                + " \"insert_elements\": {\"" + large + "\": [" + large + "]}}");
+        assertTrue(info.isConsideredElement(large));
+        assertTrue(info.isConsideredElement(2));
+        assertTrue(info.isConsideredElement(4));
+        assertFalse(info.isConsideredElement(3));
+        assertFalse(info.isConsideredElement(Integer.MAX_VALUE));
+        assertTrue(info.isConsideredInsertElement(large, large));
+        assertFalse(info.isConsideredInsertElement(large, 4));
+    }
+
+    @Test
+    public void malformedTest() {
+        assertThrows(IOException.class, () -> LLMAbstractInfo.parse("[1, 2]"));
+        assertThrows(IOException.class, () -> LLMAbstractInfo.parse("{\"considered_elements\": [1,"));
+    }
+}
@@ -0,0 +1,125 @@
+package repair.pattern.abstraction;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import repair.main.BuildFreq;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static repair.common.TestUtils.parseCompilationUnit;
+
+public class TokenFrequencyCounterTest {
+    private Path root;
+
+    private final String invocationCode = """
+            class PlaceHold {
+                void sample(String s) {
+                    log.debug(s.trim());
+                }
+            }
+            """;
+
+    private final String assignmentCode = """
+            class PlaceHold {
+                void other(String s) {
+                    String t = s;
+                }
+            }
+            """;
+
+    private final String declarationCode = """
+            package sample.freq;
+
+            import java.util.concurrent.ConcurrentMap;
+
+            class PlaceHold {
+                private ConcurrentMap<String, Integer> cache;
+
+                void other(int a) {
+                    int b = a;
+                }
+            }
+            """;
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("build-freq-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> stream = Files.walk(root)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private void assertCounts(TokenFrequencyCounter counter) {
+        assertEquals(2, counter.getTotalFiles());
+        assertEquals(2, (int) counter.getCounts(TokenCategory.TYPE).get("String"));
+        assertEquals(1, (int) counter.getCounts(TokenCategory.API).get("debug"));
+        assertEquals(1, (int) counter.getCounts(TokenCategory.API).get("trim"));
+        // 同一文件中多次出现只算一次
+        assertEquals(2, (int) counter.getCounts(TokenCategory.VAR).get("s"));
+        assertEquals(1, (int) counter.getCounts(TokenCategory.VAR).get("t"));
+        assertNull(counter.getCounts(TokenCategory.VAR).get("debug"));
+    }
+
+    @Test
+    public void countTest() {
+        TokenFrequencyCounter counter = new TokenFrequencyCounter();
+        counter.addFile(parseCompilationUnit(invocationCode));
+        counter.addFile(parseCompilationUnit(assignmentCode));
+        assertCounts(counter);
+
+        TokenFrequencyCounter left = new TokenFrequencyCounter();
+        left.addFile(parseCompilationUnit(invocationCode));
+        TokenFrequencyCounter right = new TokenFrequencyCounter();
+        right.addFile(parseCompilationUnit(assignmentCode));
+        left.merge(right);
+        assertCounts(left);
+    }
+
+    @Test
+    public void methodNamesOnlyTest() {
+        TokenFrequencyCounter counter = new TokenFrequencyCounter();
+        counter.addFile(parseCompilationUnit(declarationCode));
+        assertEquals(1, (int) counter.getCounts(TokenCategory.VAR).get("a"));
+        assertEquals(1, (int) counter.getCounts(TokenCategory.VAR).get("b"));
+        // import, package和field中的名字不计数
+        for (TokenCategory category : TokenCategory.values()) {
+            for (String token : new String[]{"sample", "freq", "java", "concurrent", "ConcurrentMap", "cache", "Integer"}) {
+                assertNull(category + " " + token, counter.getCounts(category).get(token));
+            }
+        }
+    }
+
+    @Test
+    public void buildFreqTest() throws IOException {
+        Files.createDirectories(root.resolve("a"));
+        Files.writeString(root.resolve("a/Invocation.java"), invocationCode);
+        Files.writeString(root.resolve("Assignment.java"), assignmentCode);
+        Files.writeString(root.resolve("README.md"), "not java");
+
+        TokenFrequencyCounter counter;
+        try (BuildFreq.JavaFileSource source = new BuildFreq.DirectorySource(root)) {
+            counter = BuildFreq.count(source, 2);
+        }
+        assertCounts(counter);
+
+        Path outputDir = root.resolve("freq");
+        counter.write(outputDir);
+        TokenFrequencyDictionary typeDictionary = TokenFrequencyDictionary.open(
+                outputDir.resolve(TokenCategory.TYPE.getDictionaryName() + TokenFrequencyDictionary.FILE_SUFFIX));
+        assertEquals(2, typeDictionary.getTotalFiles());
+        assertEquals(2, typeDictionary.getOrDefault("String", 0));
+        assertEquals(0, typeDictionary.getOrDefault("debug", 0));
+    }
+}
@@ -0,0 +1,59 @@
+package repair.pattern.abstraction;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TokenFrequencyDictionaryTest {
+
+    private static Map<String, Integer> randomCounts(Random random, int size, int maxCount) {
+        Map<String, Integer> counts = new HashMap<>();
+        while (counts.size() < size) {
+            counts.put("token" + random.nextInt(Integer.MAX_VALUE), random.nextInt(maxCount));
+        }
+        return counts;
+    }
+
+    @Test
+    public void lookupTest() throws IOException {
+        Random random = new Random(42);
+        Path dir = Files.createTempDirectory("freq-test");
+        // 三种计数宽度, and an empty dictionary
+        for (int maxCount : new int[] {200, 60000, 2000000}) {
+            for (int size : new int[] {0, 1, 7, 5000}) {
+                Map<String, Integer> counts = randomCounts(random, size, maxCount);
+                Path file = dir.resolve("AllTokens_" + maxCount + "_" + size + TokenFrequencyDictionary.FILE_SUFFIX);
+                TokenFrequencyDictionary.write(counts, 1234L, file);
+
+                TokenFrequencyDictionary dictionary = TokenFrequencyDictionary.open(file);
+                assertEquals(size, dictionary.size());
+                assertEquals(1234L, dictionary.getTotalFiles());
+                counts.forEach((token, count) -> assertEquals(token, (int) count, dictionary.getOrDefault(token, -1)));
+                assertEquals(-1, dictionary.getOrDefault("absent", -1));
+                assertEquals(1, dictionary.getOrDefault("token", 1));
+            }
+        }
+    }
+
+    @Test
+    public void inMemoryTest() {
+        TokenFrequencyDictionary dictionary = TokenFrequencyDictionary.of(Map.of("String", 820346, "int", 0), 1217392L);
+        assertEquals(820346, dictionary.getOrDefault("String", 1));
+        assertEquals(0, dictionary.getOrDefault("int", 1));
+        assertEquals(1, dictionary.getOrDefault("boolean", 1));
+    }
+
+    @Test
+    public void corruptedTest() throws IOException {
+        Path file = Files.createTempFile("freq-test", TokenFrequencyDictionary.FILE_SUFFIX);
+        Files.write(file, new byte[] {1, 2, 3, 4});
+        assertThrows(IOException.class, () -> TokenFrequencyDictionary.open(file));
+    }
+}
@@ -0,0 +1,99 @@
+package repair.pattern.attr;
+
+import org.junit.Test;
+import repair.apply.match.MatchPlan;
+import repair.apply.match.NodeSimilarityPlan;
+import repair.apply.match.SimilarityMemo;
+import repair.ast.MoNode;
+import repair.ast.visitor.FlattenScanner;
+import repair.pattern.AttributeFactory;
+import repair.pattern.Pattern;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static repair.common.TestUtils.parseMethod;
+
+public class TokenIdSpaceTest {
+    private final String patternCode = """
+            class PlaceHold {
+                void sample(String s) {
+                    if (s != null) {
+                        log.debug(s.trim());
+                    }
+                }
+            }
+            """;
+
+    private final String leftCode = """
+            class PlaceHold {
+                int other(String name, int a) {
+                    if (name != null && a > 0) {
+                        log.debug(name.trim() + a);
+                        return a;
+                    }
+                    return 0;
+                }
+            }
+            """;
+
+    @Test
+    public void sessionTest() {
+        TokenIdSpace space = new TokenIdSpace();
+        assertArrayEquals(new int[]{0, 1, 0}, space.intern(List.of("a", "b", "a")));
+        assertThrows(IllegalStateException.class, space::newSession);
+        space.freeze();
+        assertThrows(IllegalStateException.class, () -> space.intern("c"));
+
+        TokenIdSpace session = space.newSession();
+        TokenIdSpace other = space.newSession();
+        // 会话中新的token编号在pattern的token之后, and they are not seen by the plan or other sessions
+        assertArrayEquals(new int[]{1, 2, 3}, session.intern(List.of("b", "c", "d")));
+        assertEquals(-1, space.idOf("c"));
+        assertEquals(-1, other.idOf("c"));
+        assertEquals(2, other.intern("e"));
+        assertEquals(4, session.size());
+
+        assertTrue(session.isComparable(space));
+        assertTrue(space.isComparable(session));
+        assertFalse(session.isComparable(other));
+        assertFalse(space.isComparable(new TokenIdSpace()));
+    }
+
+    @Test
+    public void sameScoreTest() {
+        MoNode patternRoot = parseMethod(patternCode);
+        MoNode left = parseMethod(leftCode);
+        MatchPlan matchPlan = new Pattern(patternRoot).compile();
+        AttributeTable sessionAttributes = Attribute.computeAttributeTable(left, matchPlan.getNeededSlots(),
+                matchPlan.newTokenSession());
+        AttributeTable ownAttributes = Attribute.computeAttributeTable(left);
+        for (MoNode patternNode : new FlattenScanner().flatten(patternRoot)) {
+            NodeSimilarityPlan plan = NodeSimilarityPlan.of(patternNode, AttributeFactory.createAttributes(patternNode));
+            int index = matchPlan.indexOf(patternNode);
+            for (int leftIndex = 0; leftIndex < ownAttributes.size(); leftIndex++) {
+                // the plan of another space falls back to numbering the tokens of each pair
+                double expected = plan.similarity(ownAttributes, leftIndex, Double.NEGATIVE_INFINITY);
+                if (index >= 0) {
+                    assertEquals(expected, matchPlan.getNodePlan(index)
+                            .similarity(sessionAttributes, leftIndex, Double.NEGATIVE_INFINITY), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void structuralHashTest() {
+        int tokenSlot = AttributeFactory.slotOf(TokenAttribute.class);
+        AttributeTable first = Attribute.computeAttributeTable(parseMethod(patternCode));
+        AttributeTable second = Attribute.computeAttributeTable(parseMethod(patternCode));
+        // 不同空间中相同的token序列, the memo key is the same
+        second.get(tokenSlot, 0).similarity(second.get(tokenSlot, 1));
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(tokenSlot, i).structuralHash(SimilarityMemo.HASH_SEED_1),
+                    second.get(tokenSlot, i).structuralHash(SimilarityMemo.HASH_SEED_1));
+        }
+        assertNotEquals(first.get(tokenSlot, 0).structuralHash(SimilarityMemo.HASH_SEED_1),
+                first.get(tokenSlot, 1).structuralHash(SimilarityMemo.HASH_SEED_1));
+    }
+}